@@ -0,0 +1,245 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.slf4j.event.EventRecodingLogger;
+import org.slf4j.event.SubstituteLoggingEvent;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.SubstituteLogger;
+
+/**
+ * Compiles {@code config.properties} into a {@link CompiledConfig} at build time.
+ * 
+ * <p>
+ * The properties file is read from the path in the {@value #CONFIG_OPTION} option or from the class output directory
+ * (where Maven has already copied resources). Invalid settings are reported as compilation errors instead of being
+ * ignored at runtime.
+ * 
+ * @author Simon Arlott
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ConfigProcessor.CONFIG_OPTION)
+public final class ConfigProcessor extends AbstractProcessor {
+	/** Path to the properties file, if it is not in the class output directory. */
+	public static final String CONFIG_OPTION = "slf4j.android.config";
+	private static final String[] PACKAGES = { "uk.uuid.slf4j.android", "eu.lp0.slf4j.android" };
+	private static final Charset CHARSET = Charset.forName("ISO-8859-1");
+	/* Keep each generated method well within the code size limit */
+	private static final int CATEGORIES_PER_METHOD = 250;
+	private boolean done;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (!done) {
+			done = true;
+			generate();
+		}
+		return false;
+	}
+
+	private final void generate() {
+		final Messager messager = processingEnv.getMessager();
+		final String path = processingEnv.getOptions().get(CONFIG_OPTION);
+		final Queue<SubstituteLoggingEvent> events = new LinkedList<SubstituteLoggingEvent>();
+		final LoggingConfig.Builder builder = new LoggingConfig.Builder(new EventRecodingLogger(new SubstituteLogger(getClass().getName(), events, false), events));
+		String source = null;
+
+		try {
+			if (path != null) {
+				source = path;
+				LoggingConfig.read(new InputStreamReader(new FileInputStream(new File(path)), CHARSET), builder);
+			} else {
+				for (final String packageName : PACKAGES) {
+					final InputStream in = open(processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, packageName, LoggingConfig.DEFAULT_FILENAME));
+					if (in != null) {
+						source = packageName.replace('.', '/') + "/" + LoggingConfig.DEFAULT_FILENAME;
+						LoggingConfig.read(new InputStreamReader(in, CHARSET), builder);
+						break;
+					}
+				}
+			}
+		} catch (IOException e) {
+			messager.printMessage(Diagnostic.Kind.ERROR, "Error loading properties file from " + source + ": " + e);
+			return;
+		}
+
+		if (source == null) {
+			messager.printMessage(Diagnostic.Kind.NOTE, "No " + LoggingConfig.DEFAULT_FILENAME + " to compile");
+			return;
+		}
+
+		boolean valid = true;
+		for (final SubstituteLoggingEvent event : events) {
+			messager.printMessage(Diagnostic.Kind.ERROR, source + ": " + MessageFormatter.arrayFormat(event.getMessage(), event.getArgumentArray()).getMessage());
+			valid = false;
+		}
+
+		if (valid) {
+			try {
+				final PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(CompiledConfig.CLASS_NAME).openWriter());
+				try {
+					write(out, source, builder.map, builder.markers);
+				} finally {
+					out.close();
+				}
+			} catch (IOException e) {
+				messager.printMessage(Diagnostic.Kind.ERROR, "Error creating " + CompiledConfig.CLASS_NAME + ": " + e);
+			}
+		}
+	}
+
+	private static final InputStream open(final FileObject file) {
+		try {
+			return file.openInputStream();
+		} catch (IOException e) {
+			return null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	static final void write(final PrintWriter out, final String source, final CategoryMap map, final MarkerMap markers) {
+		write(out, source, map, markers, CompiledConfig.CLASS_NAME);
+	}
+
+	static final void write(final PrintWriter out, final String source, final CategoryMap map, final MarkerMap markers, final String className) {
+		final int index = className.lastIndexOf('.');
+		final Map<String, LoggerConfig> categories = map.categories();
+
+		out.println("package " + className.substring(0, index) + ";");
+		out.println();
+		out.println("/**");
+		out.println(" * Generated by " + ConfigProcessor.class.getName() + " from " + escape(source).replace("*/", "*\\/") + ".");
+		out.println(" */");
+		out.println("final class " + className.substring(index + 1) + " implements CompiledConfig {");
+		out.println("\t@Override");
+		out.println("\tpublic void load(final CategoryMap map, final MarkerMap markers) {");
+		for (int i = 0; i * CATEGORIES_PER_METHOD < categories.size(); i++) {
+			out.println("\t\tcategories" + i + "(map);");
+		}
+		for (final Map.Entry<String, LogLevel> marker : markers.levels().entrySet()) {
+			out.println("\t\tmarkers.put(" + quote(marker.getKey()) + ", LogLevel." + marker.getValue().name() + ");");
+		}
+		for (final Map.Entry<String, String> marker : markers.tags().entrySet()) {
+			out.println("\t\tmarkers.route(" + quote(marker.getKey()) + ", " + quote(marker.getValue()) + ");");
+		}
+		out.println("\t}");
+
+		final Iterator<Map.Entry<String, LoggerConfig>> it = categories.entrySet().iterator();
+		for (int i = 0; it.hasNext(); i++) {
+			out.println();
+			out.println("\tprivate static void categories" + i + "(final CategoryMap map) {");
+			out.println("\t\tLoggerConfig config;");
+
+			for (int j = 0; j < CATEGORIES_PER_METHOD && it.hasNext(); j++) {
+				final Map.Entry<String, LoggerConfig> category = it.next();
+				final LoggerConfig config = category.getValue();
+
+				out.println();
+				out.println("\t\tconfig = map.config(" + quote(category.getKey()) + ");");
+				if (config.tag != null) {
+					out.println("\t\tconfig.tag = " + quote(config.tag) + ";");
+				}
+				if (config.level != null) {
+					out.println("\t\tconfig.level = LogLevel." + config.level.name() + ";");
+				}
+				if (config.showName != null) {
+					out.println("\t\tconfig.showName = LoggerConfig.ShowName." + config.showName.name() + ";");
+				}
+				if (config.showThread != null) {
+					out.println("\t\tconfig.showThread = Boolean." + (config.showThread ? "TRUE" : "FALSE") + ";");
+				}
+				if (config.showMdc != null) {
+					out.println("\t\tconfig.showMdc = " + quote(config.showMdc) + ";");
+				}
+				if (config.rateLimit != null) {
+					out.println("\t\tconfig.rateLimit = Integer.valueOf(" + config.rateLimit + ");");
+				}
+			}
+
+			out.println("\t}");
+		}
+
+		out.println("}");
+	}
+
+	private static final String quote(final String value) {
+		return "\"" + escape(value) + "\"";
+	}
+
+	private static final String escape(final String value) {
+		final StringBuilder sb = new StringBuilder(value.length());
+
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c == '\n') {
+				sb.append("\\n");
+			} else if (c == '\r') {
+				sb.append("\\r");
+			} else if (c == '\t') {
+				sb.append("\\t");
+			} else if (c < 0x20) {
+				/* Unicode escapes are translated before the source is parsed, so a line terminator would end the string */
+				sb.append(String.format("\\%03o", (int)c));
+			} else if (c > 0x7E) {
+				sb.append(String.format("\\u%04x", (int)c));
+			} else {
+				sb.append(c);
+			}
+		}
+
+		return sb.toString();
+	}
+}
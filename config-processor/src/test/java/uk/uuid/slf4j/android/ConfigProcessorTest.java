@@ -0,0 +1,199 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+public class ConfigProcessorTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+	private File output;
+
+	private static void write(final File file, final String content) throws IOException {
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private boolean compile(final String properties) throws IOException {
+		final File config = new File(folder.getRoot(), "config.properties");
+		write(config, properties);
+
+		final File source = new File(folder.newFolder("src"), "Empty.java");
+		write(source, "final class Empty {}\n");
+		output = folder.newFolder("out");
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+		try {
+			final List<String> options = Arrays.asList("-d", output.getPath(), "-classpath", System.getProperty("java.class.path"),
+					"-A" + ConfigProcessor.CONFIG_OPTION + "=" + config.getPath());
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+					fileManager.getJavaFileObjects(source));
+			task.setProcessors(Collections.singleton(new ConfigProcessor()));
+			return task.call();
+		} finally {
+			fileManager.close();
+		}
+	}
+
+	private List<String> errors() {
+		final List<String> errors = new ArrayList<String>();
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				errors.add(diagnostic.getMessage(null));
+			}
+		}
+		return errors;
+	}
+
+	private static URL location(final Class<?> clazz) {
+		return clazz.getProtectionDomain().getCodeSource().getLocation();
+	}
+
+	/**
+	 * Load the generated config in a separate class loader, so that it is in the same package as the library.
+	 */
+	private Object load() throws Exception {
+		final ClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL(), location(CompiledConfig.class), location(Logger.class) }, null);
+		final Constructor<?> constructor = loader.loadClass(LoggingConfig.class.getName()).getDeclaredConstructor(String.class, String.class,
+				loader.loadClass(Logger.class.getName()));
+		constructor.setAccessible(true);
+
+		final Object nopLogger = loader.loadClass(NOPLogger.class.getName()).getField("NOP_LOGGER").get(null);
+		return constructor.newInstance("missing.properties", CompiledConfig.CLASS_NAME, nopLogger);
+	}
+
+	private static Object get(final Object config, final String name, final String field) throws Exception {
+		final Method get = config.getClass().getDeclaredMethod("get", String.class);
+		get.setAccessible(true);
+		final Object loggerConfig = get.invoke(config, name);
+		final Field value = loggerConfig.getClass().getDeclaredField(field);
+		value.setAccessible(true);
+		final Object result = value.get(loggerConfig);
+		return result instanceof Enum<?> ? ((Enum<?>)result).name() : result;
+	}
+
+	private static Object invoke(final Object target, final String name) throws Exception {
+		final Method method = target.getClass().getDeclaredMethod(name);
+		method.setAccessible(true);
+		return method.invoke(target);
+	}
+
+	@Test
+	public void generate() throws Exception {
+		Assert.assertTrue(errors().toString(), compile("tag=App\nlevel=WARN\ntag.java.lang=JavaLang\nlevel.java.lang.reflect=DEBUG\n"
+				+ "showName.java=short\nshowThread.java.util=true\nrateLimit.org.example=100\nshowMdc.org.example=requestId, userId\ntag.quote=\\\"\\u00e9\\\\\nlevel.@PERF=VERBOSE\n"
+				+ "tag.@AUDIT=AuditTag\n"));
+		Assert.assertTrue(new File(output, "uk/uuid/slf4j/android/GeneratedConfig.class").exists());
+
+		final Object config = load();
+		Assert.assertEquals("App", get(config, "", "tag"));
+		Assert.assertEquals("WARN", get(config, "", "level"));
+		Assert.assertEquals("JavaLang", get(config, "java.lang.Void", "tag"));
+		Assert.assertEquals("DEBUG", get(config, "java.lang.reflect.Field", "level"));
+		Assert.assertEquals("WARN", get(config, "java.lang.Void", "level"));
+		Assert.assertEquals("SHORT", get(config, "java.util.List", "showName"));
+		Assert.assertEquals(Boolean.TRUE, get(config, "java.util.List", "showThread"));
+		Assert.assertEquals(Boolean.FALSE, get(config, "java.lang.Void", "showThread"));
+		Assert.assertEquals(100, get(config, "org.example.Test", "rateLimit"));
+		Assert.assertEquals(0, get(config, "java.lang.Void", "rateLimit"));
+		Assert.assertEquals("requestId,userId", get(config, "org.example.Test", "showMdc"));
+		Assert.assertEquals("", get(config, "java.lang.Void", "showMdc"));
+		Assert.assertEquals("\"\u00e9\\", get(config, "quote", "tag"));
+		final Object markers = get(config, "java.lang.Void", "markers");
+		Assert.assertNotNull(markers);
+		Assert.assertEquals(Collections.singletonMap("AUDIT", "AuditTag"), invoke(markers, "tags"));
+	}
+
+	@Test
+	public void controlCharacters() throws Exception {
+		Assert.assertTrue(errors().toString(), compile("tag=A\\nB\ntag.java.lang=A\\rB\\tC\ntag.java.util=A\\u0000B\\u001fC\\u007f\n"));
+
+		final Object config = load();
+		Assert.assertEquals("A\nB", get(config, "", "tag"));
+		Assert.assertEquals("A\rB\tC", get(config, "java.lang.Void", "tag"));
+		Assert.assertEquals("A\u0000B\u001fC\u007f", get(config, "java.util.List", "tag"));
+	}
+
+	@Test
+	public void many() throws Exception {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("tag.com.example.package").append(i).append("=Tag").append(i).append('\n');
+			sb.append("level.com.example.package").append(i).append("=DEBUG\n");
+		}
+
+		Assert.assertTrue(errors().toString(), compile(sb.toString()));
+
+		final Object config = load();
+		Assert.assertEquals("Tag0", get(config, "com.example.package0.Test", "tag"));
+		Assert.assertEquals("Tag999", get(config, "com.example.package999.Test", "tag"));
+		Assert.assertEquals("DEBUG", get(config, "com.example.package999.Test", "level"));
+		Assert.assertEquals("", get(config, "com.example.package1000.Test", "tag"));
+	}
+
+	@Test
+	public void invalid() throws Exception {
+		Assert.assertFalse(compile("level=LOUD\ntag.java=ThisTagIsLongerThan23Characters\nrateLimit=-1\n"));
+		Assert.assertFalse(new File(output, "uk/uuid/slf4j/android/GeneratedConfig.class").exists());
+
+		final List<String> errors = errors();
+		Assert.assertEquals(errors.toString(), 3, errors.size());
+		Assert.assertTrue(errors.get(0), errors.get(0).endsWith("Ignoring invalid default log level LOUD"));
+		Assert.assertTrue(errors.get(1), errors.get(1).endsWith("Ignoring invalid tag ThisTagIsLongerThan23Characters for java"));
+		Assert.assertTrue(errors.get(2), errors.get(2).endsWith("Ignoring invalid default rate limit -1"));
+	}
+}
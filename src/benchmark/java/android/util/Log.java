@@ -0,0 +1,132 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package android.util;
+
+/**
+ * Stand-in for the Android logger so that benchmarks can run on the host JVM.
+ * 
+ * <p>
+ * Messages are discarded after their length is recorded so that the work done to build them can't be eliminated.
+ * 
+ * @author Simon Arlott
+ */
+public final class Log {
+	public static final int VERBOSE = 2;
+	public static final int DEBUG = 3;
+	public static final int INFO = 4;
+	public static final int WARN = 5;
+	public static final int ERROR = 6;
+	public static final int ASSERT = 7;
+
+	private static volatile int level = INFO;
+	private static volatile int isLoggableCalls;
+	private static volatile long isLoggableCost;
+	private static volatile long sink;
+
+	private Log() {
+	}
+
+	/**
+	 * Set the level returned by {@link #isLoggable(String, int)} for all tags.
+	 */
+	public static void setLevel(final int level) {
+		Log.level = level;
+	}
+
+	/**
+	 * Returns the number of calls to {@link #isLoggable(String, int)}.
+	 */
+	public static int getIsLoggableCalls() {
+		return isLoggableCalls;
+	}
+
+	/**
+	 * Set the time that each call to {@link #isLoggable(String, int)} takes, to simulate the native call on a device.
+	 */
+	public static void setIsLoggableCost(final long nanos) {
+		isLoggableCost = nanos;
+	}
+
+	public static boolean isLoggable(final String tag, final int level) {
+		isLoggableCalls++;
+
+		final long cost = isLoggableCost;
+		if (cost > 0) {
+			final long start = System.nanoTime();
+			while (System.nanoTime() - start < cost) {
+				/* Busy wait */
+			}
+		}
+		return level >= Log.level;
+	}
+
+	public static int println(final int priority, final String tag, final String msg) {
+		final int len = tag.length() + msg.length() + priority;
+		sink += len;
+		return len;
+	}
+
+	public static String getStackTraceString(final Throwable tr) {
+		return String.valueOf(tr);
+	}
+
+	public static int v(final String tag, final String msg) {
+		return println(VERBOSE, tag, msg);
+	}
+
+	public static int v(final String tag, final String msg, final Throwable tr) {
+		return println(VERBOSE, tag, msg);
+	}
+
+	public static int d(final String tag, final String msg) {
+		return println(DEBUG, tag, msg);
+	}
+
+	public static int d(final String tag, final String msg, final Throwable tr) {
+		return println(DEBUG, tag, msg);
+	}
+
+	public static int i(final String tag, final String msg) {
+		return println(INFO, tag, msg);
+	}
+
+	public static int i(final String tag, final String msg, final Throwable tr) {
+		return println(INFO, tag, msg);
+	}
+
+	public static int w(final String tag, final String msg) {
+		return println(WARN, tag, msg);
+	}
+
+	public static int w(final String tag, final String msg, final Throwable tr) {
+		return println(WARN, tag, msg);
+	}
+
+	public static int e(final String tag, final String msg) {
+		return println(ERROR, tag, msg);
+	}
+
+	public static int e(final String tag, final String msg, final Throwable tr) {
+		return println(ERROR, tag, msg);
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.slf4j.event.EventRecodingLogger;
+import org.slf4j.event.SubstituteLoggingEvent;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.SubstituteLogger;
+
+/**
+ * Generates {@value #CLASS_NAME} from the benchmark properties file using the config processor, so that the compiled config
+ * used by {@link ConfigLoadBenchmark} is always the current output of the processor.
+ * 
+ * <p>
+ * Arguments: properties file, source output directory, class output directory, class path.
+ */
+public final class BenchmarkConfigGenerator {
+	static final String CLASS_NAME = "uk.uuid.slf4j.android.BenchmarkGeneratedConfig";
+
+	private BenchmarkConfigGenerator() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+		final File properties = new File(args[0]);
+		final File source = new File(new File(args[1]), CLASS_NAME.replace('.', File.separatorChar) + ".java");
+		final Queue<SubstituteLoggingEvent> events = new LinkedList<SubstituteLoggingEvent>();
+		final LoggingConfig.Builder builder = new LoggingConfig.Builder(
+				new EventRecodingLogger(new SubstituteLogger(BenchmarkConfigGenerator.class.getName(), events, false), events));
+
+		LoggingConfig.read(new InputStreamReader(new FileInputStream(properties), "ISO-8859-1"), builder);
+		final SubstituteLoggingEvent event = events.peek();
+		if (event != null) {
+			throw new IllegalArgumentException(properties + ": " + MessageFormatter.arrayFormat(event.getMessage(), event.getArgumentArray()).getMessage());
+		}
+
+		if (!source.getParentFile().isDirectory() && !source.getParentFile().mkdirs()) {
+			throw new IOException("Unable to create " + source.getParent());
+		}
+
+		final PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(source), "UTF-8"));
+		try {
+			ConfigProcessor.write(out, properties.getName(), builder.map, builder.markers, CLASS_NAME);
+		} finally {
+			out.close();
+		}
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		try {
+			if (!compiler.getTask(null, fileManager, null, Arrays.asList("-d", args[2], "-classpath", args[3], "-encoding", "UTF-8"), null,
+					fileManager.getJavaFileObjects(source)).call()) {
+				throw new IllegalStateException("Unable to compile " + source);
+			}
+		} finally {
+			fileManager.close();
+		}
+	}
+}
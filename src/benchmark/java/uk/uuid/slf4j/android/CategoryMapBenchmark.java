@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of resolving logger names against increasing numbers of categories, compared to walking up the name with a
+ * {@link HashMap} lookup (and substring) per segment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CategoryMapBenchmark {
+	private static final int NAMES = 1024;
+
+	@Param({ "10", "100", "1000", "10000", "100000" })
+	public int categories;
+
+	private CategoryMap trie;
+	private HashMapCategoryMap hashMap;
+	private String[] names;
+	private int next;
+
+	/**
+	 * The previous implementation of {@link CategoryMap}.
+	 */
+	private static final class HashMapCategoryMap {
+		private final Map<String, LoggerConfig> categories = new HashMap<String, LoggerConfig>();
+
+		LoggerConfig get(String name) {
+			final LoggerConfig config = new LoggerConfig();
+
+			while (true) {
+				final int index = name.lastIndexOf('.');
+
+				if (config.merge(categories.get(name)))
+					return config;
+
+				if (index != -1) {
+					name = name.substring(0, index);
+				} else {
+					if (!config.merge(categories.get(""))) {
+						config.merge(LoggerConfig.DEFAULT);
+					}
+					return config;
+				}
+			}
+		}
+
+		void put(final String name, final LoggerConfig value) {
+			categories.put(name, value);
+		}
+	}
+
+	private static String category(final int i) {
+		return "com.example" + (i % 97) + ".module" + (i % 1009) + ".feature" + i;
+	}
+
+	@Setup
+	public void setup() {
+		trie = new CategoryMap();
+		hashMap = new HashMapCategoryMap();
+
+		trie.put("", new LoggerConfig("Default"));
+		hashMap.put("", new LoggerConfig("Default"));
+
+		for (int i = 0; i < categories; i++) {
+			final String name = category(i);
+			trie.put(name, new LoggerConfig(LogLevel.DEBUG));
+			hashMap.put(name, new LoggerConfig(LogLevel.DEBUG));
+		}
+
+		names = new String[NAMES];
+		for (int i = 0; i < NAMES; i++) {
+			/* Half of the names match a category, the rest only partially match */
+			if (i % 2 == 0) {
+				names[i] = category((i * 7919) % categories) + ".internal.SomeClass" + i;
+			} else {
+				names[i] = "com.example" + (i % 97) + ".other.internal.SomeClass" + i;
+			}
+		}
+
+		/* Compile the trie before measuring */
+		trie.get("");
+	}
+
+	@Benchmark
+	public LoggerConfig trie() {
+		return trie.get(names[next++ & (NAMES - 1)]);
+	}
+
+	@Benchmark
+	public LoggerConfig hashMap() {
+		return hashMap.get(names[next++ & (NAMES - 1)]);
+	}
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of resolving logger names against increasing numbers of category patterns, compared to matching the name
+ * against each pattern in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CategoryPatternBenchmark {
+	private static final int NAMES = 1024;
+
+	@Param({ "1", "10", "100", "1000" })
+	public int patterns;
+
+	private CategoryMap automaton;
+	private NaiveCategoryMap naive;
+	private String[] names;
+	private int next;
+
+	/**
+	 * Matches every pattern against the name separately, then merges the matches in order of depth.
+	 */
+	private static final class NaiveCategoryMap {
+		private final List<String[]> patterns = new ArrayList<String[]>();
+		private final List<LoggerConfig> configs = new ArrayList<LoggerConfig>();
+
+		LoggerConfig get(final String name) {
+			final String[] segments = name.split("\\.");
+			final LoggerConfig[] matches = new LoggerConfig[segments.length + 1];
+			final boolean[] depths = new boolean[segments.length + 1];
+
+			for (int i = 0; i < patterns.size(); i++) {
+				match(patterns.get(i), 0, segments, 0, depths);
+
+				for (int j = 0; j < depths.length; j++) {
+					if (depths[j]) {
+						if (matches[j] == null) {
+							matches[j] = new LoggerConfig();
+						}
+						matches[j].merge(configs.get(i));
+						depths[j] = false;
+					}
+				}
+			}
+
+			final LoggerConfig config = new LoggerConfig();
+			for (int j = matches.length - 1; j >= 0; j--) {
+				config.merge(matches[j]);
+			}
+			config.merge(LoggerConfig.DEFAULT);
+			return config;
+		}
+
+		private static void match(final String[] pattern, final int i, final String[] segments, final int j, final boolean[] depths) {
+			if (i == pattern.length) {
+				depths[j] = true;
+			} else if (CategoryMap.ANY.equals(pattern[i])) {
+				for (int k = j; k <= segments.length; k++) {
+					match(pattern, i + 1, segments, k, depths);
+				}
+			} else if (j < segments.length && (CategoryMap.ONE.equals(pattern[i]) || pattern[i].equals(segments[j]))) {
+				match(pattern, i + 1, segments, j + 1, depths);
+			}
+		}
+
+		void put(final String name, final LoggerConfig value) {
+			patterns.add(name.split("\\."));
+			configs.add(value);
+		}
+	}
+
+	private static String pattern(final int i) {
+		switch (i % 3) {
+		case 0:
+			return "*.internal" + i;
+		case 1:
+			return "com.example.**.cache" + i;
+		default:
+			return "**.module" + i + ".*.impl";
+		}
+	}
+
+	@Setup
+	public void setup() {
+		automaton = new CategoryMap();
+		naive = new NaiveCategoryMap();
+
+		for (int i = 0; i < patterns; i++) {
+			final String name = pattern(i);
+			automaton.put(name, new LoggerConfig(LogLevel.DEBUG));
+			naive.put(name, new LoggerConfig(LogLevel.DEBUG));
+		}
+
+		names = new String[NAMES];
+		for (int i = 0; i < NAMES; i++) {
+			final int j = (i * 7919) % patterns;
+
+			/* Half of the names match a pattern, the rest only partially match */
+			if (i % 2 == 0) {
+				names[i] = pattern(j).replace("**", "a.b").replace("*", "c") + ".SomeClass" + i;
+			} else {
+				names[i] = "com.example.a.module" + j + ".internal.SomeClass" + i;
+			}
+		}
+
+		/* Resolve every name once so that the states have been expanded before measuring */
+		for (final String name : names) {
+			automaton.get(name);
+		}
+	}
+
+	@Benchmark
+	public LoggerConfig automaton() {
+		return automaton.get(names[next++ & (NAMES - 1)]);
+	}
+
+	@Benchmark
+	public LoggerConfig naive() {
+		return naive.get(names[next++ & (NAMES - 1)]);
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import android.util.Log;
+
+/**
+ * Cost of adding the same context to every message of a logger: with a child logger, with the MDC and by concatenating
+ * it to the message, with and without the logger name. Run with {@code -prof gc} to compare allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextLoggerBenchmark {
+	@Param({ "FALSE", "SHORT" })
+	public String showName;
+
+	private Logger logger;
+	private Logger mdcLogger;
+	private Logger childLogger;
+	private int id = 42;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Log.setLevel(Log.INFO);
+
+		final LoggerConfig config = new LoggerConfig(LogLevel.INFO);
+		config.showName = LoggerConfig.ShowName.valueOf(showName);
+		config.merge(LoggerConfig.DEFAULT);
+		final LogAdapter adapter = new LogAdapter("com.example.app.net.module1.Test", config);
+		logger = adapter;
+		childLogger = adapter.withContext("conn", id);
+
+		final LoggerConfig mdcConfig = new LoggerConfig(LogLevel.INFO);
+		mdcConfig.showMdc = "conn";
+		mdcConfig.showName = LoggerConfig.ShowName.valueOf(showName);
+		mdcConfig.merge(LoggerConfig.DEFAULT);
+		mdcLogger = new LogAdapter("com.example.app.net.module1.Test", mdcConfig);
+
+		MDC.put("conn", String.valueOf(id));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		MDC.clear();
+	}
+
+	@Benchmark
+	public void plain() {
+		logger.info("Message");
+	}
+
+	@Benchmark
+	public void concat() {
+		logger.info("{conn=" + id + "} Message");
+	}
+
+	@Benchmark
+	public void mdc() {
+		mdcLogger.info("Message");
+	}
+
+	@Benchmark
+	public void child() {
+		childLogger.info("Message");
+	}
+
+	@Benchmark
+	public void childDisabled() {
+		childLogger.debug("Message");
+	}
+
+	@Benchmark
+	public void childFormat() {
+		childLogger.info("Message {}", id);
+	}
+}
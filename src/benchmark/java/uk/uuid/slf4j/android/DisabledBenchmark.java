@@ -0,0 +1,147 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+/**
+ * Cost of each variant of a disabled debug message, with and without a marker.
+ * 
+ * <p>
+ * The variants without a marker are compared to {@link #baseline()} (and {@link #isDebugEnabled()} to
+ * {@link #baselineFlag()}), because the logging methods are small enough to be inlined and a disabled call is reduced to the
+ * level flag check. The variants with a marker are reduced to the same check when no markers are configured, otherwise
+ * they also check whether the marker matches a configured marker before the level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DisabledBenchmark {
+	private boolean flag;
+	private org.slf4j.Logger log;
+	private Marker marker;
+	private Object arg1;
+	private Object arg2;
+	private Object[] args;
+	private Throwable t;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		LoggerFactory factory = new LoggerFactory();
+		log = factory.getLogger("benchmark.Disabled");
+		marker = new BasicMarkerFactory().getMarker("BENCHMARK");
+		arg1 = 1;
+		arg2 = "2";
+		args = new Object[] { arg1, arg2, 3L };
+		t = new Exception();
+	}
+
+	@Benchmark
+	public void baseline() {
+		if (flag) {
+			throw new IllegalStateException();
+		}
+	}
+
+	@Benchmark
+	public boolean baselineFlag() {
+		return flag;
+	}
+
+	@Benchmark
+	public boolean isDebugEnabled() {
+		return log.isDebugEnabled();
+	}
+
+	@Benchmark
+	public void debug() {
+		log.debug("Message");
+	}
+
+	@Benchmark
+	public void debugArg() {
+		log.debug("Message {}", arg1);
+	}
+
+	@Benchmark
+	public void debugArgs2() {
+		log.debug("Message {} {}", arg1, arg2);
+	}
+
+	@Benchmark
+	public void debugArgs() {
+		log.debug("Message {} {} {}", args);
+	}
+
+	@Benchmark
+	public void debugThrowable() {
+		log.debug("Message", t);
+	}
+
+	@Benchmark
+	public boolean isDebugEnabledMarker() {
+		return log.isDebugEnabled(marker);
+	}
+
+	@Benchmark
+	public void debugMarker() {
+		log.debug(marker, "Message");
+	}
+
+	@Benchmark
+	public void debugMarkerArg() {
+		log.debug(marker, "Message {}", arg1);
+	}
+
+	@Benchmark
+	public void debugMarkerArgs2() {
+		log.debug(marker, "Message {} {}", arg1, arg2);
+	}
+
+	@Benchmark
+	public void debugMarkerArgs() {
+		log.debug(marker, "Message {} {} {}", args);
+	}
+
+	@Benchmark
+	public void debugMarkerThrowable() {
+		log.debug(marker, "Message", t);
+	}
+}
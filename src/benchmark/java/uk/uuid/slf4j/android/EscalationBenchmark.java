@@ -0,0 +1,152 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a disabled debug message with and without log level escalation.
+ * 
+ * <p>
+ * With no escalation active anywhere ({@code NONE}) a disabled call should cost the same as {@link #baseline()}, because the level
+ * flag is read without any thread local access. With another thread escalated ({@code OTHER_THREAD}) the flag is raised and the
+ * current thread's scope must be checked. With the current thread escalated ({@code THIS_THREAD}) the message is logged.
+ * 
+ * <p>
+ * {@link #openClose()} opens and closes a scope on the current thread. With no other escalation ({@code NONE}) that is the
+ * first open and the last close, which write the level flags of every logger, so it is measured with an additional number of
+ * {@link #loggers}. Otherwise the highest escalated level doesn't change and no loggers are visited.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscalationBenchmark {
+	public enum Escalation {
+		NONE, OTHER_THREAD, THIS_THREAD
+	}
+
+	@Param
+	public Escalation escalation;
+
+	@Param({ "1", "10000" })
+	public int loggers;
+
+	private boolean flag;
+	private org.slf4j.Logger log;
+	private LogScope scope;
+	private CountDownLatch release;
+	/* Keep the additional loggers reachable */
+	private org.slf4j.Logger[] others;
+
+	@Setup(Level.Trial)
+	public void setup() throws InterruptedException {
+		LoggerFactory factory = new LoggerFactory();
+		log = factory.getLogger("benchmark.Escalation");
+		others = new org.slf4j.Logger[loggers - 1];
+		for (int i = 0; i < others.length; i++) {
+			others[i] = factory.getLogger("benchmark.escalation.Logger" + i);
+		}
+
+		switch (escalation) {
+		case NONE:
+			break;
+
+		case OTHER_THREAD:
+			final CountDownLatch opened = new CountDownLatch(1);
+			release = new CountDownLatch(1);
+			new Thread() {
+				@Override
+				public void run() {
+					LogScope other = LoggerFactory.escalate(LogLevel.DEBUG);
+					try {
+						opened.countDown();
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						other.close();
+					}
+				}
+			}.start();
+			opened.await();
+			break;
+
+		case THIS_THREAD:
+			scope = LoggerFactory.escalate(LogLevel.DEBUG);
+			break;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (scope != null) {
+			scope.close();
+		}
+		if (release != null) {
+			release.countDown();
+		}
+	}
+
+	@Benchmark
+	public boolean baseline() {
+		return flag;
+	}
+
+	@Benchmark
+	public boolean isDebugEnabled() {
+		return log.isDebugEnabled();
+	}
+
+	@Benchmark
+	public void debug() {
+		log.debug("Message");
+	}
+
+	@Benchmark
+	public void debugFormat() {
+		log.debug("Message {}", this);
+	}
+
+	@Benchmark
+	public void openClose() {
+		LoggerFactory.escalate(LogLevel.DEBUG).close();
+	}
+}
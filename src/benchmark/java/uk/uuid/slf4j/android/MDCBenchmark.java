@@ -0,0 +1,133 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Cost of reading and modifying the MDC, compared to the {@link BasicMDCAdapter} provided by SLF4J.
+ * 
+ * <p>
+ * The {@code slot} benchmarks use a key with a fixed slot (the basic adapter uses the same key name in its map). A snapshot is
+ * a copy of the context map for the basic adapter, because that is the only way to keep its current values. The
+ * {@code putAfterSnapshot} benchmark takes a snapshot before each modification so that the context must be copied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MDCBenchmark {
+	@Param({ "copyOnWrite", "basic" })
+	public String adapter;
+
+	/* Number of other keys in the context */
+	@Param({ "0", "4" })
+	public int size;
+
+	private boolean basic;
+	private MDCAdapter mdc;
+	private CopyOnWriteMDCAdapter.Key key;
+	private int counter;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		basic = adapter.equals("basic");
+		mdc = basic ? new BasicMDCAdapter() : CopyOnWriteMDCAdapter.getInstance();
+		key = CopyOnWriteMDCAdapter.key("benchmark.slot");
+		for (int i = 0; i < size; i++) {
+			mdc.put("benchmark.key" + i, "value" + i);
+		}
+		mdc.put("benchmark.request", "request");
+		mdc.put("benchmark.slot", "request");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		mdc.clear();
+	}
+
+	@Benchmark
+	public String get() {
+		return mdc.get("benchmark.request");
+	}
+
+	@Benchmark
+	public String getMissing() {
+		return mdc.get("benchmark.missing");
+	}
+
+	@Benchmark
+	public String getSlot() {
+		return basic ? mdc.get("benchmark.slot") : key.get();
+	}
+
+	@Benchmark
+	public void put() {
+		mdc.put("benchmark.request", (counter++ & 1) == 0 ? "request1" : "request2");
+	}
+
+	@Benchmark
+	public void putSlot() {
+		final String value = (counter++ & 1) == 0 ? "request1" : "request2";
+		if (basic) {
+			mdc.put("benchmark.slot", value);
+		} else {
+			key.put(value);
+		}
+	}
+
+	@Benchmark
+	public Object snapshot() {
+		return basic ? mdc.getCopyOfContextMap() : CopyOnWriteMDCAdapter.snapshot();
+	}
+
+	@Benchmark
+	public Object putAfterSnapshot() {
+		final Object snapshot = snapshot();
+		mdc.put("benchmark.request", (counter++ & 1) == 0 ? "request1" : "request2");
+		return snapshot;
+	}
+
+	@Benchmark
+	public Object copyOfContextMap() {
+		return mdc.getCopyOfContextMap();
+	}
+}
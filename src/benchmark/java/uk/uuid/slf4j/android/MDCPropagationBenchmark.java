@@ -0,0 +1,130 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+/**
+ * Throughput of a thread pool running a million tiny tasks, reported as the time per task.
+ * 
+ * <p>
+ * Tasks are submitted without MDC propagation ({@code none}), with {@link MDCExecutors} ({@code snapshot}), or by copying the
+ * MDC map for each task and setting it in the task ({@code copy}), which is how propagation is done with other MDC adapters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MDCPropagationBenchmark {
+	private static final int TASKS = 1000000;
+
+	@Param({ "none", "snapshot", "copy" })
+	public String propagation;
+
+	private ExecutorService pool;
+	private ExecutorService executor;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		pool = Executors.newFixedThreadPool(4);
+		executor = propagation.equals("snapshot") ? MDCExecutors.wrap(pool) : pool;
+
+		MDC.put("requestId", "0123456789abcdef");
+		MDC.put("userId", "user");
+		MDC.put("session", "session");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+		MDC.clear();
+	}
+
+	private static final class Task implements Runnable {
+		private final CountDownLatch done;
+
+		Task(final CountDownLatch done) {
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			done.countDown();
+		}
+	}
+
+	private static final class CopyTask implements Runnable {
+		private final Map<String, String> context = MDC.getCopyOfContextMap();
+		private final Runnable task;
+
+		CopyTask(final Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			final Map<String, String> previous = MDC.getCopyOfContextMap();
+			MDC.setContextMap(context);
+			try {
+				task.run();
+			} finally {
+				MDC.setContextMap(previous);
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TASKS)
+	public void run() throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(TASKS);
+		final boolean copy = propagation.equals("copy");
+
+		for (int i = 0; i < TASKS; i++) {
+			final Runnable task = new Task(done);
+			executor.execute(copy ? new CopyTask(task) : task);
+		}
+		done.await();
+	}
+}
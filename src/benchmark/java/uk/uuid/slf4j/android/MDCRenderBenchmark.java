@@ -0,0 +1,101 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import android.util.Log;
+
+/**
+ * Cost of an enabled message that shows the MDC, when the MDC changes every {@code changeEvery} messages
+ * (or never, for 0).
+ * 
+ * <p>
+ * The rendered MDC is reused until it changes, so showing an MDC that does not change costs the same as concatenating one
+ * more string to the message. With the logger name, both are added to the message in one copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MDCRenderBenchmark {
+	@Param({ "", "requestId,userId" })
+	public String showMdc;
+
+	@Param({ "0", "1", "10", "100" })
+	public int changeEvery;
+
+	@Param({ "FALSE", "SHORT" })
+	public String showName;
+
+	private LogAdapter logger;
+	private int count;
+	private boolean toggle;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Log.setLevel(Log.INFO);
+
+		final LoggerConfig config = new LoggerConfig(LogLevel.INFO);
+		config.showMdc = showMdc;
+		config.showName = LoggerConfig.ShowName.valueOf(showName);
+		config.merge(LoggerConfig.DEFAULT);
+		logger = new LogAdapter("com.example.app.net.module1.Test", config);
+
+		MDC.put("requestId", "0123456789abcdef");
+		MDC.put("userId", "user");
+		MDC.put("session", "session");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		MDC.clear();
+	}
+
+	@Benchmark
+	public void info() {
+		if (changeEvery != 0 && ++count == changeEvery) {
+			count = 0;
+			toggle = !toggle;
+			MDC.put("requestId", toggle ? "fedcba9876543210" : "0123456789abcdef");
+		}
+		logger.info("Message");
+	}
+}
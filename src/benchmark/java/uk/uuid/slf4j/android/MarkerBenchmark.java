@@ -0,0 +1,109 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+/**
+ * Cost of checking if a marker contains another marker, at the bottom of a graph {@code depth} markers deep where each marker
+ * has {@code width} references, and of finding the configured marker name that the root marker matches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarkerBenchmark {
+	@Param({ "basic", "bitset" })
+	public String factory;
+
+	@Param({ "1", "4", "16" })
+	public int depth;
+
+	@Param({ "1", "4" })
+	public int width;
+
+	private Marker root;
+	private Marker leaf;
+	private Marker missing;
+	private MarkerMap markers;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final IMarkerFactory markerFactory = factory.equals("basic") ? new BasicMarkerFactory() : new BitSetMarkerFactory();
+
+		root = markerFactory.getMarker("ROOT");
+		Marker parent = root;
+		for (int i = 0; i < depth; i++) {
+			Marker marker = null;
+			for (int j = 0; j < width; j++) {
+				marker = markerFactory.getMarker("M" + i + "." + j);
+				parent.add(marker);
+			}
+			parent = marker;
+		}
+		leaf = parent;
+		missing = markerFactory.getMarker("MISSING");
+
+		markers = new MarkerMap();
+		markers.put("MISSING", LogLevel.DEBUG);
+		markers.put(leaf.getName(), LogLevel.INFO);
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return root.contains(leaf);
+	}
+
+	@Benchmark
+	public boolean containsName() {
+		return root.contains("MISSING");
+	}
+
+	@Benchmark
+	public boolean notContains() {
+		return root.contains(missing);
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return markers.indexOf(root);
+	}
+}
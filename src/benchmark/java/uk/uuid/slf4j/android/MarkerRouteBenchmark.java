@@ -0,0 +1,105 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+import android.util.Log;
+
+/**
+ * Cost of a message with a marker that is routed to another tag, compared to a marker that uses the tag of the logger.
+ *
+ * <p>
+ * Checking the native level of a tag is made to take 1µs, so any native level that isn't cached for the routed tag is visible.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarkerRouteBenchmark {
+	private Logger logger;
+	private Marker perf;
+	private Marker audit;
+	private Marker routed;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Log.setLevel(Log.INFO);
+		Log.setIsLoggableCost(TimeUnit.MICROSECONDS.toNanos(1));
+
+		final LoggingConfig.Builder builder = new LoggingConfig.Builder(null);
+		builder.property("level", "WARN");
+		builder.property("level.@PERF", "INFO");
+		builder.property("level.@AUDIT", "INFO");
+		builder.property("tag.@AUDIT", "Audit");
+		builder.property("tag.@ROUTED", "Routed");
+		logger = new LogAdapter("com.example.app.net.module1.Test", builder.build().get("com.example.app.net.module1.Test"));
+
+		final BitSetMarkerFactory factory = new BitSetMarkerFactory();
+		perf = factory.getMarker("PERF");
+		audit = factory.getMarker("AUDIT");
+		routed = factory.getMarker("ROUTED");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Log.setIsLoggableCost(0);
+	}
+
+	@Benchmark
+	public void unrouted() {
+		logger.info(perf, "Message");
+	}
+
+	@Benchmark
+	public void routed() {
+		logger.info(audit, "Message");
+	}
+
+	@Benchmark
+	public void routedNativeLevel() {
+		logger.info(routed, "Message");
+	}
+
+	@Benchmark
+	public void routedDisabled() {
+		logger.debug(routed, "Message");
+	}
+}
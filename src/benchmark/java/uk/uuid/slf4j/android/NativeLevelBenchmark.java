@@ -0,0 +1,97 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import android.util.Log;
+
+/**
+ * Cost of creating many loggers with the native log level, when every logger is used immediately (which resolves the
+ * native level as the logger constructor used to) compared to only some of them being used.
+ * 
+ * <p>
+ * Each call to {@link Log#isLoggable(String, int)} is made to take 2µs, to simulate the native call on a device.
+ * Every logger has a different tag so that the level of each tag is only resolved once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Thread)
+public class NativeLevelBenchmark {
+	private static final long ISLOGGABLE_COST = TimeUnit.MICROSECONDS.toNanos(2);
+
+	@Param({ "1000" })
+	public int loggers;
+
+	private LoggerConfig config;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Log.setIsLoggableCost(ISLOGGABLE_COST);
+		config = new LoggerConfig();
+		config.merge(LoggerConfig.DEFAULT);
+	}
+
+	private LogAdapter create() {
+		return new LogAdapter("b" + next++, config);
+	}
+
+	@Benchmark
+	public void allUsed(final Blackhole bh) {
+		for (int i = 0; i < loggers; i++) {
+			bh.consume(create().isInfoEnabled());
+		}
+	}
+
+	@Benchmark
+	public void tenPercentUsed(final Blackhole bh) {
+		for (int i = 0; i < loggers; i++) {
+			final LogAdapter logger = create();
+			bh.consume(i % 10 == 0 ? logger.isInfoEnabled() : logger);
+		}
+	}
+
+	@Benchmark
+	public void noneUsed(final Blackhole bh) {
+		for (int i = 0; i < loggers; i++) {
+			bh.consume(create());
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import android.util.Log;
+
+/**
+ * Cost on the calling thread of getting and using a few hundred loggers for the first time, when they are created
+ * lazily (before or after the config has been loaded in the background) compared to when they have been created in the
+ * background by {@link LoggerFactory#prewarm(java.util.Collection)}.
+ * 
+ * <p>
+ * Each call to {@link Log#isLoggable(String, int)} is made to take 2µs, to simulate the native call on a device.
+ * Each fork measures a single pass, so this includes class loading (with no JIT warmup).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Thread)
+public class PrewarmBenchmark {
+	private static final long ISLOGGABLE_COST = TimeUnit.MICROSECONDS.toNanos(2);
+
+	@Param({ "lazy", "configLoaded", "prewarmed" })
+	public String mode;
+
+	@Param({ "300" })
+	public int loggers;
+
+	private final List<String> names = new ArrayList<String>();
+	private LoggerFactory factory;
+
+	@Setup(Level.Iteration)
+	public void setup() throws InterruptedException {
+		Log.setIsLoggableCost(ISLOGGABLE_COST);
+
+		names.clear();
+		for (int i = 0; i < loggers; i++) {
+			names.add("com.example.app.feature" + (i / 30) + ".ui.component" + (i / 10) + ".Screen" + i);
+		}
+
+		factory = new LoggerFactory();
+		if (!mode.equals("lazy")) {
+			if (mode.equals("prewarmed")) {
+				factory.prewarm(names);
+			} else {
+				factory.prewarm();
+			}
+
+			for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+				if (thread.getName().equals("slf4j-android prewarm")) {
+					thread.join();
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void firstUse(final Blackhole bh) {
+		for (final String name : names) {
+			bh.consume(factory.getLogger(name).isInfoEnabled());
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Creates a large number of loggers with the weak registry, which takes too long to run as part of the unit tests.
+ * {@code RegistryTest.weakSoak()} runs a scaled-down version with the unit tests.
+ * 
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=RegistrySoakTest}.
+ */
+public class RegistrySoakTest {
+	private static final int SOAK_LOGGERS = 1000000;
+
+	@Test(timeout = 300000)
+	@SuppressFBWarnings("DM_GC")
+	public void weakSoak() throws InterruptedException {
+		LoggerFactory factory = new LoggerFactory(true);
+		Logger held = factory.getLogger("registry.weak.Held");
+
+		for (int i = 0; i < SOAK_LOGGERS; i++) {
+			factory.getLogger("registry.weak.Logger" + i);
+		}
+		for (int i = 0; i < 100 && factory.getEvictedLoggerCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		// Unreferenced loggers are reclaimed
+		Assert.assertTrue(factory.getEvictedLoggerCount() > 0);
+		Assert.assertTrue(factory.getLoggerCount() < SOAK_LOGGERS);
+		Assert.assertEquals(SOAK_LOGGERS + 1, factory.getLoggerCount() + factory.getEvictedLoggerCount());
+
+		// Referenced loggers keep their identity
+		Assert.assertSame(held, factory.getLogger("registry.weak.Held"));
+	}
+}
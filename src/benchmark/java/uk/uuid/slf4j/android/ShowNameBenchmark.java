@@ -0,0 +1,101 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import android.util.Log;
+
+/**
+ * Cost of an enabled message for each way of showing the logger name, with and without the thread name.
+ * 
+ * <p>
+ * {@link #mixed()} uses loggers with every combination of settings (except showing the caller) in turn, as an application
+ * with loggers configured differently would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShowNameBenchmark {
+	@Param({ "FALSE", "SHORT", "COMPACT", "LONG", "CALLER" })
+	public String showName;
+
+	@Param({ "false", "true" })
+	public boolean showThread;
+
+	private LogAdapter logger;
+	private LogAdapter[] loggers;
+	private int next;
+
+	private static LogAdapter create(final LoggerConfig.ShowName showName, final boolean showThread) {
+		final LoggerConfig config = new LoggerConfig(LogLevel.INFO);
+		config.showName = showName;
+		config.showThread = showThread;
+		config.merge(LoggerConfig.DEFAULT);
+		return new LogAdapter("com.example.app.net.module1.Test", config);
+	}
+
+	@Setup
+	public void setup() {
+		Log.setLevel(Log.INFO);
+		logger = create(LoggerConfig.ShowName.valueOf(showName), showThread);
+
+		final LoggerConfig.ShowName[] values = { LoggerConfig.ShowName.FALSE, LoggerConfig.ShowName.SHORT,
+				LoggerConfig.ShowName.COMPACT, LoggerConfig.ShowName.LONG };
+		loggers = new LogAdapter[values.length * 2];
+		for (int i = 0; i < values.length; i++) {
+			loggers[i * 2] = create(values[i], false);
+			loggers[i * 2 + 1] = create(values[i], true);
+		}
+	}
+
+	@Benchmark
+	public void message() {
+		logger.info("Message");
+	}
+
+	@Benchmark
+	public void format() {
+		logger.info("Message {}", "arg");
+	}
+
+	@Benchmark
+	public void mixed() {
+		loggers[next++ % loggers.length].info("Message");
+	}
+}
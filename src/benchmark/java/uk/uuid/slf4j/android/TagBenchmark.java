@@ -0,0 +1,131 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of creating the tag and compact name for 20k class names (from the JVM's class library and the classpath), and
+ * of reconfiguring loggers with those names (which reuses the tag and compact name that they already have).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TagBenchmark {
+	private static final int NAMES = 20000;
+
+	private final List<String> names = new ArrayList<String>(NAMES);
+	private final List<LogAdapter> loggers = new ArrayList<LogAdapter>(NAMES);
+	private final LoggerConfig[] configs = new LoggerConfig[2];
+	private int next;
+
+	@Setup
+	public void setup() throws IOException {
+		final String path = System.getProperty("sun.boot.class.path", "") + File.pathSeparator + System.getProperty("java.class.path", "");
+		for (final String element : path.split(File.pathSeparator)) {
+			if (!element.endsWith(".jar") || !new File(element).isFile()) {
+				continue;
+			}
+
+			final JarFile jar = new JarFile(element);
+			try {
+				final Enumeration<JarEntry> entries = jar.entries();
+				while (entries.hasMoreElements() && names.size() < NAMES) {
+					final String entry = entries.nextElement().getName();
+					if (entry.endsWith(".class")) {
+						names.add(entry.substring(0, entry.length() - 6).replace('/', '.'));
+					}
+				}
+			} finally {
+				jar.close();
+			}
+		}
+
+		if (names.size() < NAMES) {
+			throw new IllegalStateException("Only found " + names.size() + " class names");
+		}
+
+		for (int i = 0; i < configs.length; i++) {
+			configs[i] = new LoggerConfig(i == 0 ? LogLevel.INFO : LogLevel.DEBUG);
+			configs[i].showName = LoggerConfig.ShowName.COMPACT;
+			configs[i].merge(LoggerConfig.DEFAULT);
+		}
+
+		final LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		for (final String name : names) {
+			loggers.add(new LogAdapter(name, configs[0], table));
+		}
+	}
+
+	@Benchmark
+	public void tag(final Blackhole bh) {
+		for (final String name : names) {
+			bh.consume(LoggerFactory.createTag(name));
+		}
+	}
+
+	@Benchmark
+	public void compactName(final Blackhole bh) {
+		for (final String name : names) {
+			bh.consume(LogAdapter.getCompactName(name));
+		}
+	}
+
+	@Benchmark
+	public void sharedTag(final Blackhole bh) {
+		final LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		for (final String name : names) {
+			bh.consume(table.tag(name));
+		}
+	}
+
+	@Benchmark
+	public void reconfigure() {
+		final LoggerConfig config = configs[++next & 1];
+		for (final LogAdapter logger : loggers) {
+			logger.reconfigure(config, null);
+		}
+	}
+}
@@ -64,7 +64,14 @@ public class StaticLoggerBinder implements LoggerFactoryBinder {
 	private final ILoggerFactory loggerFactory;
 
 	private StaticLoggerBinder() {
-		loggerFactory = new uk.uuid.slf4j.android.LoggerFactory();
+		final uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory(
+				Boolean.getBoolean(uk.uuid.slf4j.android.LoggerFactory.WEAK_LOGGERS_PROPERTY));
+
+		if (Boolean.getBoolean(uk.uuid.slf4j.android.LoggerFactory.BACKGROUND_LOAD_PROPERTY)) {
+			factory.prewarm();
+		}
+
+		loggerFactory = factory;
 	}
 
 	@Override
@@ -23,14 +23,16 @@
  */
 package org.slf4j.impl;
 
-import org.slf4j.helpers.NOPMDCAdapter;
 import org.slf4j.spi.MDCAdapter;
 
+import uk.uuid.slf4j.android.CopyOnWriteMDCAdapter;
+
 /**
- * This implementation is bound to {@link NOPMDCAdapter}.
+ * This implementation is bound to {@link CopyOnWriteMDCAdapter}.
  *
  * @author Ceki G&uuml;lc&uuml;
  * @author Thorsten M&ouml;ler
+ * @author Simon Arlott
  */
 public class StaticMDCBinder {
 	/**
@@ -52,13 +54,13 @@ public class StaticMDCBinder {
 	}
 
 	/**
-	 * Currently this method always returns an instance of {@link NOPMDCAdapter}.
+	 * Returns the {@link CopyOnWriteMDCAdapter} instance, which is always the same object.
 	 */
 	public MDCAdapter getMDCA() {
-		return new NOPMDCAdapter();
+		return CopyOnWriteMDCAdapter.getInstance();
 	}
 
 	public String getMDCAdapterClassStr() {
-		return NOPMDCAdapter.class.getName();
+		return CopyOnWriteMDCAdapter.class.getName();
 	}
 }
@@ -25,9 +25,10 @@ package org.slf4j.impl;
 
 import org.slf4j.IMarkerFactory;
 import org.slf4j.MarkerFactory;
-import org.slf4j.helpers.BasicMarkerFactory;
 import org.slf4j.spi.MarkerFactoryBinder;
 
+import uk.uuid.slf4j.android.BitSetMarkerFactory;
+
 /**
  * 
  * The binding of {@link MarkerFactory} class with an actual instance of {@link IMarkerFactory} is performed using information returned by this class.
@@ -41,7 +42,7 @@ public class StaticMarkerBinder implements MarkerFactoryBinder {
 	 */
 	public static final StaticMarkerBinder SINGLETON = new StaticMarkerBinder();
 
-	final IMarkerFactory markerFactory = new BasicMarkerFactory();
+	final IMarkerFactory markerFactory = new BitSetMarkerFactory();
 
 	private StaticMarkerBinder() {
 	}
@@ -57,7 +58,7 @@ public class StaticMarkerBinder implements MarkerFactoryBinder {
 	}
 
 	/**
-	 * Currently this method always returns an instance of {@link BasicMarkerFactory}.
+	 * Currently this method always returns an instance of {@link BitSetMarkerFactory}.
 	 */
 	@Override
 	public IMarkerFactory getMarkerFactory() {
@@ -65,10 +66,10 @@ public class StaticMarkerBinder implements MarkerFactoryBinder {
 	}
 
 	/**
-	 * Currently, this method returns the class name of {@link BasicMarkerFactory}.
+	 * Currently, this method returns the class name of {@link BitSetMarkerFactory}.
 	 */
 	@Override
 	public String getMarkerFactoryClassStr() {
-		return BasicMarkerFactory.class.getName();
+		return BitSetMarkerFactory.class.getName();
 	}
 }
@@ -0,0 +1,376 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Marker;
+
+/**
+ * Marker that keeps the ids of every marker name it contains as a bitset, see {@link BitSetMarkerFactory}.
+ *
+ * <p>
+ * Markers are equal if they have the same name, so the bitset contains names instead of individual markers. Names that
+ * have not been assigned an id are not in the bitset, and are found by comparing the names of the markers that contain them.
+ *
+ * @author Simon Arlott
+ */
+final class BitSetMarker implements Marker {
+	private static final long serialVersionUID = 1L;
+	/* Changes to references are serialised across all markers because they update the markers that contain them */
+	private static final Object LOCK = new Object();
+
+	private final String name;
+	private final List<Marker> references = new CopyOnWriteArrayList<Marker>();
+	/* Racy, but every thread finds the same id once the name has one */
+	private transient int id;
+	/* Markers that have this marker as a reference */
+	private transient List<WeakReference<BitSetMarker>> parents;
+	private transient volatile Closure closure;
+
+	/**
+	 * Names of the markers that are contained by a marker.
+	 */
+	private static final class Closure {
+		final BitSet ids;
+		/* Contains markers from another factory, which must be checked directly */
+		final boolean foreign;
+		/* Contains names without an id, which must be compared directly */
+		final boolean unresolved;
+		/* Number of ids that had been assigned before the ids of the names were found */
+		final int assigned;
+
+		Closure(final BitSet ids, final boolean foreign, final boolean unresolved, final int assigned) {
+			this.ids = ids;
+			this.foreign = foreign;
+			this.unresolved = unresolved;
+			this.assigned = assigned;
+		}
+	}
+
+	/**
+	 * Create a marker, assigning its name an id if it is interned by the factory.
+	 */
+	BitSetMarker(final String name, final boolean intern) {
+		if (name == null) {
+			throw new IllegalArgumentException("A marker name cannot be null");
+		}
+
+		final int assigned = BitSetMarkerFactory.assigned();
+		this.name = name;
+		this.id = intern ? BitSetMarkerFactory.id(name) : BitSetMarkerFactory.findId(name);
+
+		final BitSet ids = new BitSet();
+		if (id != BitSetMarkerFactory.NO_ID) {
+			ids.set(id);
+		}
+		this.closure = new Closure(ids, false, id == BitSetMarkerFactory.NO_ID, assigned);
+	}
+
+	@Override
+	public final String getName() {
+		return name;
+	}
+
+	@Override
+	public final void add(final Marker reference) {
+		if (reference == null) {
+			throw new IllegalArgumentException("A null value cannot be added to a Marker as reference.");
+		}
+
+		synchronized (LOCK) {
+			// no point in adding the reference multiple times or adding a reference that would create a cycle
+			if (contains(reference) || reference.contains(this)) {
+				return;
+			}
+
+			references.add(reference);
+			if (reference instanceof BitSetMarker) {
+				((BitSetMarker)reference).parents().add(new WeakReference<BitSetMarker>(this));
+			}
+			update();
+		}
+	}
+
+	@Override
+	public final boolean remove(final Marker reference) {
+		synchronized (LOCK) {
+			final boolean removed = references.remove(reference);
+			if (removed) {
+				if (reference instanceof BitSetMarker) {
+					removeParent((BitSetMarker)reference);
+				}
+				update();
+			}
+			return removed;
+		}
+	}
+
+	@Override
+	@Deprecated
+	public final boolean hasChildren() {
+		return hasReferences();
+	}
+
+	@Override
+	public final boolean hasReferences() {
+		return !references.isEmpty();
+	}
+
+	@Override
+	public final Iterator<Marker> iterator() {
+		return references.iterator();
+	}
+
+	@Override
+	public final boolean contains(final Marker other) {
+		if (other == null) {
+			throw new IllegalArgumentException("Other cannot be null");
+		}
+
+		final String otherName = other.getName();
+		final int otherId = other instanceof BitSetMarker ? ((BitSetMarker)other).id() : BitSetMarkerFactory.findId(otherName);
+		return contains(current(), otherName, otherId);
+	}
+
+	@Override
+	public final boolean contains(final String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("Other cannot be null");
+		}
+
+		final int id = BitSetMarkerFactory.findId(name);
+		return contains(current(), name, id);
+	}
+
+	/**
+	 * Check the bitset for a name with an id. Otherwise compare the names of markers that contain names without an id,
+	 * and check the references that contain markers from another factory.
+	 */
+	private final boolean contains(final Closure closure, final String name, final int id) {
+		if (id != BitSetMarkerFactory.NO_ID ? closure.ids.get(id) : closure.unresolved && this.name.equals(name)) {
+			return true;
+		} else if (!closure.foreign && (id != BitSetMarkerFactory.NO_ID || !closure.unresolved)) {
+			return false;
+		}
+
+		for (final Marker reference : references) {
+			if (reference instanceof BitSetMarker) {
+				final BitSetMarker marker = (BitSetMarker)reference;
+				final Closure other = marker.current();
+				if ((other.foreign || (id == BitSetMarkerFactory.NO_ID && other.unresolved)) && marker.contains(other, name, id)) {
+					return true;
+				}
+			} else if (reference.contains(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the id of the name of this marker, or {@link BitSetMarkerFactory#NO_ID}.
+	 */
+	final int id() {
+		int id = this.id;
+		if (id == BitSetMarkerFactory.NO_ID) {
+			id = BitSetMarkerFactory.findId(name);
+			this.id = id;
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the ids of every marker name that this marker contains (including its own, if it has one), or {@code null}
+	 * if it contains markers from another factory and must be checked directly. Names without an id are not configured,
+	 * so they are not needed to match configured markers. The bitset must not be modified.
+	 */
+	final BitSet ids() {
+		final Closure closure = current();
+		return closure.foreign ? null : closure.ids;
+	}
+
+	/**
+	 * Returns an object that is replaced when the names contained by this marker change, unless they change below a
+	 * marker from another factory.
+	 */
+	final Object version() {
+		return current();
+	}
+
+	/**
+	 * Returns the closure of this marker, recalculating it if it contains names without an id and other names have been
+	 * assigned an id since it was calculated.
+	 */
+	private final Closure current() {
+		final Closure closure = this.closure;
+		if (!closure.unresolved || closure.assigned == BitSetMarkerFactory.assigned()) {
+			return closure;
+		}
+
+		synchronized (LOCK) {
+			final Map<BitSetMarker, Closure> affected = new IdentityHashMap<BitSetMarker, Closure>();
+			affected.put(this, null);
+			return calculate(affected);
+		}
+	}
+
+	private final List<WeakReference<BitSetMarker>> parents() {
+		if (parents == null) {
+			parents = new ArrayList<WeakReference<BitSetMarker>>(1);
+		}
+		return parents;
+	}
+
+	private final void removeParent(final BitSetMarker reference) {
+		final Iterator<WeakReference<BitSetMarker>> it = reference.parents().iterator();
+		while (it.hasNext()) {
+			final BitSetMarker parent = it.next().get();
+			if (parent == null || parent == this) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Recalculate the closure of this marker and every marker that contains it.
+	 */
+	private final void update() {
+		final Map<BitSetMarker, Closure> affected = new IdentityHashMap<BitSetMarker, Closure>();
+		final List<BitSetMarker> pending = new ArrayList<BitSetMarker>();
+		affected.put(this, null);
+		pending.add(this);
+
+		for (int i = 0; i < pending.size(); i++) {
+			final Iterator<WeakReference<BitSetMarker>> it = pending.get(i).parents().iterator();
+			while (it.hasNext()) {
+				final BitSetMarker parent = it.next().get();
+				if (parent == null) {
+					it.remove();
+				} else if (!affected.containsKey(parent)) {
+					affected.put(parent, null);
+					pending.add(parent);
+				}
+			}
+		}
+
+		for (final BitSetMarker marker : pending) {
+			marker.calculate(affected);
+		}
+	}
+
+	/**
+	 * Calculate the closure of this marker, first calculating the closure of any references that are also affected.
+	 * There are no cycles so this always terminates.
+	 */
+	private final Closure calculate(final Map<BitSetMarker, Closure> affected) {
+		if (!affected.containsKey(this)) {
+			return current();
+		}
+
+		Closure closure = affected.get(this);
+		if (closure != null) {
+			return closure;
+		}
+
+		final int assigned = BitSetMarkerFactory.assigned();
+		final int id = id();
+		final BitSet ids = new BitSet();
+		boolean foreign = false;
+		boolean unresolved = id == BitSetMarkerFactory.NO_ID;
+		if (!unresolved) {
+			ids.set(id);
+		}
+
+		for (final Marker reference : references) {
+			if (reference instanceof BitSetMarker) {
+				final Closure other = ((BitSetMarker)reference).calculate(affected);
+				ids.or(other.ids);
+				foreign |= other.foreign;
+				unresolved |= other.unresolved;
+			} else {
+				final int other = BitSetMarkerFactory.findId(reference.getName());
+				if (other != BitSetMarkerFactory.NO_ID) {
+					ids.set(other);
+				}
+				foreign = true;
+			}
+		}
+
+		closure = new Closure(ids, foreign, unresolved, assigned);
+		affected.put(this, closure);
+		this.closure = closure;
+		return closure;
+	}
+
+	/**
+	 * Deserialised markers are recreated so that their ids and references are tracked.
+	 */
+	private final Object readResolve() {
+		final BitSetMarker marker = new BitSetMarker(name, false);
+		for (final Marker reference : references) {
+			marker.add(reference);
+		}
+		return marker;
+	}
+
+	@Override
+	public final boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof Marker)) {
+			return false;
+		}
+
+		return name.equals(((Marker)obj).getName());
+	}
+
+	@Override
+	public final int hashCode() {
+		return name.hashCode();
+	}
+
+	@Override
+	public final String toString() {
+		if (!hasReferences()) {
+			return name;
+		}
+
+		final StringBuilder sb = new StringBuilder(name).append(" [ ");
+		final Iterator<Marker> it = references.iterator();
+		while (it.hasNext()) {
+			sb.append(it.next().getName());
+			if (it.hasNext()) {
+				sb.append(", ");
+			}
+		}
+		return sb.append(" ]").toString();
+	}
+}
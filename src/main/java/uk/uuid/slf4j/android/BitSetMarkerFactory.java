@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Marker;
+
+/**
+ * Marker factory with markers that check if they contain another marker in constant time.
+ *
+ * <p>
+ * Marker names returned by {@link #getMarker(String)} or configured with a log level or tag are assigned a small integer id,
+ * and each marker keeps the ids of the names of all the markers it contains (directly or through its references) as a
+ * bitset. The bitsets are recalculated when references are added or removed, which is expected to be rare compared to
+ * checking them.
+ *
+ * <p>
+ * Detached markers are not assigned an id, so that markers with transient names don't permanently add to the size of every
+ * bitset. Names without an id are compared directly. A marker that contains one recalculates its bitset the next time it
+ * is used after any other name is assigned an id, in case it is one of its names.
+ *
+ * <p>
+ * References to markers from other factories can't be tracked, so markers that contain them also check their references.
+ *
+ * @author Simon Arlott
+ */
+public final class BitSetMarkerFactory implements IMarkerFactory {
+	/** Id of marker names that have not been assigned one. */
+	static final int NO_ID = -1;
+
+	private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+	/* Number of ids that have been assigned, which is only incremented after the id can be found */
+	private static volatile int assigned;
+
+	private final ConcurrentMap<String, Marker> markers = new ConcurrentHashMap<String, Marker>();
+
+	public BitSetMarkerFactory() {
+	}
+
+	/**
+	 * Returns the id of a marker name, assigning the next id if it does not already have one.
+	 */
+	static final int id(final String name) {
+		final Integer id = IDS.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (IDS) {
+			final Integer existing = IDS.get(name);
+			if (existing != null) {
+				return existing;
+			}
+
+			final int newId = assigned;
+			IDS.put(name, newId);
+			assigned = newId + 1;
+			return newId;
+		}
+	}
+
+	/**
+	 * Returns the id of a marker name, or {@link #NO_ID} if it has not been assigned one.
+	 */
+	static final int findId(final String name) {
+		final Integer id = IDS.get(name);
+		return id != null ? id : NO_ID;
+	}
+
+	/**
+	 * Returns the number of ids that have been assigned. Every id below it can be found by name.
+	 */
+	static final int assigned() {
+		return assigned;
+	}
+
+	@Override
+	public final Marker getMarker(final String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("Marker name cannot be null");
+		}
+
+		final Marker marker = markers.get(name);
+		if (marker != null) {
+			return marker;
+		}
+
+		final Marker newMarker = new BitSetMarker(name, true);
+		final Marker oldMarker = markers.putIfAbsent(name, newMarker);
+		return oldMarker == null ? newMarker : oldMarker;
+	}
+
+	@Override
+	public final boolean exists(final String name) {
+		return name != null && markers.containsKey(name);
+	}
+
+	@Override
+	public final boolean detachMarker(final String name) {
+		return name != null && markers.remove(name) != null;
+	}
+
+	@Override
+	public final Marker getDetachedMarker(final String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("Marker name cannot be null");
+		}
+
+		return new BitSetMarker(name, false);
+	}
+}
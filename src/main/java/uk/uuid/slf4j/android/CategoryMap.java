@@ -1,5 +1,5 @@
 /**
- * Copyright 2013  Simon Arlott
+ * Copyright 2013,2026  Simon Arlott
  *
  * Permission is hereby granted, free  of charge, to any person obtaining
  * a  copy  of this  software  and  associated  documentation files  (the
@@ -22,61 +22,575 @@
  */
 package uk.uuid.slf4j.android;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Compiles a map of logger categories to be used to match logger names.
- * 
+ *
+ * <p>
+ * A category applies to loggers with a name that starts with the category's dot-separated segments. Segments of
+ * {@value #ONE} match any one segment and segments of {@value #ANY} match zero or more segments.
+ * When multiple categories match, each setting is taken from the category that matched the most segments of the name.
+ * For the same number of segments, a category without wildcards takes precedence over patterns, followed by patterns
+ * in the order that they were added.
+ *
+ * <p>
+ * All of the categories are compiled into a single deterministic automaton, where each state holds the config merged from
+ * every category matched so far and the defaults, so that a logger name can be resolved in one pass over its characters
+ * regardless of the number of categories. The transitions of each state are only computed the first time that a name
+ * reaches it, so patterns that would produce a very large automaton only cost as much as the names that are resolved.
+ *
  * @author Simon Arlott
  */
 final class CategoryMap {
-	private final Map<String, LoggerConfig> categories = new HashMap<String, LoggerConfig>();
+	/** Segment that matches any one segment. */
+	static final String ONE = "*";
+	/** Segment that matches zero or more segments. */
+	static final String ANY = "**";
+
+	private final Node root = new Node();
+	private int count;
+	private volatile Compiler compiler;
 
 	CategoryMap() {
 	}
 
 	/**
 	 * Returns the merged config of all matching category names for the given input, using the defaults if no categories match.
+	 *
+	 * <p>
+	 * The returned config is shared and must not be modified.
 	 */
-	final LoggerConfig get(String name) {
-		final LoggerConfig config = new LoggerConfig();
+	final LoggerConfig get(final String name) {
+		Compiler compiler = this.compiler;
+		if (compiler == null) {
+			compiler = compiler();
+		}
 
-		if (categories.isEmpty()) {
-			config.merge(LoggerConfig.DEFAULT);
+		State state = compiler.start;
+		LoggerConfig config = state.resolved;
+		if (name == null || name.length() == 0) {
 			return config;
 		}
 
-		if (name == null) {
-			name = "";
-		}
+		final int length = name.length();
+		int offset = 0;
+		int hash = 0;
 
-		while (true) {
-			final int index = name.lastIndexOf('.');
+		for (int i = 0; i <= length; i++) {
+			final char c = i < length ? name.charAt(i) : '.';
 
-			if (config.merge(categories.get(name)))
-				return config;
+			if (c == '.') {
+				if (!state.expanded) {
+					compiler.expand(state);
+				}
 
-			if (index != -1) {
-				name = name.substring(0, index);
-			} else {
-				if (!config.merge(categories.get(""))) {
-					config.merge(LoggerConfig.DEFAULT);
+				State next = state.get(name, offset, i - offset, hash);
+				if (next == null) {
+					next = state.other;
+					if (next == null) {
+						/* No more categories can match */
+						break;
+					}
 				}
-				return config;
+
+				state = next;
+				config = state.resolved;
+				offset = i + 1;
+				hash = 0;
+			} else {
+				hash = 31 * hash + c;
 			}
 		}
+
+		return config;
 	}
 
 	/**
 	 * Add a category to the config map.
 	 */
 	final void put(final String name, final LoggerConfig value) {
-		LoggerConfig config = categories.get(name);
-		if (config != null) {
-			config.merge(value);
+		final Node node = node(name);
+
+		if (node.config != null) {
+			node.config.merge(value);
 		} else {
-			categories.put(name, value);
+			node.config = value;
+			node.order = count++;
+		}
+
+		compiler = null;
+	}
+
+	/**
+	 * Returns the config of a category so that it can be modified, adding the category if it does not exist.
+	 */
+	final LoggerConfig config(final String name) {
+		final Node node = node(name);
+
+		if (node.config == null) {
+			node.config = new LoggerConfig();
+			node.order = count++;
+		}
+
+		compiler = null;
+		return node.config;
+	}
+
+	private final Node node(final String name) {
+		Node node = root;
+
+		if (name.length() > 0) {
+			int offset = 0;
+
+			while (true) {
+				final int end = name.indexOf('.', offset);
+				node = node.getOrCreate(name.substring(offset, end == -1 ? name.length() : end));
+
+				if (end == -1) {
+					break;
+				}
+
+				offset = end + 1;
+			}
+		}
+
+		return node;
+	}
+
+	/**
+	 * Returns the config of every category that has been added, in name order.
+	 */
+	final SortedMap<String, LoggerConfig> categories() {
+		final SortedMap<String, LoggerConfig> categories = new TreeMap<String, LoggerConfig>();
+		final List<Category> list = new ArrayList<Category>();
+		root.collect(new ArrayList<String>(), list);
+
+		for (final Category category : list) {
+			categories.put(category.name, category.config);
+		}
+		return categories;
+	}
+
+	/**
+	 * Compile all of the categories into an automaton.
+	 */
+	final void compile() {
+		compiler();
+	}
+
+	private final synchronized Compiler compiler() {
+		Compiler compiler = this.compiler;
+
+		if (compiler == null) {
+			final List<Category> categories = new ArrayList<Category>();
+			root.collect(new ArrayList<String>(), categories);
+			Collections.sort(categories);
+
+			compiler = new Compiler(categories);
+			this.compiler = compiler;
+		}
+		return compiler;
+	}
+
+	/**
+	 * A category while the map is being built.
+	 */
+	private static final class Node {
+		LoggerConfig config;
+		int order;
+		private Map<String, Node> children;
+
+		Node() {
+		}
+
+		final Node getOrCreate(final String segment) {
+			if (children == null) {
+				children = new HashMap<String, Node>();
+			}
+
+			Node node = children.get(segment);
+			if (node == null) {
+				node = new Node();
+				children.put(segment, node);
+			}
+			return node;
+		}
+
+		final void collect(final List<String> segments, final List<Category> categories) {
+			if (config != null) {
+				categories.add(new Category(segments, config, order));
+			}
+
+			if (children != null) {
+				for (final Map.Entry<String, Node> child : children.entrySet()) {
+					segments.add(child.getKey());
+					child.getValue().collect(segments, categories);
+					segments.remove(segments.size() - 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A category to be compiled, ordered by precedence when the same number of segments have been matched.
+	 */
+	private static final class Category implements Comparable<Category> {
+		final String name;
+		final String[] segments;
+		final LoggerConfig config;
+		final boolean pattern;
+		final int order;
+
+		Category(final List<String> segments, final LoggerConfig config, final int order) {
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < segments.size(); i++) {
+				if (i > 0) {
+					sb.append('.');
+				}
+				sb.append(segments.get(i));
+			}
+
+			int length = segments.size();
+			/* Categories already match everything after their last segment */
+			while (length > 0 && ANY.equals(segments.get(length - 1))) {
+				length--;
+			}
+
+			boolean pattern = false;
+			for (int i = 0; i < length; i++) {
+				pattern |= isWildcard(segments.get(i));
+			}
+
+			this.name = sb.toString();
+			this.segments = segments.subList(0, length).toArray(new String[length]);
+			this.config = config;
+			this.pattern = pattern;
+			this.order = order;
+		}
+
+		private static final boolean isWildcard(final String segment) {
+			return ONE.equals(segment) || ANY.equals(segment);
+		}
+
+		@Override
+		public final int compareTo(final Category o) {
+			if (pattern != o.pattern) {
+				return pattern ? 1 : -1;
+			}
+			return order < o.order ? -1 : (order == o.order ? 0 : 1);
+		}
+
+		@Override
+		public final boolean equals(final Object obj) {
+			return this == obj;
+		}
+
+		@Override
+		public final int hashCode() {
+			return order;
+		}
+	}
+
+	/**
+	 * Builds a deterministic automaton from the categories using subset construction, as each state is reached.
+	 *
+	 * <p>
+	 * Each position in a category (the number of segments matched so far) is a state of the equivalent
+	 * non-deterministic automaton. Positions are numbered in order of category precedence. Segments that do not
+	 * appear in any category are equivalent, so every state has a transition for each segment that appears at
+	 * its positions and one transition for all other segments.
+	 */
+	private static final class Compiler {
+		private final Category[] categories;
+		/* Category and segment index of each position */
+		private final int[] positionCategory;
+		private final int[] positionIndex;
+		private final int[] categoryStart;
+		private final Map<LoggerConfig, LoggerConfig> configs = new HashMap<LoggerConfig, LoggerConfig>();
+		private final Map<Key, State> states = new HashMap<Key, State>();
+		final State start;
+
+		Compiler(final List<Category> categories) {
+			this.categories = categories.toArray(new Category[categories.size()]);
+			categoryStart = new int[this.categories.length];
+
+			int positions = 0;
+			for (int i = 0; i < this.categories.length; i++) {
+				categoryStart[i] = positions;
+				positions += this.categories[i].segments.length + 1;
+			}
+
+			positionCategory = new int[positions];
+			positionIndex = new int[positions];
+			for (int i = 0; i < this.categories.length; i++) {
+				for (int j = 0; j <= this.categories[i].segments.length; j++) {
+					positionCategory[categoryStart[i] + j] = i;
+					positionIndex[categoryStart[i] + j] = j;
+				}
+			}
+
+			final BitSet initial = new BitSet();
+			for (int i = 0; i < this.categories.length; i++) {
+				initial.set(categoryStart[i]);
+			}
+
+			final LoggerConfig defaults = new LoggerConfig();
+			defaults.merge(LoggerConfig.DEFAULT);
+
+			final State state = state(initial, intern(defaults));
+			if (state != null) {
+				start = state;
+			} else {
+				start = new State(null, intern(defaults));
+				start.expanded = true;
+			}
+		}
+
+		/**
+		 * Returns the segment at a position, or {@code null} if the category has been matched.
+		 */
+		private final String segment(final int position) {
+			final String[] segments = categories[positionCategory[position]].segments;
+			final int index = positionIndex[position];
+			return index < segments.length ? segments[index] : null;
+		}
+
+		/**
+		 * Returns the state for a set of positions, after adding the positions reachable by matching zero segments.
+		 */
+		private final State state(final BitSet positions, final LoggerConfig previous) {
+			for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+				if (ANY.equals(segment(i))) {
+					positions.set(i + 1);
+				}
+			}
+
+			if (positions.isEmpty()) {
+				return null;
+			}
+
+			final int[] array = new int[positions.cardinality()];
+			for (int i = positions.nextSetBit(0), j = 0; i >= 0; i = positions.nextSetBit(i + 1), j++) {
+				array[j] = i;
+			}
+
+			final Key key = new Key(array, resolve(array, previous));
+			State state = states.get(key);
+			if (state == null) {
+				state = new State(key, key.resolved);
+				states.put(key, state);
+			}
+			return state;
+		}
+
+		/**
+		 * Merge the config of every category matched at these positions (in order of precedence) with the previous config.
+		 */
+		private final LoggerConfig resolve(final int[] positions, final LoggerConfig previous) {
+			LoggerConfig config = null;
+
+			for (final int position : positions) {
+				if (segment(position) == null) {
+					if (config == null) {
+						config = new LoggerConfig();
+					}
+					config.merge(categories[positionCategory[position]].config);
+				}
+			}
+
+			if (config == null) {
+				return previous;
+			}
+
+			config.merge(previous);
+			return intern(config);
+		}
+
+		private final LoggerConfig intern(final LoggerConfig config) {
+			final LoggerConfig existing = configs.get(config);
+			if (existing != null) {
+				return existing;
+			}
+
+			configs.put(config, config);
+			return config;
+		}
+
+		/**
+		 * Compute the transitions of a state.
+		 */
+		final synchronized void expand(final State state) {
+			if (state.expanded) {
+				return;
+			}
+
+			final Key key = state.key;
+			final Map<String, BitSet> literals = new HashMap<String, BitSet>();
+			final BitSet wildcards = new BitSet();
+
+			for (final int position : key.positions) {
+				final String segment = segment(position);
+
+				if (segment == null) {
+					continue;
+				} else if (ANY.equals(segment)) {
+					wildcards.set(position);
+				} else if (ONE.equals(segment)) {
+					wildcards.set(position + 1);
+				} else {
+					BitSet next = literals.get(segment);
+					if (next == null) {
+						next = new BitSet();
+						literals.put(segment, next);
+					}
+					next.set(position + 1);
+				}
+			}
+
+			state.other = state((BitSet)wildcards.clone(), key.resolved);
+
+			for (final Map.Entry<String, BitSet> literal : literals.entrySet()) {
+				final BitSet positions = literal.getValue();
+				positions.or(wildcards);
+
+				final State next = state(positions, key.resolved);
+				if (next != state.other) {
+					state.put(literal.getKey(), next);
+				}
+			}
+
+			state.key = null;
+			state.expanded = true;
+		}
+	}
+
+	/**
+	 * Identifies a state by its positions and the config resolved on the way to reaching them.
+	 */
+	private static final class Key {
+		final int[] positions;
+		final LoggerConfig resolved;
+		private final int hash;
+
+		Key(final int[] positions, final LoggerConfig resolved) {
+			this.positions = positions;
+			this.resolved = resolved;
+			this.hash = 31 * Arrays.hashCode(positions) + System.identityHashCode(resolved);
+		}
+
+		@Override
+		public final boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key)obj;
+			return resolved == other.resolved && Arrays.equals(positions, other.positions);
+		}
+
+		@Override
+		public final int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * A state of the compiled automaton.
+	 */
+	private static final class State {
+		private static final int INITIAL_CAPACITY = 4;
+
+		final LoggerConfig resolved;
+		/* Positions of the state until it has been expanded */
+		Key key;
+		volatile boolean expanded;
+		/* Transition for segments that have no transition of their own, or null if no more categories can match */
+		State other;
+
+		/* Open addressing hash table of transitions for specific segments */
+		private String[] keys;
+		private int[] hashes;
+		private State[] targets;
+		private int size;
+
+		State(final Key key, final LoggerConfig resolved) {
+			this.key = key;
+			this.resolved = resolved;
+		}
+
+		/**
+		 * Find the transition for a segment of the given name without allocating a substring.
+		 */
+		final State get(final String name, final int offset, final int length, final int hash) {
+			if (keys == null) {
+				return null;
+			}
+
+			final int mask = keys.length - 1;
+			for (int i = mix(hash) & mask;; i = (i + 1) & mask) {
+				final String key = keys[i];
+				if (key == null) {
+					return null;
+				}
+
+				if (hashes[i] == hash && key.length() == length && name.regionMatches(offset, key, 0, length)) {
+					return targets[i];
+				}
+			}
+		}
+
+		final void put(final String segment, final State target) {
+			if (keys == null) {
+				keys = new String[INITIAL_CAPACITY];
+				hashes = new int[INITIAL_CAPACITY];
+				targets = new State[INITIAL_CAPACITY];
+			} else if ((size + 1) * 4 > keys.length * 3) {
+				resize();
+			}
+
+			insert(segment, segment.hashCode(), target);
+			size++;
+		}
+
+		private final void insert(final String key, final int hash, final State target) {
+			final int mask = keys.length - 1;
+			int i = mix(hash) & mask;
+			while (keys[i] != null) {
+				i = (i + 1) & mask;
+			}
+
+			keys[i] = key;
+			hashes[i] = hash;
+			targets[i] = target;
+		}
+
+		private final void resize() {
+			final String[] oldKeys = keys;
+			final int[] oldHashes = hashes;
+			final State[] oldTargets = targets;
+
+			keys = new String[oldKeys.length * 2];
+			hashes = new int[oldKeys.length * 2];
+			targets = new State[oldKeys.length * 2];
+
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					insert(oldKeys[i], oldHashes[i], oldTargets[i]);
+				}
+			}
+		}
+
+		private static final int mix(final int hash) {
+			return hash ^ (hash >>> 16);
 		}
 	}
 }
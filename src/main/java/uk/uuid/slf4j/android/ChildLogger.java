@@ -0,0 +1,431 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import org.slf4j.Marker;
+
+/**
+ * A logger that adds context to every message and otherwise uses the logger that it was created from,
+ * see {@link ContextLogger#withContext(String, Object)}.
+ *
+ * <p>
+ * The context is rendered once (e.g. "{conn=42} ") and added to each message in the same buffer as the MDC, thread name and
+ * logger name.
+ *
+ * @author Simon Arlott
+ */
+final class ChildLogger implements ContextLogger {
+	private final LogAdapter parent;
+	/* Rendered entries without the braces, e.g. "conn=42, user=bob" */
+	private final String entries;
+	private final String context;
+
+	ChildLogger(final LogAdapter parent, final String entries) {
+		this.parent = parent;
+		this.entries = entries;
+		context = "{".concat(entries).concat("} ");
+	}
+
+	static final String entry(final String key, final Object value) {
+		if (key == null) {
+			throw new IllegalArgumentException("key cannot be null");
+		}
+
+		return key.concat("=").concat(String.valueOf(value));
+	}
+
+	@Override
+	public final String getName() {
+		return parent.getName();
+	}
+
+	@Override
+	public final ContextLogger withContext(final String key, final Object value) {
+		return new ChildLogger(parent, entries.concat(", ").concat(entry(key, value)));
+	}
+
+	@Override
+	public final String toString() {
+		return parent.getName().concat(" ").concat(context.trim());
+	}
+
+	/* Trace */
+
+	@Override
+	public final boolean isTraceEnabled() {
+		return parent.isTraceEnabled();
+	}
+
+	@Override
+	public final void trace(final String msg) {
+		LogAdapter.__traceContext(parent.allowed(LogAdapter.TRACE, LogLevel.VERBOSE), context, msg, null);
+	}
+
+	@Override
+	public final void trace(final String format, final Object arg) {
+		LogAdapter.__traceContextFormat(parent.allowed(LogAdapter.TRACE, LogLevel.VERBOSE), context, format, arg);
+	}
+
+	@Override
+	public final void trace(final String format, final Object arg1, final Object arg2) {
+		LogAdapter.__traceContextFormat(parent.allowed(LogAdapter.TRACE, LogLevel.VERBOSE), context, format, arg1, arg2);
+	}
+
+	@Override
+	public final void trace(final String format, final Object... arguments) {
+		LogAdapter.__traceContextFormat(parent.allowed(LogAdapter.TRACE, LogLevel.VERBOSE), context, format, arguments);
+	}
+
+	@Override
+	public final void trace(final String msg, final Throwable t) {
+		LogAdapter.__traceContext(parent.allowed(LogAdapter.TRACE, LogLevel.VERBOSE), context, msg, t);
+	}
+
+	@Override
+	public final boolean isTraceEnabled(final Marker marker) {
+		return parent.isTraceEnabled(marker);
+	}
+
+	@Override
+	public final void trace(final Marker marker, final String msg) {
+		if (parent.isRouted(LogAdapter.TRACE)) {
+			LogAdapter.__traceContext(parent.allowed(marker, LogAdapter.TRACE, LogLevel.VERBOSE), context, msg, null);
+		}
+	}
+
+	@Override
+	public final void trace(final Marker marker, final String format, final Object arg) {
+		if (parent.isRouted(LogAdapter.TRACE)) {
+			LogAdapter.__traceContextFormat(parent.allowed(marker, LogAdapter.TRACE, LogLevel.VERBOSE), context, format, arg);
+		}
+	}
+
+	@Override
+	public final void trace(final Marker marker, final String format, final Object arg1, final Object arg2) {
+		if (parent.isRouted(LogAdapter.TRACE)) {
+			LogAdapter.__traceContextFormat(parent.allowed(marker, LogAdapter.TRACE, LogLevel.VERBOSE), context, format, arg1, arg2);
+		}
+	}
+
+	@Override
+	public final void trace(final Marker marker, final String format, final Object... argArray) {
+		if (parent.isRouted(LogAdapter.TRACE)) {
+			LogAdapter.__traceContextFormat(parent.allowed(marker, LogAdapter.TRACE, LogLevel.VERBOSE), context, format, argArray);
+		}
+	}
+
+	@Override
+	public final void trace(final Marker marker, final String msg, final Throwable t) {
+		if (parent.isRouted(LogAdapter.TRACE)) {
+			LogAdapter.__traceContext(parent.allowed(marker, LogAdapter.TRACE, LogLevel.VERBOSE), context, msg, t);
+		}
+	}
+
+	/* Debug */
+
+	@Override
+	public final boolean isDebugEnabled() {
+		return parent.isDebugEnabled();
+	}
+
+	@Override
+	public final void debug(final String msg) {
+		LogAdapter.__debugContext(parent.allowed(LogAdapter.DEBUG, LogLevel.DEBUG), context, msg, null);
+	}
+
+	@Override
+	public final void debug(final String format, final Object arg) {
+		LogAdapter.__debugContextFormat(parent.allowed(LogAdapter.DEBUG, LogLevel.DEBUG), context, format, arg);
+	}
+
+	@Override
+	public final void debug(final String format, final Object arg1, final Object arg2) {
+		LogAdapter.__debugContextFormat(parent.allowed(LogAdapter.DEBUG, LogLevel.DEBUG), context, format, arg1, arg2);
+	}
+
+	@Override
+	public final void debug(final String format, final Object... arguments) {
+		LogAdapter.__debugContextFormat(parent.allowed(LogAdapter.DEBUG, LogLevel.DEBUG), context, format, arguments);
+	}
+
+	@Override
+	public final void debug(final String msg, final Throwable t) {
+		LogAdapter.__debugContext(parent.allowed(LogAdapter.DEBUG, LogLevel.DEBUG), context, msg, t);
+	}
+
+	@Override
+	public final boolean isDebugEnabled(final Marker marker) {
+		return parent.isDebugEnabled(marker);
+	}
+
+	@Override
+	public final void debug(final Marker marker, final String msg) {
+		if (parent.isRouted(LogAdapter.DEBUG)) {
+			LogAdapter.__debugContext(parent.allowed(marker, LogAdapter.DEBUG, LogLevel.DEBUG), context, msg, null);
+		}
+	}
+
+	@Override
+	public final void debug(final Marker marker, final String format, final Object arg) {
+		if (parent.isRouted(LogAdapter.DEBUG)) {
+			LogAdapter.__debugContextFormat(parent.allowed(marker, LogAdapter.DEBUG, LogLevel.DEBUG), context, format, arg);
+		}
+	}
+
+	@Override
+	public final void debug(final Marker marker, final String format, final Object arg1, final Object arg2) {
+		if (parent.isRouted(LogAdapter.DEBUG)) {
+			LogAdapter.__debugContextFormat(parent.allowed(marker, LogAdapter.DEBUG, LogLevel.DEBUG), context, format, arg1, arg2);
+		}
+	}
+
+	@Override
+	public final void debug(final Marker marker, final String format, final Object... argArray) {
+		if (parent.isRouted(LogAdapter.DEBUG)) {
+			LogAdapter.__debugContextFormat(parent.allowed(marker, LogAdapter.DEBUG, LogLevel.DEBUG), context, format, argArray);
+		}
+	}
+
+	@Override
+	public final void debug(final Marker marker, final String msg, final Throwable t) {
+		if (parent.isRouted(LogAdapter.DEBUG)) {
+			LogAdapter.__debugContext(parent.allowed(marker, LogAdapter.DEBUG, LogLevel.DEBUG), context, msg, t);
+		}
+	}
+
+	/* Info */
+
+	@Override
+	public final boolean isInfoEnabled() {
+		return parent.isInfoEnabled();
+	}
+
+	@Override
+	public final void info(final String msg) {
+		LogAdapter.__infoContext(parent.allowed(LogAdapter.INFO, LogLevel.INFO), context, msg, null);
+	}
+
+	@Override
+	public final void info(final String format, final Object arg) {
+		LogAdapter.__infoContextFormat(parent.allowed(LogAdapter.INFO, LogLevel.INFO), context, format, arg);
+	}
+
+	@Override
+	public final void info(final String format, final Object arg1, final Object arg2) {
+		LogAdapter.__infoContextFormat(parent.allowed(LogAdapter.INFO, LogLevel.INFO), context, format, arg1, arg2);
+	}
+
+	@Override
+	public final void info(final String format, final Object... arguments) {
+		LogAdapter.__infoContextFormat(parent.allowed(LogAdapter.INFO, LogLevel.INFO), context, format, arguments);
+	}
+
+	@Override
+	public final void info(final String msg, final Throwable t) {
+		LogAdapter.__infoContext(parent.allowed(LogAdapter.INFO, LogLevel.INFO), context, msg, t);
+	}
+
+	@Override
+	public final boolean isInfoEnabled(final Marker marker) {
+		return parent.isInfoEnabled(marker);
+	}
+
+	@Override
+	public final void info(final Marker marker, final String msg) {
+		if (parent.isRouted(LogAdapter.INFO)) {
+			LogAdapter.__infoContext(parent.allowed(marker, LogAdapter.INFO, LogLevel.INFO), context, msg, null);
+		}
+	}
+
+	@Override
+	public final void info(final Marker marker, final String format, final Object arg) {
+		if (parent.isRouted(LogAdapter.INFO)) {
+			LogAdapter.__infoContextFormat(parent.allowed(marker, LogAdapter.INFO, LogLevel.INFO), context, format, arg);
+		}
+	}
+
+	@Override
+	public final void info(final Marker marker, final String format, final Object arg1, final Object arg2) {
+		if (parent.isRouted(LogAdapter.INFO)) {
+			LogAdapter.__infoContextFormat(parent.allowed(marker, LogAdapter.INFO, LogLevel.INFO), context, format, arg1, arg2);
+		}
+	}
+
+	@Override
+	public final void info(final Marker marker, final String format, final Object... argArray) {
+		if (parent.isRouted(LogAdapter.INFO)) {
+			LogAdapter.__infoContextFormat(parent.allowed(marker, LogAdapter.INFO, LogLevel.INFO), context, format, argArray);
+		}
+	}
+
+	@Override
+	public final void info(final Marker marker, final String msg, final Throwable t) {
+		if (parent.isRouted(LogAdapter.INFO)) {
+			LogAdapter.__infoContext(parent.allowed(marker, LogAdapter.INFO, LogLevel.INFO), context, msg, t);
+		}
+	}
+
+	/* Warn */
+
+	@Override
+	public final boolean isWarnEnabled() {
+		return parent.isWarnEnabled();
+	}
+
+	@Override
+	public final void warn(final String msg) {
+		LogAdapter.__warnContext(parent.allowed(LogAdapter.WARN, LogLevel.WARN), context, msg, null);
+	}
+
+	@Override
+	public final void warn(final String format, final Object arg) {
+		LogAdapter.__warnContextFormat(parent.allowed(LogAdapter.WARN, LogLevel.WARN), context, format, arg);
+	}
+
+	@Override
+	public final void warn(final String format, final Object arg1, final Object arg2) {
+		LogAdapter.__warnContextFormat(parent.allowed(LogAdapter.WARN, LogLevel.WARN), context, format, arg1, arg2);
+	}
+
+	@Override
+	public final void warn(final String format, final Object... arguments) {
+		LogAdapter.__warnContextFormat(parent.allowed(LogAdapter.WARN, LogLevel.WARN), context, format, arguments);
+	}
+
+	@Override
+	public final void warn(final String msg, final Throwable t) {
+		LogAdapter.__warnContext(parent.allowed(LogAdapter.WARN, LogLevel.WARN), context, msg, t);
+	}
+
+	@Override
+	public final boolean isWarnEnabled(final Marker marker) {
+		return parent.isWarnEnabled(marker);
+	}
+
+	@Override
+	public final void warn(final Marker marker, final String msg) {
+		if (parent.isRouted(LogAdapter.WARN)) {
+			LogAdapter.__warnContext(parent.allowed(marker, LogAdapter.WARN, LogLevel.WARN), context, msg, null);
+		}
+	}
+
+	@Override
+	public final void warn(final Marker marker, final String format, final Object arg) {
+		if (parent.isRouted(LogAdapter.WARN)) {
+			LogAdapter.__warnContextFormat(parent.allowed(marker, LogAdapter.WARN, LogLevel.WARN), context, format, arg);
+		}
+	}
+
+	@Override
+	public final void warn(final Marker marker, final String format, final Object arg1, final Object arg2) {
+		if (parent.isRouted(LogAdapter.WARN)) {
+			LogAdapter.__warnContextFormat(parent.allowed(marker, LogAdapter.WARN, LogLevel.WARN), context, format, arg1, arg2);
+		}
+	}
+
+	@Override
+	public final void warn(final Marker marker, final String format, final Object... argArray) {
+		if (parent.isRouted(LogAdapter.WARN)) {
+			LogAdapter.__warnContextFormat(parent.allowed(marker, LogAdapter.WARN, LogLevel.WARN), context, format, argArray);
+		}
+	}
+
+	@Override
+	public final void warn(final Marker marker, final String msg, final Throwable t) {
+		if (parent.isRouted(LogAdapter.WARN)) {
+			LogAdapter.__warnContext(parent.allowed(marker, LogAdapter.WARN, LogLevel.WARN), context, msg, t);
+		}
+	}
+
+	/* Error */
+
+	@Override
+	public final boolean isErrorEnabled() {
+		return parent.isErrorEnabled();
+	}
+
+	@Override
+	public final void error(final String msg) {
+		LogAdapter.__errorContext(parent.allowed(LogAdapter.ERROR, LogLevel.ERROR), context, msg, null);
+	}
+
+	@Override
+	public final void error(final String format, final Object arg) {
+		LogAdapter.__errorContextFormat(parent.allowed(LogAdapter.ERROR, LogLevel.ERROR), context, format, arg);
+	}
+
+	@Override
+	public final void error(final String format, final Object arg1, final Object arg2) {
+		LogAdapter.__errorContextFormat(parent.allowed(LogAdapter.ERROR, LogLevel.ERROR), context, format, arg1, arg2);
+	}
+
+	@Override
+	public final void error(final String format, final Object... arguments) {
+		LogAdapter.__errorContextFormat(parent.allowed(LogAdapter.ERROR, LogLevel.ERROR), context, format, arguments);
+	}
+
+	@Override
+	public final void error(final String msg, final Throwable t) {
+		LogAdapter.__errorContext(parent.allowed(LogAdapter.ERROR, LogLevel.ERROR), context, msg, t);
+	}
+
+	@Override
+	public final boolean isErrorEnabled(final Marker marker) {
+		return parent.isErrorEnabled(marker);
+	}
+
+	@Override
+	public final void error(final Marker marker, final String msg) {
+		if (parent.isRouted(LogAdapter.ERROR)) {
+			LogAdapter.__errorContext(parent.allowed(marker, LogAdapter.ERROR, LogLevel.ERROR), context, msg, null);
+		}
+	}
+
+	@Override
+	public final void error(final Marker marker, final String format, final Object arg) {
+		if (parent.isRouted(LogAdapter.ERROR)) {
+			LogAdapter.__errorContextFormat(parent.allowed(marker, LogAdapter.ERROR, LogLevel.ERROR), context, format, arg);
+		}
+	}
+
+	@Override
+	public final void error(final Marker marker, final String format, final Object arg1, final Object arg2) {
+		if (parent.isRouted(LogAdapter.ERROR)) {
+			LogAdapter.__errorContextFormat(parent.allowed(marker, LogAdapter.ERROR, LogLevel.ERROR), context, format, arg1, arg2);
+		}
+	}
+
+	@Override
+	public final void error(final Marker marker, final String format, final Object... argArray) {
+		if (parent.isRouted(LogAdapter.ERROR)) {
+			LogAdapter.__errorContextFormat(parent.allowed(marker, LogAdapter.ERROR, LogLevel.ERROR), context, format, argArray);
+		}
+	}
+
+	@Override
+	public final void error(final Marker marker, final String msg, final Throwable t) {
+		if (parent.isRouted(LogAdapter.ERROR)) {
+			LogAdapter.__errorContext(parent.allowed(marker, LogAdapter.ERROR, LogLevel.ERROR), context, msg, t);
+		}
+	}
+}
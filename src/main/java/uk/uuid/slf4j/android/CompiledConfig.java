@@ -0,0 +1,41 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+/**
+ * Config that has been compiled from {@code config.properties} at build time by the config processor,
+ * so that it does not need to be found and parsed at runtime.
+ * 
+ * <p>
+ * The generated class {@value #CLASS_NAME} adds the validated settings of each category and marker
+ * in the same way as they would have been added when parsing the properties file. Only the parsing and validation is
+ * done at build time: the {@link CategoryMap} automaton is still built at runtime, when the first logger name is resolved.
+ * 
+ * @author Simon Arlott
+ */
+interface CompiledConfig {
+	/** Name of the generated class, which must have a no-argument constructor. */
+	String CLASS_NAME = "uk.uuid.slf4j.android.GeneratedConfig";
+
+	void load(CategoryMap map, MarkerMap markers);
+}
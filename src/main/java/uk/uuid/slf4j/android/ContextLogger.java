@@ -0,0 +1,53 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import org.slf4j.Logger;
+
+/**
+ * A logger that can create child loggers which add context to every message, for example:
+ *
+ * <pre>
+ * ContextLogger log = (ContextLogger)org.slf4j.LoggerFactory.getLogger(Connection.class);
+ * Logger connLog = log.withContext("conn", id);
+ * connLog.info("Connected");  // "{conn=42} Connected"
+ * </pre>
+ *
+ * <p>
+ * Every logger created by {@link LoggerFactory} implements this interface.
+ *
+ * @author Simon Arlott
+ */
+public interface ContextLogger extends Logger {
+	/**
+	 * Returns a logger that adds the given context to every message, in addition to any context that this logger adds.
+	 *
+	 * <p>
+	 * The context is rendered once when the logger is created. The returned logger has the same name, tag and log level
+	 * as this logger, and uses this logger's config when it is reloaded.
+	 *
+	 * @param key context key
+	 * @param value context value
+	 */
+	ContextLogger withContext(String key, Object value);
+}
@@ -0,0 +1,460 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Mapped diagnostic context with a copy-on-write map for each thread.
+ *
+ * <p>
+ * Reading a value or taking a snapshot of the current thread's context does not allocate anything. The context is only copied
+ * when it is modified while a snapshot of it is still in use, so that the snapshot never changes.
+ *
+ * <p>
+ * Frequently used keys can be assigned a fixed slot with {@link #key(String)}. Their values are stored in an array instead of
+ * the map, and accessing them through the returned {@link Key} does not need to look up the key.
+ *
+ * <p>
+ * Loggers configured with {@code showMdc} include some of the keys in their messages. The rendered keys are cached for each
+ * thread until its context is modified.
+ *
+ * @author Simon Arlott
+ */
+public final class CopyOnWriteMDCAdapter implements MDCAdapter {
+	/** Maximum number of keys that can be assigned a fixed slot. */
+	public static final int MAX_SLOTS = 8;
+
+	private static final CopyOnWriteMDCAdapter INSTANCE = new CopyOnWriteMDCAdapter();
+	private static final ThreadLocal<Context> CURRENT = new ThreadLocal<Context>();
+	private static final Object LOCK = new Object();
+	/* Keys with a slot by name */
+	private static final ConcurrentMap<String, Key> SLOTS = new ConcurrentHashMap<String, Key>();
+	/* Keys with a slot, most recently assigned first */
+	private static volatile Key keys;
+
+	private CopyOnWriteMDCAdapter() {
+	}
+
+	/**
+	 * Returns the adapter used by {@link org.slf4j.MDC}.
+	 */
+	public static final CopyOnWriteMDCAdapter getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns a key with a fixed slot in every thread's context, assigning the next unused slot if it does not already have one.
+	 * When all of the slots have been assigned, the key is returned without a slot and its value is stored in the map.
+	 *
+	 * <p>
+	 * A value that was put in the map for a key before it was assigned a slot is still visible until the key is next put or
+	 * removed, but keys should be assigned their slot before they are used so that their values are not looked up in the map.
+	 */
+	public static final Key key(final String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("key cannot be null");
+		}
+
+		synchronized (LOCK) {
+			final Key key = SLOTS.get(name);
+			if (key != null) {
+				return key;
+			}
+
+			final int index = keys != null ? keys.index + 1 : 0;
+			if (index == MAX_SLOTS) {
+				return new Key(name, Key.NONE, null);
+			}
+
+			keys = new Key(name, index, keys);
+			SLOTS.put(name, keys);
+			return keys;
+		}
+	}
+
+	/**
+	 * Returns the slot assigned to a key, or {@link Key#NONE}.
+	 */
+	private static final int slot(final String name) {
+		final Key key = SLOTS.get(name);
+		return key != null ? key.index : Key.NONE;
+	}
+
+	/**
+	 * Returns a snapshot of the current thread's context, which does not change when the context is modified.
+	 */
+	static final Values snapshot() {
+		final Context context = CURRENT.get();
+		if (context == null) {
+			return Values.EMPTY;
+		}
+
+		context.shared = true;
+		return context.values;
+	}
+
+	/**
+	 * Replace the current thread's context with a snapshot, returning the previous context so that it can be restored.
+	 * The snapshot is copied if the context is modified.
+	 */
+	static final Values install(final Values values) {
+		Context context = CURRENT.get();
+		if (context == null) {
+			if (values == Values.EMPTY) {
+				return Values.EMPTY;
+			}
+
+			context = new Context();
+			CURRENT.set(context);
+		}
+
+		final Values previous = context.values;
+		context.values = values;
+		context.shared = true;
+		context.version++;
+		return previous;
+	}
+
+	/**
+	 * Returns the current thread's context rendered in a format, reusing the last rendered value if the format is the same
+	 * and the context has not been modified.
+	 */
+	static final String render(final Format format) {
+		final Context context = CURRENT.get();
+		if (context == null) {
+			return "";
+		}
+
+		if (context.renderedFormat != format || context.renderedVersion != context.version) {
+			context.rendered = format.render(context.values);
+			context.renderedFormat = format;
+			context.renderedVersion = context.version;
+		}
+		return context.rendered;
+	}
+
+	private static final Context context() {
+		Context context = CURRENT.get();
+		if (context == null) {
+			context = new Context();
+			CURRENT.set(context);
+		}
+		return context;
+	}
+
+	@Override
+	public final void put(final String key, final String val) {
+		if (key == null) {
+			throw new IllegalArgumentException("key cannot be null");
+		}
+
+		context().writable().put(slot(key), key, val);
+	}
+
+	@Override
+	public final String get(final String key) {
+		final Context context = CURRENT.get();
+		return context == null ? null : context.values.get(slot(key), key);
+	}
+
+	@Override
+	public final void remove(final String key) {
+		final Context context = CURRENT.get();
+		if (context != null && context.values.contains(slot(key), key)) {
+			context.writable().remove(slot(key), key);
+		}
+	}
+
+	@Override
+	public final void clear() {
+		CURRENT.remove();
+	}
+
+	@Override
+	public final Map<String, String> getCopyOfContextMap() {
+		final Context context = CURRENT.get();
+		return (context == null ? Values.EMPTY : context.values).toMap();
+	}
+
+	@Override
+	public final void setContextMap(@SuppressWarnings("rawtypes") final Map contextMap) {
+		if (contextMap == null || contextMap.isEmpty()) {
+			clear();
+			return;
+		}
+
+		final Values values = new Values(null, null);
+		for (final Object entry : contextMap.entrySet()) {
+			final String key = (String)((Map.Entry<?, ?>)entry).getKey();
+			values.put(slot(key), key, (String)((Map.Entry<?, ?>)entry).getValue());
+		}
+
+		final Context context = context();
+		context.values = values;
+		context.shared = false;
+		context.version++;
+	}
+
+	/**
+	 * A key with a fixed slot in every thread's context.
+	 */
+	public static final class Key {
+		static final int NONE = -1;
+
+		private final String name;
+		private final int index;
+		private final Key next;
+
+		private Key(final String name, final int index, final Key next) {
+			this.name = name;
+			this.index = index;
+			this.next = next;
+		}
+
+		/**
+		 * Returns the name of the key.
+		 */
+		public final String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the value of the key in the current thread's context.
+		 */
+		public final String get() {
+			final Context context = CURRENT.get();
+			return context == null ? null : context.values.get(index, name);
+		}
+
+		/**
+		 * Put a value for the key in the current thread's context.
+		 */
+		public final void put(final String value) {
+			context().writable().put(index, name, value);
+		}
+
+		/**
+		 * Remove the key from the current thread's context.
+		 */
+		public final void remove() {
+			final Context context = CURRENT.get();
+			if (context != null && context.values.contains(index, name)) {
+				context.writable().remove(index, name);
+			}
+		}
+
+		@Override
+		public final String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * The context of a thread, which is only modified by that thread.
+	 */
+	private static final class Context {
+		Values values = Values.EMPTY;
+		/* The values are in use by a snapshot and must be copied before they are modified */
+		boolean shared = true;
+		/* Incremented every time the values are modified */
+		int version;
+		Format renderedFormat;
+		int renderedVersion;
+		String rendered;
+
+		Context() {
+		}
+
+		final Values writable() {
+			if (shared) {
+				values = values.copy();
+				shared = false;
+			}
+			version++;
+			return values;
+		}
+	}
+
+	/**
+	 * The values of a context. They can only be modified until a snapshot of them is taken.
+	 */
+	static final class Values {
+		static final Values EMPTY = new Values(null, null);
+
+		/* Values of keys with a slot, or null if there are none */
+		private String[] slots;
+		/* Values of other keys, or null if there are none */
+		private HashMap<String, String> map;
+
+		private Values(final String[] slots, final HashMap<String, String> map) {
+			this.slots = slots;
+			this.map = map;
+		}
+
+		private final Values copy() {
+			return new Values(slots != null ? slots.clone() : null, map != null ? new HashMap<String, String>(map) : null);
+		}
+
+		final boolean isEmpty() {
+			if (map != null && !map.isEmpty()) {
+				return false;
+			}
+
+			if (slots != null) {
+				for (final String value : slots) {
+					if (value != null) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		final String get(final String key) {
+			return get(slot(key), key);
+		}
+
+		/*
+		 * A key can be assigned a slot after its value was put in the map, so the map is checked when its slot is empty.
+		 * The value is removed from the map when the key is put through its slot, so a key is never in both.
+		 */
+
+		private final String get(final int slot, final String key) {
+			if (slot != Key.NONE && slots != null) {
+				final String value = slots[slot];
+				if (value != null) {
+					return value;
+				}
+			}
+			return map != null ? map.get(key) : null;
+		}
+
+		private final boolean contains(final int slot, final String key) {
+			if (slot != Key.NONE && slots != null && slots[slot] != null) {
+				return true;
+			}
+			return map != null && map.containsKey(key);
+		}
+
+		private final void put(final int slot, final String key, final String value) {
+			if (slot != Key.NONE) {
+				if (slots == null) {
+					slots = new String[MAX_SLOTS];
+				}
+				slots[slot] = value;
+				if (map != null) {
+					map.remove(key);
+				}
+			} else {
+				if (map == null) {
+					map = new HashMap<String, String>();
+				}
+				map.put(key, value);
+			}
+		}
+
+		private final void remove(final int slot, final String key) {
+			if (slot != Key.NONE && slots != null) {
+				slots[slot] = null;
+			}
+			if (map != null) {
+				map.remove(key);
+			}
+		}
+
+		/**
+		 * Returns a copy of the values as a map.
+		 */
+		final Map<String, String> toMap() {
+			final Map<String, String> copy = new HashMap<String, String>();
+			if (slots != null) {
+				for (Key key = keys; key != null; key = key.next) {
+					if (slots[key.index] != null) {
+						copy.put(key.name, slots[key.index]);
+					}
+				}
+			}
+			if (map != null) {
+				copy.putAll(map);
+			}
+			return copy;
+		}
+
+		@Override
+		public final String toString() {
+			return toMap().toString();
+		}
+	}
+
+	/**
+	 * Keys of the context to include in log messages.
+	 */
+	static final class Format {
+		private static final ConcurrentMap<String, Format> FORMATS = new ConcurrentHashMap<String, Format>();
+
+		private final String[] keys;
+
+		private Format(final String[] keys) {
+			this.keys = keys;
+		}
+
+		/**
+		 * Returns the format for a comma-separated list of keys, which is the same object for the same keys.
+		 */
+		static final Format get(final String keys) {
+			final Format format = FORMATS.get(keys);
+			if (format != null) {
+				return format;
+			}
+
+			final Format newFormat = new Format(keys.split(","));
+			final Format oldFormat = FORMATS.putIfAbsent(keys, newFormat);
+			return oldFormat == null ? newFormat : oldFormat;
+		}
+
+		/**
+		 * Render the values of the keys that are present, e.g. "{requestId=1, userId=2} ".
+		 */
+		private final String render(final Values values) {
+			StringBuilder sb = null;
+			for (final String key : keys) {
+				final String value = values.get(key);
+				if (value != null) {
+					if (sb == null) {
+						sb = new StringBuilder(64).append('{');
+					} else {
+						sb.append(", ");
+					}
+					sb.append(key).append('=').append(value);
+				}
+			}
+			return sb == null ? "" : sb.append("} ").toString();
+		}
+	}
+}
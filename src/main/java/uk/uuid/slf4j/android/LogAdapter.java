@@ -1,5 +1,5 @@
 /**
- * Copyright 2013,2016  Simon Arlott
+ * Copyright 2013,2016,2026  Simon Arlott
  *
  * Permission is hereby granted, free  of charge, to any person obtaining
  * a  copy  of this  software  and  associated  documentation files  (the
@@ -22,6 +22,9 @@
  */
 package uk.uuid.slf4j.android;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -41,69 +44,422 @@ import android.util.Log;
  * 
  * @author Simon Arlott
  */
-final class LogAdapter implements Logger {
+final class LogAdapter implements ContextLogger {
 	private static final ConcurrentMap<String, LogLevel> nativeLevelMap = new ConcurrentHashMap<String, LogLevel>();
-	private static final int DIRECT_FRAMES = 2;
-	private static final int FORMAT_FRAMES = 3;
+	/* Stack frames between MessageRewriter.rewrite() and the caller of the logging method */
+	private static final int REWRITE_FRAMES = 3;
+	/* Marker level that is the native level of the tag */
+	private static final int NATIVE_MARKER_LEVEL = -1;
+	static final int ERROR = LogLevel.ERROR.ordinal();
+	static final int WARN = LogLevel.WARN.ordinal();
+	static final int INFO = LogLevel.INFO.ordinal();
+	static final int DEBUG = LogLevel.DEBUG.ordinal();
+	static final int TRACE = LogLevel.VERBOSE.ordinal();
+	/* Level flags value while the native level has not been resolved, which enables every level */
+	private static final int UNRESOLVED = LogLevel.NATIVE.ordinal();
 	private final String name;
-	private final String tag;
-	private final String prefixName;
-	private final boolean showThread;
-	private final boolean showCaller;
-	private final boolean complexRewriteMsg;
-	private final boolean ERROR;
-	private final boolean WARN;
-	private final boolean INFO;
-	private final boolean DEBUG;
-	private final boolean TRACE;
+	/* Replaced when the config is reloaded, and may be shared with other loggers */
+	private volatile State state;
+	/*
+	 * Ordinal of the highest level that passes the level flag check, raised while any thread has escalated its log level.
+	 *
+	 * Written by other threads when the config is reloaded, a scope escalates or deferred settings are replaced. It is
+	 * volatile so that every logging call reads the latest value: a plain read could be hoisted out of a loop, and a
+	 * thread would then keep dropping messages after the level was raised. A stale higher value would be harmless
+	 * because the settings are read again after the flag check, but a stale lower value is not. The disabled check is
+	 * still a single field read.
+	 */
+	private volatile int enabled;
+
+	/**
+	 * Shares the settings of loggers that have the same config and tag (and logger name prefix, if it is shown).
+	 * 
+	 * <p>
+	 * Settings with a rate limit are not shared, because the limit applies to each logger. Settings are only held while
+	 * they are used by a logger, so that they can be reclaimed with the logger.
+	 * 
+	 * <p>
+	 * Tags created from logger names are shared by all the loggers that have the same tag.
+	 */
+	static final class StateTable {
+		/** Does not share settings between loggers. */
+		static final StateTable UNSHARED = new StateTable(LogRateLimiter.SYSTEM_TICKER, false);
+
+		final LogRateLimiter.Ticker ticker;
+		private final Map<String, WeakReference<String>> strings;
+		private final Map<State, WeakReference<State>> states;
+
+		StateTable(final LogRateLimiter.Ticker ticker, final boolean shared) {
+			this.ticker = ticker;
+			strings = shared ? new WeakHashMap<String, WeakReference<String>>() : null;
+			states = shared ? new WeakHashMap<State, WeakReference<State>>() : null;
+		}
+
+		/**
+		 * Returns the canonical tag created from a logger name.
+		 */
+		final String tag(final String name) {
+			return intern(LoggerFactory.createTag(name));
+		}
+
+		final String intern(final String value) {
+			if (strings == null || value == null) {
+				return value;
+			}
+
+			return intern(strings, value);
+		}
+
+		/**
+		 * Returns the settings for a logger. If it is allowed to defer them then a logger that is always suppressed shares
+		 * settings without a tag or logger name prefix with every other suppressed logger that has the same config, until
+		 * a message passes the level flag check while a thread has escalated its level or a message has a configured marker.
+		 * Settings are only deferred when a logger is created, because a message could already have passed the level check
+		 * of the settings that they would replace.
+		 */
+		final State get(final String name, final LoggerConfig config, final State previous, final boolean defer) {
+			final State state = defer && config.level == LogLevel.SUPPRESS && config.rateLimit == 0
+					? new State(this, config) : new State(this, name, config, previous);
+			if (states == null || state.limiter != null) {
+				return state;
+			}
+
+			return intern(states, state);
+		}
+
+		private static final <T> T intern(final Map<T, WeakReference<T>> map, final T value) {
+			synchronized (map) {
+				final WeakReference<T> reference = map.get(value);
+				final T existing = reference != null ? reference.get() : null;
+				if (existing != null) {
+					return existing;
+				}
+
+				map.put(value, new WeakReference<T>(value));
+				return value;
+			}
+		}
+
+		/**
+		 * Returns the number of shared settings.
+		 */
+		final int size() {
+			if (states == null) {
+				return 0;
+			}
+
+			synchronized (states) {
+				return states.size();
+			}
+		}
+	}
+
+	/**
+	 * Settings derived from the config of a logger, which are replaced as a whole when the config changes.
+	 * Each message uses the settings that it was checked with, so it is never logged with a mix of old and new settings.
+	 */
+	static final class State {
+		final StateTable table;
+		final LoggerConfig config;
+		/* Deferred settings have no tag */
+		final String tag;
+		final String prefixName;
+		final MessageRewriter rewriter;
+		/* Configured level, which may be NATIVE */
+		final LogLevel level;
+		final MarkerMap markers;
+		final int[] markerLevels;
+		/* Settings for messages with each marker, which are these settings unless the marker is routed to another tag */
+		final State[] markerStates;
+		final LogRateLimiter limiter;
+		/* Resolved on first use; racy, but every thread resolves the same value */
+		LogLevel nativeLevel;
+
+		/**
+		 * Create settings for a logger, reusing the tag and logger name prefix created for its previous settings (if any).
+		 */
+		State(final StateTable table, final String name, final LoggerConfig config, final State previous) {
+			this.table = table;
+			this.config = config;
+
+			if (config.tag.length() != 0) {
+				tag = config.tag;
+			} else if (previous != null && previous.tag != null && previous.config.tag.length() == 0) {
+				tag = previous.tag;
+			} else {
+				tag = table.tag(name);
+			}
+
+			level = config.level;
+
+			if (previous != null && previous.tag != null && previous.config.showName == config.showName) {
+				prefixName = previous.prefixName;
+			} else {
+				prefixName = createPrefixName(table, name, config.showName);
+			}
+
+			rewriter = MessageRewriter.create(prefixName, config.showThread, config.showName == LoggerConfig.ShowName.CALLER,
+					config.showMdc.length() != 0 ? CopyOnWriteMDCAdapter.Format.get(config.showMdc) : null);
+
+			limiter = config.rateLimit > 0 ? new LogRateLimiter(tag, config.rateLimit, table.ticker) : null;
+
+			markers = config.markers;
+			if (markers != null) {
+				markerLevels = new int[markers.size()];
+				markerStates = new State[markerLevels.length];
+				for (int i = 0; i < markerLevels.length; i++) {
+					final LogLevel markerLevel = markers.level(i);
+					final String markerTag = markers.tag(i);
+					markerLevels[i] = markerLevel == LogLevel.NATIVE ? NATIVE_MARKER_LEVEL : markerLevel.ordinal();
+					markerStates[i] = markerTag != null ? new State(this, table.intern(markerTag)) : this;
+				}
+			} else {
+				markerLevels = null;
+				markerStates = null;
+			}
+		}
+
+		/**
+		 * Create settings for messages with a marker that is routed to another tag, which only differ in their tag.
+		 */
+		private State(final State logger, final String tag) {
+			table = logger.table;
+			config = logger.config;
+			this.tag = tag;
+			prefixName = logger.prefixName;
+			rewriter = logger.rewriter;
+			level = logger.level;
+			markers = null;
+			markerLevels = null;
+			markerStates = null;
+			limiter = logger.limiter;
+		}
+
+		/**
+		 * Create deferred settings for a logger that is suppressed, which must be replaced before anything is logged (see
+		 * {@link LogAdapter#undefer(LogLevel, boolean)}). The markers are kept so that messages without a configured marker
+		 * can be rejected without replacing them.
+		 */
+		State(final StateTable table, final LoggerConfig config) {
+			this.table = table;
+			this.config = config;
+			tag = null;
+			prefixName = null;
+			rewriter = null;
+			level = LogLevel.SUPPRESS;
+			markers = config.markers;
+			markerLevels = null;
+			markerStates = null;
+			limiter = null;
+		}
+
+		private static final String createPrefixName(final StateTable table, final String name, final LoggerConfig.ShowName showName) {
+			switch (showName) {
+			case LONG:
+				return table.intern(name.concat(": "));
+
+			case COMPACT:
+				return table.intern(getCompactName(name).concat(": "));
+
+			case SHORT:
+				return table.intern(name.substring(name.lastIndexOf('.') + 1).concat(": "));
+
+			case CALLER:
+			case FALSE:
+			default:
+				return null;
+			}
+		}
+
+		@Override
+		public final boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (!(obj instanceof State)) {
+				return false;
+			}
+
+			final State other = (State)obj;
+			return limiter == null && other.limiter == null && config.equals(other.config)
+					&& (tag == null ? other.tag == null : tag.equals(other.tag))
+					&& (prefixName == null ? other.prefixName == null : prefixName.equals(other.prefixName));
+		}
+
+		@Override
+		public final int hashCode() {
+			return (31 * config.hashCode() + (tag == null ? 0 : tag.hashCode())) * 31 + (prefixName == null ? 0 : prefixName.hashCode());
+		}
+
+		/**
+		 * Returns the level to set the level flags to, which is {@link LogLevel#NATIVE} (enabling every level) if the native
+		 * level has not been resolved yet so that it is resolved by the first check.
+		 */
+		final LogLevel flagLevel() {
+			if (level != LogLevel.NATIVE) {
+				return level;
+			}
+
+			final LogLevel nativeLevel = this.nativeLevel;
+			return nativeLevel != null ? nativeLevel : LogLevel.NATIVE;
+		}
+	}
 
 	LogAdapter(final String name, final LoggerConfig config) {
+		this(name, config, StateTable.UNSHARED);
+	}
+
+	LogAdapter(final String name, final LoggerConfig config, final StateTable table) {
 		this.name = name;
-		this.tag = config.tag;
 
-		if (config.level == LogLevel.NATIVE) {
-			config.level = getNativeLogLevel();
+		state = table.get(name, config, null, true);
+		setLevelFlags(state.flagLevel());
+	}
+
+	private final void setLevelFlags(final LogLevel level) {
+		enabled = level.ordinal();
+	}
+
+	private final void setLevelFlags(final LogLevel level, final LogLevel escalation) {
+		setLevelFlags(escalation != null && escalation.compareTo(level) > 0 ? escalation : level);
+	}
+
+	/**
+	 * Raise the level flags to the given escalated level, or restore them to the configured level if it is {@code null}.
+	 * Deferred settings are not replaced, so that opening a scope only writes the level flags of each logger.
+	 */
+	final void escalate(final LogLevel escalation) {
+		setLevelFlags(state.flagLevel(), escalation);
+	}
+
+	/**
+	 * Replace deferred settings with the full settings of the logger if a message has a configured marker or a thread has
+	 * escalated its level, keeping the level flags raised to the given escalated level.
+	 *
+	 * <p>
+	 * This is the only place where deferred settings are replaced. It is always called with the scope lock held, see
+	 * {@link LogScope#undefer(LogAdapter, boolean)}.
+	 */
+	final void undefer(final LogLevel escalation, final boolean marker) {
+		if ((escalation != null || marker) && state.tag == null) {
+			state = state.table.get(name, state.config, null, false);
 		}
 
-		TRACE = (config.level == LogLevel.VERBOSE);
-		DEBUG = TRACE || (config.level == LogLevel.DEBUG);
-		INFO = DEBUG || (config.level == LogLevel.INFO);
-		WARN = INFO || (config.level == LogLevel.WARN);
-		ERROR = WARN || (config.level == LogLevel.ERROR);
+		setLevelFlags(state.flagLevel(), escalation);
+	}
 
-		switch (config.showName) {
-		case CALLER:
-			prefixName = null;
-			showCaller = true;
-			break;
-
-		case LONG:
-			prefixName = name.concat(": ");
-			showCaller = false;
-			break;
-
-		case COMPACT:
-			prefixName = getCompactName().concat(": ");
-			showCaller = false;
-			break;
-
-		case SHORT:
-			prefixName = name.substring(name.lastIndexOf('.') + 1).concat(": ");
-			showCaller = false;
-			break;
-
-		case FALSE:
-		default:
-			showCaller = false;
-			prefixName = null;
-			break;
+	/**
+	 * Returns the settings of the logger after replacing its deferred settings if they are needed, or {@code null} if they
+	 * are still deferred. They are always needed for a message with a configured marker. Otherwise they are only needed if
+	 * a thread has escalated its level, which raised the level flags before the deferred settings were replaced.
+	 */
+	private final State undeferred(final boolean marker) {
+		LogScope.undefer(this, marker);
+		final State current = state;
+		return current.tag != null ? current : null;
+	}
+
+	/**
+	 * Returns the config that the logger was created or last reconfigured with.
+	 */
+	final LoggerConfig getConfig() {
+		return state.config;
+	}
+
+	/**
+	 * Replace the settings of the logger if its config has changed, keeping the level flags raised to the given escalated level.
+	 */
+	final void reconfigure(final LoggerConfig config, final LogLevel escalation) {
+		final State previous = state;
+		if (previous.config.equals(config)) {
+			return;
+		}
+
+		final State next = previous.table.get(name, config, previous, false);
+		if (next.flagLevel().compareTo(previous.flagLevel()) > 0) {
+			/* Raise the level flags before they are needed by the new settings */
+			setLevelFlags(next.flagLevel(), escalation);
+		}
+
+		state = next;
+		setLevelFlags(next.flagLevel(), escalation);
+	}
+
+	/**
+	 * Returns the level of the logger, resolving the native level if it is needed.
+	 */
+	private final LogLevel level(final State state) {
+		if (state.level != LogLevel.NATIVE) {
+			return state.level;
+		}
+
+		final LogLevel level = nativeLevel(state);
+		if (enabled == UNRESOLVED) {
+			/* Lower the level flags now that the level is known (it may have been resolved by another logger) */
+			resolveLevelFlags();
+		}
+		return level;
+	}
+
+	/**
+	 * Lower the level flags after the native level has been resolved, only taking the scope lock if a thread has escalated
+	 * its level. Otherwise the flags are written without the lock and then the escalation and settings are checked again:
+	 * a scope that is opened (or settings that are replaced) concurrently either writes the level flags after this check, or
+	 * is seen by it and the flags are written again with the lock held.
+	 */
+	private final void resolveLevelFlags() {
+		if (!LogScope.isActive()) {
+			final State current = state;
+			setLevelFlags(current.flagLevel());
+			if (!LogScope.isActive() && state == current) {
+				return;
+			}
 		}
 
-		showThread = config.showThread;
-		complexRewriteMsg = showThread || showCaller;
+		LogScope.apply(this);
+	}
+
+	/**
+	 * Resolve the native level now if it is needed, instead of the first time that the logger is used.
+	 */
+	final void resolveLevel() {
+		level(state);
+	}
+
+	/**
+	 * Returns the native level of the tag, resolving it the first time it is used.
+	 */
+	private static final LogLevel nativeLevel(final State state) {
+		LogLevel level = state.nativeLevel;
+		if (level == null) {
+			level = getNativeLogLevel(state.tag);
+			state.nativeLevel = level;
+		}
+		return level;
 	}
 
-	private final LogLevel getNativeLogLevel() {
+	/**
+	 * Returns the settings to log a message at a level that has passed the level flag check with, if the level is enabled
+	 * for the current thread, otherwise {@code null}. Deferred settings are never returned.
+	 */
+	private final State check(final State state, final LogLevel level) {
+		if (state.tag == null) {
+			final State current = undeferred(false);
+			return current != null ? check(current, level) : null;
+		}
+
+		return level(state).ordinal() >= level.ordinal() || LogScope.isEnabled(level) ? state : null;
+	}
+
+	/**
+	 * Check if a level that has passed the level flag check is enabled for the current thread and is not being shed by the
+	 * rate limiter (if there is one).
+	 */
+	private final boolean isEnabled(final LogLevel required) {
+		final State state = check(this.state, required);
+		return state != null && (state.limiter == null || state.limiter.isAllowed(required));
+	}
+
+	private static final LogLevel getNativeLogLevel(final String tag) {
 		LogLevel level = nativeLevelMap.get(tag);
 		if (level != null) {
 			return level;
@@ -133,7 +489,10 @@ final class LogAdapter implements Logger {
 		return level;
 	}
 
-	private final String getCompactName() {
+	/**
+	 * Returns the logger name with each package compacted to its first character, e.g. "o.e.p.MyClass".
+	 */
+	static final String getCompactName(final String name) {
 		final char[] compactName = name.toCharArray();
 		final int arrayLen = compactName.length;
 		int len = 0;
@@ -160,47 +519,104 @@ final class LogAdapter implements Logger {
 		return new String(compactName, 0, len);
 	}
 
-	@Override
-	public final String getName() {
-		return name;
-	}
+	/**
+	 * Check if the given level is enabled for a marker, using the precomputed level of the configured marker that it matches,
+	 * and is not being shed by the rate limiter (if there is one).
+	 */
+	private final boolean isEnabled(final Marker marker, final int flag, final LogLevel level) {
+		final State state = route(marker, flag, level);
+		return state != null && (state.limiter == null || state.limiter.isAllowed(level));
+	}
+
+	/**
+	 * Returns the settings to log a message with a marker with if the given level is enabled for the marker, otherwise
+	 * {@code null}. The level and tag of the first configured marker that it matches are precomputed.
+	 */
+	final State route(final Marker marker, final int flag, final LogLevel level) {
+		final State state = this.state;
+		final int index = marker == null || state.markers == null ? MarkerMap.NONE : state.markers.indexOf(marker);
+		if (index == MarkerMap.NONE) {
+			return enabled >= flag ? check(state, level) : null;
+		} else if (state.tag == null) {
+			undeferred(true);
+			return route(marker, flag, level);
+		}
 
-	private final String rewriteMsg(String msg, final int frames) {
-		if (msg == null) {
-			msg = "null";
+		final State markerState = state.markerStates[index];
+		int markerLevel = state.markerLevels[index];
+		if (markerLevel == NATIVE_MARKER_LEVEL) {
+			markerLevel = nativeLevel(markerState).ordinal();
 		}
+		return markerLevel >= level.ordinal() || (LogScope.isActive() && LogScope.isEnabled(level)) ? markerState : null;
+	}
 
-		if (complexRewriteMsg) {
-			final StringBuilder sb = new StringBuilder(msg.length() + 64);
+	/**
+	 * Returns the settings to log a message at the given level with, if it has passed the level flag check, is enabled for
+	 * the current thread and is allowed by the rate limiter (if there is one), otherwise {@code null}.
+	 */
+	private final State allowed(final LogLevel level) {
+		final State state = check(this.state, level);
+		return state != null && limit(state, level) ? state : null;
+	}
 
-			if (showThread) {
-				sb.append('[').append(Thread.currentThread().getName()).append("] ");
-			}
+	/**
+	 * Check the level flags and then return the settings to log a message at the given level with, if it is enabled for
+	 * the current thread and allowed by the rate limiter, for a child logger.
+	 */
+	final State allowed(final int flag, final LogLevel level) {
+		return enabled >= flag ? allowed(level) : null;
+	}
 
-			if (showCaller) {
-				sb.append(new CallerStackTrace(frames).toString()).append(": ");
-			} else if (prefixName != null) {
-				sb.append(prefixName);
-			}
+	/**
+	 * Check if a message with a marker could be enabled at the level of the given flag, without matching the marker. This is
+	 * the level flag check for a child logger, because messages with a marker can only be enabled by it or by a configured
+	 * marker.
+	 */
+	final boolean isRouted(final int flag) {
+		return enabled >= flag || state.markers != null;
+	}
 
-			sb.append(msg);
+	/**
+	 * Returns the settings to log a message with a marker at the given level with, if the level is enabled for the marker
+	 * and the message is allowed by the rate limiter (if there is one), otherwise {@code null}.
+	 */
+	final State allowed(final Marker marker, final int flag, final LogLevel level) {
+		final State state = route(marker, flag, level);
+		return state != null && limit(state, level) ? state : null;
+	}
 
-			return sb.toString();
-		} else if (prefixName != null) {
-			return prefixName.concat(msg);
-		} else {
-			return msg;
-		}
+	/**
+	 * Check if a message at the given level is allowed by the rate limiter of the settings (if there is one).
+	 */
+	private static final boolean limit(final State state, final LogLevel level) {
+		final LogRateLimiter limiter = state.limiter;
+		return limiter == null || limiter.allow(level);
+	}
+
+	@Override
+	public final String getName() {
+		return name;
+	}
+
+	@Override
+	public final ContextLogger withContext(final String key, final Object value) {
+		return new ChildLogger(this, ChildLogger.entry(key, value));
 	}
 
+	/*
+	 * The logging methods only check the level flags and then call out-of-line methods to format and log the message,
+	 * so that they're small enough to be inlined and a disabled call is reduced to the level flag check. The settings are
+	 * read once by the level check and passed to the out-of-line method, which does nothing if they are null.
+	 */
+
 	/* Trace */
 
 	@Override
 	public final boolean isTraceEnabled() {
-		return TRACE;
+		return enabled >= TRACE && isEnabled(LogLevel.VERBOSE);
 	}
 
-	private final void __trace(final String msg, final Throwable t) {
+	private static final void __trace(final String tag, final String msg, final Throwable t) {
 		if (t == null) {
 			Log.v(tag, msg);
 		} else {
@@ -208,83 +624,132 @@ final class LogAdapter implements Logger {
 		}
 	}
 
-	private final void __traceFormat(final String format, final Object... arguments) {
-		final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		__trace(rewriteMsg(ft.getMessage(), FORMAT_FRAMES), ft.getThrowable());
+	private static final void __trace(final State state, final String msg, final Throwable t) {
+		if (state != null) {
+			__trace(state.tag, state.rewriter.rewrite("", msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	private static final void __traceFormat(final State state, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__trace(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __traceFormat(final State state, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__trace(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __traceFormat(final State state, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__trace(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __traceContext(final State state, final String context, final String msg, final Throwable t) {
+		if (state != null) {
+			__trace(state.tag, state.rewriter.rewrite(context, msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	static final void __traceContextFormat(final State state, final String context, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__trace(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __traceContextFormat(final State state, final String context, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__trace(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __traceContextFormat(final State state, final String context, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__trace(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
 	}
 
 	@Override
 	public final void trace(final String msg) {
-		if (TRACE) {
-			Log.v(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= TRACE) {
+			__trace(allowed(LogLevel.VERBOSE), msg, null);
 		}
 	}
 
 	@Override
 	public final void trace(final String format, final Object arg) {
-		if (TRACE) {
-			__traceFormat(format, arg);
+		if (enabled >= TRACE) {
+			__traceFormat(allowed(LogLevel.VERBOSE), format, arg);
 		}
 	}
 
 	@Override
 	public final void trace(final String format, final Object arg1, final Object arg2) {
-		if (TRACE) {
-			__traceFormat(format, arg1, arg2);
+		if (enabled >= TRACE) {
+			__traceFormat(allowed(LogLevel.VERBOSE), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void trace(final String format, final Object... arguments) {
-		if (TRACE) {
-			__traceFormat(format, arguments);
+		if (enabled >= TRACE) {
+			__traceFormat(allowed(LogLevel.VERBOSE), format, arguments);
 		}
 	}
 
 	@Override
 	public final void trace(final String msg, final Throwable t) {
-		if (TRACE) {
-			__trace(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= TRACE) {
+			__trace(allowed(LogLevel.VERBOSE), msg, t);
 		}
 	}
 
 	@Override
 	public final boolean isTraceEnabled(final Marker marker) {
-		return TRACE;
+		return (enabled >= TRACE || state.markers != null) && isEnabled(marker, TRACE, LogLevel.VERBOSE);
 	}
 
 	@Override
 	public final void trace(final Marker marker, final String msg) {
-		if (TRACE) {
-			Log.v(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= TRACE || state.markers != null) {
+			__trace(allowed(marker, TRACE, LogLevel.VERBOSE), msg, null);
 		}
 	}
 
 	@Override
 	public final void trace(final Marker marker, final String format, final Object arg) {
-		if (TRACE) {
-			__traceFormat(format, arg);
+		if (enabled >= TRACE || state.markers != null) {
+			__traceFormat(allowed(marker, TRACE, LogLevel.VERBOSE), format, arg);
 		}
 	}
 
 	@Override
 	public final void trace(final Marker marker, final String format, final Object arg1, final Object arg2) {
-		if (TRACE) {
-			__traceFormat(format, arg1, arg2);
+		if (enabled >= TRACE || state.markers != null) {
+			__traceFormat(allowed(marker, TRACE, LogLevel.VERBOSE), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void trace(final Marker marker, final String format, final Object... argArray) {
-		if (TRACE) {
-			__traceFormat(format, argArray);
+		if (enabled >= TRACE || state.markers != null) {
+			__traceFormat(allowed(marker, TRACE, LogLevel.VERBOSE), format, argArray);
 		}
 	}
 
 	@Override
 	public final void trace(final Marker marker, final String msg, final Throwable t) {
-		if (TRACE) {
-			__trace(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= TRACE || state.markers != null) {
+			__trace(allowed(marker, TRACE, LogLevel.VERBOSE), msg, t);
 		}
 	}
 
@@ -292,10 +757,10 @@ final class LogAdapter implements Logger {
 
 	@Override
 	public final boolean isDebugEnabled() {
-		return DEBUG;
+		return enabled >= DEBUG && isEnabled(LogLevel.DEBUG);
 	}
 
-	private final void __debug(final String msg, final Throwable t) {
+	private static final void __debug(final String tag, final String msg, final Throwable t) {
 		if (t == null) {
 			Log.d(tag, msg);
 		} else {
@@ -303,83 +768,132 @@ final class LogAdapter implements Logger {
 		}
 	}
 
-	private final void __debugFormat(final String format, final Object... arguments) {
-		final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		__debug(rewriteMsg(ft.getMessage(), FORMAT_FRAMES), ft.getThrowable());
+	private static final void __debug(final State state, final String msg, final Throwable t) {
+		if (state != null) {
+			__debug(state.tag, state.rewriter.rewrite("", msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	private static final void __debugFormat(final State state, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__debug(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __debugFormat(final State state, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__debug(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __debugFormat(final State state, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__debug(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __debugContext(final State state, final String context, final String msg, final Throwable t) {
+		if (state != null) {
+			__debug(state.tag, state.rewriter.rewrite(context, msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	static final void __debugContextFormat(final State state, final String context, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__debug(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __debugContextFormat(final State state, final String context, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__debug(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __debugContextFormat(final State state, final String context, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__debug(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
 	}
 
 	@Override
 	public final void debug(final String msg) {
-		if (DEBUG) {
-			Log.d(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= DEBUG) {
+			__debug(allowed(LogLevel.DEBUG), msg, null);
 		}
 	}
 
 	@Override
 	public final void debug(final String format, final Object arg) {
-		if (DEBUG) {
-			__debugFormat(format, arg);
+		if (enabled >= DEBUG) {
+			__debugFormat(allowed(LogLevel.DEBUG), format, arg);
 		}
 	}
 
 	@Override
 	public final void debug(final String format, final Object arg1, final Object arg2) {
-		if (DEBUG) {
-			__debugFormat(format, arg1, arg2);
+		if (enabled >= DEBUG) {
+			__debugFormat(allowed(LogLevel.DEBUG), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void debug(final String format, final Object... arguments) {
-		if (DEBUG) {
-			__debugFormat(format, arguments);
+		if (enabled >= DEBUG) {
+			__debugFormat(allowed(LogLevel.DEBUG), format, arguments);
 		}
 	}
 
 	@Override
 	public final void debug(final String msg, final Throwable t) {
-		if (DEBUG) {
-			__debug(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= DEBUG) {
+			__debug(allowed(LogLevel.DEBUG), msg, t);
 		}
 	}
 
 	@Override
 	public final boolean isDebugEnabled(final Marker marker) {
-		return DEBUG;
+		return (enabled >= DEBUG || state.markers != null) && isEnabled(marker, DEBUG, LogLevel.DEBUG);
 	}
 
 	@Override
 	public final void debug(final Marker marker, final String msg) {
-		if (DEBUG) {
-			Log.d(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= DEBUG || state.markers != null) {
+			__debug(allowed(marker, DEBUG, LogLevel.DEBUG), msg, null);
 		}
 	}
 
 	@Override
 	public final void debug(final Marker marker, final String format, final Object arg) {
-		if (DEBUG) {
-			__debugFormat(format, arg);
+		if (enabled >= DEBUG || state.markers != null) {
+			__debugFormat(allowed(marker, DEBUG, LogLevel.DEBUG), format, arg);
 		}
 	}
 
 	@Override
 	public final void debug(final Marker marker, final String format, final Object arg1, final Object arg2) {
-		if (DEBUG) {
-			__debugFormat(format, arg1, arg2);
+		if (enabled >= DEBUG || state.markers != null) {
+			__debugFormat(allowed(marker, DEBUG, LogLevel.DEBUG), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void debug(final Marker marker, final String format, final Object... argArray) {
-		if (DEBUG) {
-			__debugFormat(format, argArray);
+		if (enabled >= DEBUG || state.markers != null) {
+			__debugFormat(allowed(marker, DEBUG, LogLevel.DEBUG), format, argArray);
 		}
 	}
 
 	@Override
 	public final void debug(final Marker marker, final String msg, final Throwable t) {
-		if (DEBUG) {
-			__debug(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= DEBUG || state.markers != null) {
+			__debug(allowed(marker, DEBUG, LogLevel.DEBUG), msg, t);
 		}
 	}
 
@@ -387,10 +901,10 @@ final class LogAdapter implements Logger {
 
 	@Override
 	public final boolean isInfoEnabled() {
-		return INFO;
+		return enabled >= INFO && isEnabled(LogLevel.INFO);
 	}
 
-	private final void __info(final String msg, final Throwable t) {
+	private static final void __info(final String tag, final String msg, final Throwable t) {
 		if (t == null) {
 			Log.i(tag, msg);
 		} else {
@@ -398,83 +912,132 @@ final class LogAdapter implements Logger {
 		}
 	}
 
-	private final void __infoFormat(final String format, final Object... arguments) {
-		final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		__info(rewriteMsg(ft.getMessage(), FORMAT_FRAMES), ft.getThrowable());
+	private static final void __info(final State state, final String msg, final Throwable t) {
+		if (state != null) {
+			__info(state.tag, state.rewriter.rewrite("", msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	private static final void __infoFormat(final State state, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__info(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __infoFormat(final State state, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__info(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __infoFormat(final State state, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__info(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __infoContext(final State state, final String context, final String msg, final Throwable t) {
+		if (state != null) {
+			__info(state.tag, state.rewriter.rewrite(context, msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	static final void __infoContextFormat(final State state, final String context, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__info(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __infoContextFormat(final State state, final String context, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__info(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __infoContextFormat(final State state, final String context, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__info(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
 	}
 
 	@Override
 	public final void info(final String msg) {
-		if (INFO) {
-			Log.i(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= INFO) {
+			__info(allowed(LogLevel.INFO), msg, null);
 		}
 	}
 
 	@Override
 	public final void info(final String format, final Object arg) {
-		if (INFO) {
-			__infoFormat(format, arg);
+		if (enabled >= INFO) {
+			__infoFormat(allowed(LogLevel.INFO), format, arg);
 		}
 	}
 
 	@Override
 	public final void info(final String format, final Object arg1, final Object arg2) {
-		if (INFO) {
-			__infoFormat(format, arg1, arg2);
+		if (enabled >= INFO) {
+			__infoFormat(allowed(LogLevel.INFO), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void info(final String format, final Object... arguments) {
-		if (INFO) {
-			__infoFormat(format, arguments);
+		if (enabled >= INFO) {
+			__infoFormat(allowed(LogLevel.INFO), format, arguments);
 		}
 	}
 
 	@Override
 	public final void info(final String msg, final Throwable t) {
-		if (INFO) {
-			__info(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= INFO) {
+			__info(allowed(LogLevel.INFO), msg, t);
 		}
 	}
 
 	@Override
 	public final boolean isInfoEnabled(final Marker marker) {
-		return INFO;
+		return (enabled >= INFO || state.markers != null) && isEnabled(marker, INFO, LogLevel.INFO);
 	}
 
 	@Override
 	public final void info(final Marker marker, final String msg) {
-		if (INFO) {
-			Log.i(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= INFO || state.markers != null) {
+			__info(allowed(marker, INFO, LogLevel.INFO), msg, null);
 		}
 	}
 
 	@Override
 	public final void info(final Marker marker, final String format, final Object arg) {
-		if (INFO) {
-			__infoFormat(format, arg);
+		if (enabled >= INFO || state.markers != null) {
+			__infoFormat(allowed(marker, INFO, LogLevel.INFO), format, arg);
 		}
 	}
 
 	@Override
 	public final void info(final Marker marker, final String format, final Object arg1, final Object arg2) {
-		if (INFO) {
-			__infoFormat(format, arg1, arg2);
+		if (enabled >= INFO || state.markers != null) {
+			__infoFormat(allowed(marker, INFO, LogLevel.INFO), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void info(final Marker marker, final String format, final Object... argArray) {
-		if (INFO) {
-			__infoFormat(format, argArray);
+		if (enabled >= INFO || state.markers != null) {
+			__infoFormat(allowed(marker, INFO, LogLevel.INFO), format, argArray);
 		}
 	}
 
 	@Override
 	public final void info(final Marker marker, final String msg, final Throwable t) {
-		if (INFO) {
-			__info(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= INFO || state.markers != null) {
+			__info(allowed(marker, INFO, LogLevel.INFO), msg, t);
 		}
 	}
 
@@ -482,10 +1045,10 @@ final class LogAdapter implements Logger {
 
 	@Override
 	public final boolean isWarnEnabled() {
-		return WARN;
+		return enabled >= WARN && isEnabled(LogLevel.WARN);
 	}
 
-	private final void __warn(final String msg, final Throwable t) {
+	private static final void __warn(final String tag, final String msg, final Throwable t) {
 		if (t == null) {
 			Log.w(tag, msg);
 		} else {
@@ -493,83 +1056,132 @@ final class LogAdapter implements Logger {
 		}
 	}
 
-	private final void __warnFormat(final String format, final Object... arguments) {
-		final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		__warn(rewriteMsg(ft.getMessage(), FORMAT_FRAMES), ft.getThrowable());
+	private static final void __warn(final State state, final String msg, final Throwable t) {
+		if (state != null) {
+			__warn(state.tag, state.rewriter.rewrite("", msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	private static final void __warnFormat(final State state, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__warn(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __warnFormat(final State state, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__warn(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __warnFormat(final State state, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__warn(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __warnContext(final State state, final String context, final String msg, final Throwable t) {
+		if (state != null) {
+			__warn(state.tag, state.rewriter.rewrite(context, msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	static final void __warnContextFormat(final State state, final String context, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__warn(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __warnContextFormat(final State state, final String context, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__warn(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __warnContextFormat(final State state, final String context, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__warn(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
 	}
 
 	@Override
 	public final void warn(final String msg) {
-		if (WARN) {
-			Log.w(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= WARN) {
+			__warn(allowed(LogLevel.WARN), msg, null);
 		}
 	}
 
 	@Override
 	public final void warn(final String format, final Object arg) {
-		if (WARN) {
-			__warnFormat(format, arg);
+		if (enabled >= WARN) {
+			__warnFormat(allowed(LogLevel.WARN), format, arg);
 		}
 	}
 
 	@Override
 	public final void warn(final String format, final Object arg1, final Object arg2) {
-		if (WARN) {
-			__warnFormat(format, arg1, arg2);
+		if (enabled >= WARN) {
+			__warnFormat(allowed(LogLevel.WARN), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void warn(final String format, final Object... arguments) {
-		if (WARN) {
-			__warnFormat(format, arguments);
+		if (enabled >= WARN) {
+			__warnFormat(allowed(LogLevel.WARN), format, arguments);
 		}
 	}
 
 	@Override
 	public final void warn(final String msg, final Throwable t) {
-		if (WARN) {
-			__warn(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= WARN) {
+			__warn(allowed(LogLevel.WARN), msg, t);
 		}
 	}
 
 	@Override
 	public final boolean isWarnEnabled(final Marker marker) {
-		return WARN;
+		return (enabled >= WARN || state.markers != null) && isEnabled(marker, WARN, LogLevel.WARN);
 	}
 
 	@Override
 	public final void warn(final Marker marker, final String msg) {
-		if (WARN) {
-			Log.w(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= WARN || state.markers != null) {
+			__warn(allowed(marker, WARN, LogLevel.WARN), msg, null);
 		}
 	}
 
 	@Override
 	public final void warn(final Marker marker, final String format, final Object arg) {
-		if (WARN) {
-			__warnFormat(format, arg);
+		if (enabled >= WARN || state.markers != null) {
+			__warnFormat(allowed(marker, WARN, LogLevel.WARN), format, arg);
 		}
 	}
 
 	@Override
 	public final void warn(final Marker marker, final String format, final Object arg1, final Object arg2) {
-		if (WARN) {
-			__warnFormat(format, arg1, arg2);
+		if (enabled >= WARN || state.markers != null) {
+			__warnFormat(allowed(marker, WARN, LogLevel.WARN), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void warn(final Marker marker, final String format, final Object... argArray) {
-		if (WARN) {
-			__warnFormat(format, argArray);
+		if (enabled >= WARN || state.markers != null) {
+			__warnFormat(allowed(marker, WARN, LogLevel.WARN), format, argArray);
 		}
 	}
 
 	@Override
 	public final void warn(final Marker marker, final String msg, final Throwable t) {
-		if (WARN) {
-			__warn(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= WARN || state.markers != null) {
+			__warn(allowed(marker, WARN, LogLevel.WARN), msg, t);
 		}
 	}
 
@@ -577,10 +1189,10 @@ final class LogAdapter implements Logger {
 
 	@Override
 	public final boolean isErrorEnabled() {
-		return ERROR;
+		return enabled >= ERROR && isEnabled(LogLevel.ERROR);
 	}
 
-	private final void __error(final String msg, final Throwable t) {
+	private static final void __error(final String tag, final String msg, final Throwable t) {
 		if (t == null) {
 			Log.e(tag, msg);
 		} else {
@@ -588,83 +1200,132 @@ final class LogAdapter implements Logger {
 		}
 	}
 
-	private final void __errorFormat(final String format, final Object... arguments) {
-		final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
-		__error(rewriteMsg(ft.getMessage(), FORMAT_FRAMES), ft.getThrowable());
+	private static final void __error(final State state, final String msg, final Throwable t) {
+		if (state != null) {
+			__error(state.tag, state.rewriter.rewrite("", msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	private static final void __errorFormat(final State state, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__error(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __errorFormat(final State state, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__error(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	private static final void __errorFormat(final State state, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__error(state.tag, state.rewriter.rewrite("", ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __errorContext(final State state, final String context, final String msg, final Throwable t) {
+		if (state != null) {
+			__error(state.tag, state.rewriter.rewrite(context, msg, REWRITE_FRAMES), t);
+		}
+	}
+
+	static final void __errorContextFormat(final State state, final String context, final String format, final Object arg) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg);
+			__error(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __errorContextFormat(final State state, final String context, final String format, final Object arg1, final Object arg2) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.format(format, arg1, arg2);
+			__error(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
+	}
+
+	static final void __errorContextFormat(final State state, final String context, final String format, final Object[] arguments) {
+		if (state != null) {
+			final FormattingTuple ft = MessageFormatter.arrayFormat(format, arguments);
+			__error(state.tag, state.rewriter.rewrite(context, ft.getMessage(), REWRITE_FRAMES), ft.getThrowable());
+		}
 	}
 
 	@Override
 	public final void error(final String msg) {
-		if (ERROR) {
-			Log.e(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= ERROR) {
+			__error(allowed(LogLevel.ERROR), msg, null);
 		}
 	}
 
 	@Override
 	public final void error(final String format, final Object arg) {
-		if (ERROR) {
-			__errorFormat(format, arg);
+		if (enabled >= ERROR) {
+			__errorFormat(allowed(LogLevel.ERROR), format, arg);
 		}
 	}
 
 	@Override
 	public final void error(final String format, final Object arg1, final Object arg2) {
-		if (ERROR) {
-			__errorFormat(format, arg1, arg2);
+		if (enabled >= ERROR) {
+			__errorFormat(allowed(LogLevel.ERROR), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void error(final String format, final Object... arguments) {
-		if (ERROR) {
-			__errorFormat(format, arguments);
+		if (enabled >= ERROR) {
+			__errorFormat(allowed(LogLevel.ERROR), format, arguments);
 		}
 	}
 
 	@Override
 	public final void error(final String msg, final Throwable t) {
-		if (ERROR) {
-			__error(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= ERROR) {
+			__error(allowed(LogLevel.ERROR), msg, t);
 		}
 	}
 
 	@Override
 	public final boolean isErrorEnabled(final Marker marker) {
-		return ERROR;
+		return (enabled >= ERROR || state.markers != null) && isEnabled(marker, ERROR, LogLevel.ERROR);
 	}
 
 	@Override
 	public final void error(final Marker marker, final String msg) {
-		if (ERROR) {
-			Log.e(tag, rewriteMsg(msg, DIRECT_FRAMES));
+		if (enabled >= ERROR || state.markers != null) {
+			__error(allowed(marker, ERROR, LogLevel.ERROR), msg, null);
 		}
 	}
 
 	@Override
 	public final void error(final Marker marker, final String format, final Object arg) {
-		if (ERROR) {
-			__errorFormat(format, arg);
+		if (enabled >= ERROR || state.markers != null) {
+			__errorFormat(allowed(marker, ERROR, LogLevel.ERROR), format, arg);
 		}
 	}
 
 	@Override
 	public final void error(final Marker marker, final String format, final Object arg1, final Object arg2) {
-		if (ERROR) {
-			__errorFormat(format, arg1, arg2);
+		if (enabled >= ERROR || state.markers != null) {
+			__errorFormat(allowed(marker, ERROR, LogLevel.ERROR), format, arg1, arg2);
 		}
 	}
 
 	@Override
 	public final void error(final Marker marker, final String format, final Object... argArray) {
-		if (ERROR) {
-			__errorFormat(format, argArray);
+		if (enabled >= ERROR || state.markers != null) {
+			__errorFormat(allowed(marker, ERROR, LogLevel.ERROR), format, argArray);
 		}
 	}
 
 	@Override
 	public final void error(final Marker marker, final String msg, final Throwable t) {
-		if (ERROR) {
-			__error(rewriteMsg(msg, DIRECT_FRAMES), t);
+		if (enabled >= ERROR || state.markers != null) {
+			__error(allowed(marker, ERROR, LogLevel.ERROR), msg, t);
 		}
 	}
 }
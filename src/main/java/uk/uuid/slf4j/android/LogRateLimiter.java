@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.util.Log;
+
+/**
+ * Sheds log messages from a logger when it exceeds a maximum number of messages per second.
+ *
+ * <p>
+ * Messages are counted in per-thread stripes so that concurrent loggers do not contend on a single counter. When the limit
+ * is exceeded, a single notice is logged and only messages at {@link #SHED_LEVEL} are allowed until there has been a
+ * complete one second window where the limit was not exceeded. Messages that are shed are still counted.
+ *
+ * <p>
+ * While shedding, checking if a level below {@link #SHED_LEVEL} is enabled returns {@code false} so that callers don't
+ * prepare messages that would be shed. These checks are counted instead of the messages that they prevent, so that
+ * shedding continues while a caller that checks the level first keeps exceeding the limit.
+ *
+ * @author Simon Arlott
+ */
+final class LogRateLimiter {
+	/** Source of the current time, in nanoseconds. */
+	interface Ticker {
+		long nanoTime();
+	}
+
+	static final Ticker SYSTEM_TICKER = new Ticker() {
+		@Override
+		public long nanoTime() {
+			return System.nanoTime();
+		}
+	};
+
+	/** Level of messages that are still allowed while shedding. */
+	static final LogLevel SHED_LEVEL = LogLevel.ERROR;
+
+	static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+	private static final int STRIPES = 4;
+	/* Keep each stripe on its own cache line */
+	private static final int PADDING = 16;
+
+	private final String tag;
+	private final int limit;
+	private final int stripeLimit;
+	private final Ticker ticker;
+	private final AtomicIntegerArray counts = new AtomicIntegerArray(STRIPES * PADDING);
+	private final AtomicLong windowStart;
+	private final AtomicBoolean shedding = new AtomicBoolean();
+
+	LogRateLimiter(final String tag, final int limit, final Ticker ticker) {
+		this.tag = tag;
+		this.limit = limit;
+		this.stripeLimit = limit / STRIPES;
+		this.ticker = ticker;
+		this.windowStart = new AtomicLong(ticker.nanoTime());
+	}
+
+	final boolean isShedding() {
+		return shedding.get();
+	}
+
+	/**
+	 * Count a message at the given level and return {@code true} if it should be logged.
+	 */
+	final boolean allow(final LogLevel level) {
+		checkWindow();
+
+		final int count = count();
+		if (count > stripeLimit && !shedding.get()) {
+			final int total = sum();
+			if (total > limit) {
+				startShedding(total);
+			}
+		}
+
+		return !shedding.get() || level.compareTo(SHED_LEVEL) <= 0;
+	}
+
+	/**
+	 * Returns {@code true} if a message at the given level would not be shed. The check is only counted if the message
+	 * would be shed, because otherwise the message is counted when it is logged.
+	 */
+	final boolean isAllowed(final LogLevel level) {
+		if (level.compareTo(SHED_LEVEL) <= 0 || !shedding.get()) {
+			return true;
+		}
+
+		checkWindow();
+		if (!shedding.get()) {
+			return true;
+		}
+
+		count();
+		return false;
+	}
+
+	private final int count() {
+		return counts.incrementAndGet(((int)Thread.currentThread().getId() & (STRIPES - 1)) * PADDING);
+	}
+
+	private final void checkWindow() {
+		final long now = ticker.nanoTime();
+		final long start = windowStart.get();
+
+		if (now - start >= WINDOW && windowStart.compareAndSet(start, now)) {
+			/* If a whole window has passed without any messages then the rate has already fallen */
+			endWindow(now - start < WINDOW * 2);
+		}
+	}
+
+	private final int sum() {
+		int total = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			total += counts.get(i * PADDING);
+		}
+		return total;
+	}
+
+	private final void endWindow(final boolean check) {
+		int total = 0;
+		for (int i = 0; i < STRIPES; i++) {
+			total += counts.getAndSet(i * PADDING, 0);
+		}
+
+		if (check && total > limit) {
+			startShedding(total);
+		} else {
+			shedding.set(false);
+		}
+	}
+
+	private final void startShedding(final int count) {
+		if (shedding.compareAndSet(false, true)) {
+			Log.w(tag, "Logging rate limit of " + limit + "/s exceeded (" + count + " messages), suppressing messages below " + SHED_LEVEL);
+		}
+	}
+}
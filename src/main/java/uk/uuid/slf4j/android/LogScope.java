@@ -0,0 +1,195 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Escalates the log level of the current thread until it is closed, see {@link LoggerFactory#escalate(LogLevel)}.
+ *
+ * <p>
+ * While no scope is open anywhere, loggers use only their configured level and checking if a level is enabled is a single field read.
+ * Opening the first scope raises the level flags of every logger created by a {@link LoggerFactory} to the highest escalated level,
+ * so that messages which would otherwise be suppressed reach a slower check of the current thread's scope. Closing the last scope
+ * restores the configured level flags.
+ *
+ * <p>
+ * Opening the first scope, closing the last scope and changing the highest escalated level each write the level flags of every
+ * logger while holding a global lock, so they cost time in proportion to the number of loggers. Other scopes don't visit any
+ * loggers. Suppressed loggers with deferred settings only create their full settings if they log a message while a thread is
+ * escalated.
+ *
+ * <p>
+ * Scopes should be closed by the thread that opened them, in the reverse order that they were opened. A scope that is closed by
+ * another thread or out of order stops escalating immediately, and it is removed from the thread that opened it the next time
+ * that thread opens or closes a scope.
+ *
+ * @author Simon Arlott
+ */
+public final class LogScope implements Closeable {
+	private static final ThreadLocal<LogScope> CURRENT = new ThreadLocal<LogScope>();
+	private static final Object LOCK = new Object();
+	private static final int[] ACTIVE = new int[LogLevel.values().length];
+	private static final Map<LoggerFactory, Boolean> FACTORIES = new WeakHashMap<LoggerFactory, Boolean>();
+	private static volatile LogLevel escalation;
+
+	private final LogScope previous;
+	private final LogLevel level;
+	private volatile boolean closed;
+
+	private LogScope(final LogScope previous, final LogLevel level) {
+		this.previous = previous;
+		this.level = level;
+	}
+
+	static final LogScope open(final LogLevel level) {
+		if (level == null || level == LogLevel.NATIVE || level == LogLevel.SUPPRESS) {
+			throw new IllegalArgumentException("Invalid log level " + level);
+		}
+
+		final LogScope previous = CURRENT.get();
+		final LogScope scope = new LogScope(previous, previous != null && previous.level.compareTo(level) > 0 ? previous.level : level);
+		CURRENT.set(scope);
+
+		synchronized (LOCK) {
+			ACTIVE[scope.level.ordinal()]++;
+			update();
+		}
+		return scope;
+	}
+
+	/**
+	 * Returns the level that the current thread has been escalated to.
+	 */
+	public final LogLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * Restores the previous log level of the current thread.
+	 */
+	@Override
+	public final void close() {
+		synchronized (LOCK) {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			ACTIVE[level.ordinal()]--;
+			update();
+		}
+
+		if (CURRENT.get() == this) {
+			LogScope scope = previous;
+			while (scope != null && scope.closed) {
+				scope = scope.previous;
+			}
+
+			if (scope == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(scope);
+			}
+		}
+	}
+
+	/**
+	 * Update the highest escalated level and apply it to all loggers if it has changed.
+	 */
+	private static final void update() {
+		LogLevel highest = null;
+		for (int i = LogLevel.VERBOSE.ordinal(); i > LogLevel.SUPPRESS.ordinal(); i--) {
+			if (ACTIVE[i] > 0) {
+				highest = LogLevel.values()[i];
+				break;
+			}
+		}
+
+		if (highest != escalation) {
+			escalation = highest;
+
+			for (final LoggerFactory factory : FACTORIES.keySet()) {
+				factory.applyEscalation(highest);
+			}
+		}
+	}
+
+	/**
+	 * Returns {@code true} if any thread has escalated its log level.
+	 */
+	static final boolean isActive() {
+		return escalation != null;
+	}
+
+	/**
+	 * Returns {@code true} if the current thread has escalated its log level to at least the given level.
+	 */
+	static final boolean isEnabled(final LogLevel required) {
+		LogScope scope = CURRENT.get();
+		/* A scope closed by another thread is still current until this thread opens or closes a scope */
+		while (scope != null && scope.closed) {
+			scope = scope.previous;
+		}
+		return scope != null && scope.level.ordinal() >= required.ordinal();
+	}
+
+	/**
+	 * Register a factory so that its loggers are escalated.
+	 */
+	static final void register(final LoggerFactory factory) {
+		synchronized (LOCK) {
+			FACTORIES.put(factory, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Reconfigure a logger, keeping the current escalation.
+	 */
+	static final void reconfigure(final LogAdapter logger, final LoggerConfig config) {
+		synchronized (LOCK) {
+			logger.reconfigure(config, escalation);
+		}
+	}
+
+	/**
+	 * Apply the current escalation to a new logger, or a logger that has just resolved its level.
+	 */
+	static final void apply(final LogAdapter logger) {
+		synchronized (LOCK) {
+			logger.escalate(escalation);
+		}
+	}
+
+	/**
+	 * Replace the deferred settings of a logger if they're needed for a message with a configured marker or by the current
+	 * escalation, keeping the current escalation.
+	 */
+	static final void undefer(final LogAdapter logger, final boolean marker) {
+		synchronized (LOCK) {
+			logger.undefer(escalation, marker);
+		}
+	}
+}
@@ -29,12 +29,18 @@ final class LoggerConfig {
 		DEFAULT.level = LogLevel.NATIVE;
 		DEFAULT.showName = ShowName.FALSE;
 		DEFAULT.showThread = false;
+		DEFAULT.showMdc = "";
+		DEFAULT.rateLimit = 0;
 	}
 
 	String tag;
 	LogLevel level;
 	ShowName showName;
 	Boolean showThread;
+	/* Comma-separated MDC keys */
+	String showMdc;
+	Integer rateLimit;
+	MarkerMap markers;
 
 	LoggerConfig() {
 	}
@@ -56,7 +62,8 @@ final class LoggerConfig {
 	}
 
 	final boolean isComplete() {
-		return (tag != null) && (level != null) && (showName != null) && (showThread != null);
+		return (tag != null) && (level != null) && (showName != null) && (showThread != null) && (showMdc != null)
+				&& (rateLimit != null);
 	}
 
 	final boolean merge(LoggerConfig config) {
@@ -85,7 +92,49 @@ final class LoggerConfig {
 				complete = false;
 			}
 
+			if (showMdc == null) {
+				showMdc = config.showMdc;
+				complete = false;
+			}
+
+			if (rateLimit == null) {
+				rateLimit = config.rateLimit;
+				complete = false;
+			}
+
+			if (markers == null) {
+				markers = config.markers;
+			}
+
 			return complete;
 		}
 	}
+
+	@Override
+	public final boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof LoggerConfig)) {
+			return false;
+		}
+
+		final LoggerConfig other = (LoggerConfig)obj;
+		return equals(tag, other.tag) && level == other.level && showName == other.showName && equals(showThread, other.showThread)
+				&& equals(showMdc, other.showMdc) && equals(rateLimit, other.rateLimit) && equals(markers, other.markers);
+	}
+
+	@Override
+	public final int hashCode() {
+		int hash = tag == null ? 0 : tag.hashCode();
+		hash = 31 * hash + (level == null ? 0 : level.hashCode());
+		hash = 31 * hash + (showName == null ? 0 : showName.hashCode());
+		hash = 31 * hash + (showThread == null ? 0 : showThread.hashCode());
+		hash = 31 * hash + (showMdc == null ? 0 : showMdc.hashCode());
+		hash = 31 * hash + (rateLimit == null ? 0 : rateLimit.hashCode());
+		return 31 * hash + (markers == null ? 0 : markers.hashCode());
+	}
+
+	private static final boolean equals(final Object a, final Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
 }
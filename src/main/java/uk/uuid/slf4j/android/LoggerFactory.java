@@ -23,8 +23,12 @@
  */
 package uk.uuid.slf4j.android;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.ILoggerFactory;
@@ -34,47 +38,344 @@ import org.slf4j.Logger;
  * AndroidLoggerFactory is an implementation of {@link ILoggerFactory} returning
  * the appropriate named {@link LogAdapter} instance.
  * 
+ * <p>
+ * Creating the factory does not load the config or access the Android logging system, so that it can be done during
+ * application startup. The config is loaded by the first call to {@link #getLogger(String)}, or in the background by
+ * {@link #prewarm()}.
+ * 
+ * <p>
+ * While the config is loading in the background, {@link #getLogger(String)} does not wait for it. Loggers created
+ * during that time use the default config (with the native log level) until the config has loaded, when they are
+ * reconfigured in place.
+ * 
  * @author Simon Arlott
  */
 public final class LoggerFactory implements ILoggerFactory {
-	private static final Logger LOG;
-	private static final boolean TRACE;
+	/**
+	 * Logger for this implementation, created the first time it is used.
+	 */
+	private static final class Self {
+		static final Logger LOG;
+		static final boolean TRACE;
+		static {
+			LoggerConfig config = new LoggerConfig("slf4j-android");
+			config.showThread = true;
+			config.merge(LoggerConfig.DEFAULT);
+			LOG = new LogAdapter("uk.uuid.slf4j.android", config);
+			TRACE = LOG.isTraceEnabled();
+		}
+
+		private Self() {
+		}
+	}
+
+	/**
+	 * System property that starts loading the config in the background when the binding is initialised.
+	 */
+	public static final String BACKGROUND_LOAD_PROPERTY = "uk.uuid.slf4j.android.backgroundLoad";
+
+	/**
+	 * System property that makes the binding's factory only hold loggers while they are referenced elsewhere.
+	 */
+	public static final String WEAK_LOGGERS_PROPERTY = "uk.uuid.slf4j.android.weakLoggers";
+
+	/* Used by loggers created while the config is loading in the background */
+	private static final LoggerConfig PROVISIONAL_CONFIG = new LoggerConfig();
 	static {
-		LoggerConfig config = new LoggerConfig("slf4j-android");
-		config.showThread = true;
-		config.merge(LoggerConfig.DEFAULT);
-		LOG = new LogAdapter("uk.uuid.slf4j.android", config);
-		TRACE = LOG.isTraceEnabled();
+		PROVISIONAL_CONFIG.merge(LoggerConfig.DEFAULT);
+	}
+
+	private final LoggerRegistry registry;
+	private final LogAdapter.StateTable states = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+	private volatile LoggingConfig loggingConfig;
+	private volatile boolean loading;
+	private Timer watcher;
+
+	public LoggerFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a factory that holds its loggers with either strong or weak references.
+	 * 
+	 * <p>
+	 * With weak references, loggers that are no longer referenced elsewhere (e.g. loggers with names generated for
+	 * each instance of a class) can be reclaimed. A logger that is still referenced (e.g. from a static field) is always
+	 * returned again for the same name.
+	 * 
+	 * @param weak {@code true} to hold loggers with weak references
+	 */
+	public LoggerFactory(final boolean weak) {
+		registry = LoggerRegistry.create(weak);
+		LogScope.register(this);
+	}
+
+	/**
+	 * Returns the config, loading it if this is the first time it has been used.
+	 */
+	private final LoggingConfig loggingConfig() {
+		LoggingConfig config = loggingConfig;
+
+		if (config == null) {
+			synchronized (this) {
+				config = loggingConfig;
+
+				if (config == null) {
+					config = new LoggingConfig(LoggingConfig.DEFAULT_FILENAME, Self.LOG);
+					loggingConfig = config;
+				}
+			}
+		}
+		return config;
+	}
+
+	/**
+	 * Returns {@code true} if the config has been loaded.
+	 */
+	final boolean isConfigLoaded() {
+		return loggingConfig != null;
+	}
+
+	/**
+	 * Load the config on a background thread, so that it is not loaded by the first call to {@link #getLogger(String)}.
+	 * 
+	 * <p>
+	 * This can be called during application startup to avoid loading the config on the main thread. Loggers created
+	 * before the config has loaded use the default config until it has loaded.
+	 */
+	public final void prewarm() {
+		prewarm(Collections.<String>emptyList());
+	}
+
+	/**
+	 * Load the config and create loggers on a background thread, so that the first call to {@link #getLogger(String)}
+	 * for each of the names only needs to find the existing logger.
+	 * 
+	 * <p>
+	 * The loggers are created after the config has loaded, and the Android log level of their tags is checked after
+	 * all of them have been created. If the factory holds its loggers with weak references then the loggers can be
+	 * reclaimed before they are used.
+	 * 
+	 * @param names the names of the loggers to create
+	 */
+	public final void prewarm(final Collection<String> names) {
+		final String[] sorted = new TreeSet<String>(names).toArray(new String[0]);
+		final boolean load;
+
+		synchronized (this) {
+			load = loggingConfig == null && !loading;
+			if (load) {
+				loading = true;
+			} else if (sorted.length == 0) {
+				return;
+			}
+		}
+
+		final Thread thread = new Thread("slf4j-android prewarm") {
+			@Override
+			public void run() {
+				if (load) {
+					loadInBackground();
+				}
+
+				createLoggers(sorted);
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private final void loadInBackground() {
+		try {
+			loggingConfig();
+		} finally {
+			loading = false;
+		}
+
+		/* Upgrade loggers created with the provisional config */
+		reconfigure();
+	}
+
+	private final void createLoggers(final String[] names) {
+		if (names.length == 0) {
+			return;
+		}
+
+		final long start = Self.TRACE ? System.nanoTime() : 0;
+
+		/* Wait for the config if it is being loaded by another thread */
+		loggingConfig();
+
+		final LogAdapter[] loggers = new LogAdapter[names.length];
+		for (int i = 0; i < names.length; i++) {
+			loggers[i] = (LogAdapter)getLogger(names[i]);
+		}
+
+		for (final LogAdapter logger : loggers) {
+			logger.resolveLevel();
+		}
+
+		if (Self.TRACE) {
+			final long stop = System.nanoTime();
+			Self.LOG.trace("Prewarmed {} loggers in {}µs", loggers.length, TimeUnit.NANOSECONDS.toMicros(stop - start));
+		}
+	}
+
+	/**
+	 * Escalate the log level of the current thread until the returned scope is closed.
+	 * 
+	 * <p>
+	 * Messages logged by the current thread at or above the given level will be logged even if the logger has a lower level.
+	 * The level of other threads is not affected.
+	 * 
+	 * @param level the minimum log level for the current thread (must not be {@link LogLevel#NATIVE} or {@link LogLevel#SUPPRESS})
+	 * @return a scope that should be closed by the current thread to restore the previous log level
+	 */
+	public static final LogScope escalate(final LogLevel level) {
+		return LogScope.open(level);
+	}
+
+	/**
+	 * Raise the level flags of all loggers to the given escalated level, or restore them if it is {@code null}.
+	 */
+	final void applyEscalation(final LogLevel escalation) {
+		for (final LogAdapter logger : registry.values()) {
+			logger.escalate(escalation);
+		}
+	}
+
+	/**
+	 * Load additional configuration from a file (e.g. in the application's files directory), overriding the bundled
+	 * configuration, and check it for changes periodically.
+	 * 
+	 * <p>
+	 * When the file changes, only loggers with a different configuration are updated. Logging is never blocked
+	 * while the file is loaded.
+	 * 
+	 * @param file the configuration file, which does not need to exist yet, or {@code null} to only use the bundled configuration
+	 * @param period how often to check the file for changes, or 0 to only check it when {@link #reloadConfig()} is called
+	 * @param unit the time unit of the period
+	 */
+	public final synchronized void watchConfig(final File file, final long period, final TimeUnit unit) {
+		if (watcher != null) {
+			watcher.cancel();
+			watcher = null;
+		}
+
+		if (loggingConfig().setFile(file)) {
+			reconfigure();
+		}
+
+		if (file != null && period > 0) {
+			final long millis = Math.max(1, unit.toMillis(period));
+			watcher = new Timer("slf4j-android config watcher", true);
+			watcher.schedule(new TimerTask() {
+				@Override
+				public void run() {
+					reloadConfig();
+				}
+			}, millis, millis);
+		}
+	}
+
+	/**
+	 * Reload the configuration file set by {@link #watchConfig(File, long, TimeUnit)} if it has changed.
+	 * 
+	 * @return {@code true} if the configuration has been reloaded
+	 */
+	public final boolean reloadConfig() {
+		final LoggingConfig loggingConfig = this.loggingConfig;
+		if (loggingConfig != null && loggingConfig.reload()) {
+			reconfigure();
+			return true;
+		}
+		return false;
 	}
 
-	private final ConcurrentMap<String, Logger> loggerMap = new ConcurrentHashMap<String, Logger>();
-	private final LoggingConfig loggingConfig = new LoggingConfig(LoggingConfig.DEFAULT_FILENAME, LOG);
+	/**
+	 * Update all loggers with the current config. Loggers with an unchanged config are not modified.
+	 */
+	private final void reconfigure() {
+		final long start = Self.TRACE ? System.nanoTime() : 0;
+		final LoggingConfig loggingConfig = loggingConfig();
+
+		for (final LogAdapter logger : registry.values()) {
+			LogScope.reconfigure(logger, loggingConfig.get(logger.getName()));
+		}
+
+		if (Self.TRACE) {
+			final long stop = System.nanoTime();
+			Self.LOG.trace("Reconfigured {} loggers in {}µs", registry.size(), TimeUnit.NANOSECONDS.toMicros(stop - start));
+		}
+	}
 
 	@Override
 	public final Logger getLogger(final String name) {
-		final long start = TRACE ? System.nanoTime() : 0;
-		final Logger logger = loggerMap.get(name);
+		final long start = Self.TRACE ? System.nanoTime() : 0;
+		final Logger logger = registry.get(name);
 		if (logger != null) {
-			if (TRACE) {
+			if (Self.TRACE) {
 				final long stop = System.nanoTime();
-				LOG.trace("Found logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
+				Self.LOG.trace("Found logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
 			}
 			return logger;
 		} else {
-			final Logger newInstance = new LogAdapter(name, getConfig(name));
-			final Logger oldInstance = loggerMap.putIfAbsent(name, newInstance);
-			if (TRACE) {
+			LoggingConfig loggingConfig = this.loggingConfig;
+			if (loggingConfig == null && !loading) {
+				loggingConfig = loggingConfig();
+			}
+
+			final LoggerConfig config = loggingConfig != null ? getConfig(loggingConfig, name) : PROVISIONAL_CONFIG;
+			final LogAdapter newInstance = new LogAdapter(name, config, states);
+			final Logger oldInstance = registry.putIfAbsent(name, newInstance);
+			if (oldInstance == null) {
+				if (LogScope.isActive()) {
+					LogScope.apply(newInstance);
+				}
+
+				/*
+				 * The config may have been loaded or reloaded before the logger was added, in which case the logger
+				 * may have been missed when the other loggers were reconfigured
+				 */
+				loggingConfig = this.loggingConfig;
+				if (loggingConfig != null) {
+					final LoggerConfig latest = loggingConfig.get(name);
+					if (latest != config) {
+						LogScope.reconfigure(newInstance, latest);
+					}
+				}
+			}
+			if (Self.TRACE) {
 				final long stop = System.nanoTime();
 				if (oldInstance == null) {
-					LOG.trace("Created logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
+					Self.LOG.trace("Created logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
 				} else {
-					LOG.trace("Found existing logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
+					Self.LOG.trace("Found existing logger {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
 				}
 			}
 			return oldInstance == null ? newInstance : oldInstance;
 		}
 	}
 
+	/**
+	 * Returns the number of loggers held by this factory.
+	 * 
+	 * @return the number of loggers
+	 */
+	public final int getLoggerCount() {
+		return registry.size();
+	}
+
+	/**
+	 * Returns the number of loggers that have been reclaimed because they were no longer referenced, which is always 0
+	 * unless the factory holds its loggers with weak references.
+	 * 
+	 * @return the number of reclaimed loggers
+	 */
+	public final long getEvictedLoggerCount() {
+		return registry.evictions();
+	}
+
 	/**
 	 * Maximum length of a tag in the Android logging system.
 	 * 
@@ -136,20 +437,13 @@ public final class LoggerFactory implements ILoggerFactory {
 		return new String(tag, 0, len);
 	}
 
-	private final LoggerConfig getConfig(final String name) {
-		final long start = TRACE ? System.nanoTime() : 0;
+	private static final LoggerConfig getConfig(final LoggingConfig loggingConfig, final String name) {
+		final long start = Self.TRACE ? System.nanoTime() : 0;
 		final LoggerConfig config = loggingConfig.get(name);
 
-		if (config.tag.length() == 0) {
-			config.tag = createTag(name);
-			if (TRACE) {
-				LOG.trace("Created tag {} for {}", config.tag, name);
-			}
-		}
-
-		if (TRACE) {
+		if (Self.TRACE) {
 			final long stop = System.nanoTime();
-			LOG.trace("Retrieved config for {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
+			Self.LOG.trace("Retrieved config for {} in {}µs", name, TimeUnit.NANOSECONDS.toMicros(stop - start));
 		}
 
 		return config;
@@ -0,0 +1,194 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loggers created by a {@link LoggerFactory}, by name.
+ *
+ * <p>
+ * The weak registry only holds loggers while they are referenced elsewhere (e.g. from a static field), so that loggers
+ * with transient names can be reclaimed. A logger that is still referenced is always returned again for the same name.
+ *
+ * @author Simon Arlott
+ */
+abstract class LoggerRegistry {
+	LoggerRegistry() {
+	}
+
+	static final LoggerRegistry create(final boolean weak) {
+		return weak ? new Weak() : new Strong();
+	}
+
+	/**
+	 * Returns the logger with the given name, or {@code null} if there isn't one.
+	 */
+	abstract LogAdapter get(String name);
+
+	/**
+	 * Add a logger if there isn't already one with the same name.
+	 *
+	 * @return the existing logger, or {@code null} if the logger was added
+	 */
+	abstract LogAdapter putIfAbsent(String name, LogAdapter logger);
+
+	/**
+	 * Returns the loggers in the registry.
+	 */
+	abstract Collection<LogAdapter> values();
+
+	/**
+	 * Returns the number of loggers in the registry.
+	 */
+	abstract int size();
+
+	/**
+	 * Returns the number of loggers that have been reclaimed.
+	 */
+	abstract long evictions();
+
+	private static final class Strong extends LoggerRegistry {
+		private final ConcurrentMap<String, LogAdapter> map = new ConcurrentHashMap<String, LogAdapter>();
+
+		Strong() {
+		}
+
+		@Override
+		final LogAdapter get(final String name) {
+			return map.get(name);
+		}
+
+		@Override
+		final LogAdapter putIfAbsent(final String name, final LogAdapter logger) {
+			return map.putIfAbsent(name, logger);
+		}
+
+		@Override
+		final Collection<LogAdapter> values() {
+			return Collections.unmodifiableCollection(map.values());
+		}
+
+		@Override
+		final int size() {
+			return map.size();
+		}
+
+		@Override
+		final long evictions() {
+			return 0;
+		}
+	}
+
+	private static final class Weak extends LoggerRegistry {
+		private final ConcurrentMap<String, Entry> map = new ConcurrentHashMap<String, Entry>();
+		private final ReferenceQueue<LogAdapter> queue = new ReferenceQueue<LogAdapter>();
+		private final AtomicLong evictions = new AtomicLong();
+
+		private static final class Entry extends WeakReference<LogAdapter> {
+			final String name;
+
+			Entry(final String name, final LogAdapter logger, final ReferenceQueue<LogAdapter> queue) {
+				super(logger, queue);
+				this.name = name;
+			}
+		}
+
+		Weak() {
+		}
+
+		@Override
+		final LogAdapter get(final String name) {
+			final Entry entry = map.get(name);
+			return entry != null ? entry.get() : null;
+		}
+
+		@Override
+		final LogAdapter putIfAbsent(final String name, final LogAdapter logger) {
+			expunge();
+
+			final Entry entry = new Entry(name, logger, queue);
+			while (true) {
+				final Entry existing = map.putIfAbsent(name, entry);
+				if (existing == null) {
+					return null;
+				}
+
+				final LogAdapter existingLogger = existing.get();
+				if (existingLogger != null) {
+					return existingLogger;
+				}
+
+				/* The existing logger has been reclaimed but not expunged yet */
+				if (map.replace(name, existing, entry)) {
+					return null;
+				}
+			}
+		}
+
+		@Override
+		final Collection<LogAdapter> values() {
+			final List<LogAdapter> loggers = new ArrayList<LogAdapter>(map.size());
+			for (final Entry entry : map.values()) {
+				final LogAdapter logger = entry.get();
+				if (logger != null) {
+					loggers.add(logger);
+				}
+			}
+			return loggers;
+		}
+
+		@Override
+		final int size() {
+			expunge();
+			return map.size();
+		}
+
+		@Override
+		final long evictions() {
+			expunge();
+			return evictions.get();
+		}
+
+		/**
+		 * Remove the entries of reclaimed loggers.
+		 */
+		private final void expunge() {
+			Reference<? extends LogAdapter> reference;
+			while ((reference = queue.poll()) != null) {
+				final Entry entry = (Entry)reference;
+				map.remove(entry.name, entry);
+				evictions.incrementAndGet();
+			}
+		}
+	}
+}
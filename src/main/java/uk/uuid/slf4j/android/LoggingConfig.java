@@ -1,5 +1,5 @@
 /**
- * Copyright 2013,2018  Simon Arlott
+ * Copyright 2013,2018,2026  Simon Arlott
  *
  * Permission is hereby granted, free  of charge, to any person obtaining
  * a  copy  of this  software  and  associated  documentation files  (the
@@ -22,128 +22,400 @@
  */
 package uk.uuid.slf4j.android;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Enumeration;
 import java.util.Locale;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 
 /**
  * Loads properties from {@code /uk/uuid/slf4j/android/config.properties}
- * or {@code /eu/lp0/slf4j/android/config.properties}.
+ * or {@code /eu/lp0/slf4j/android/config.properties}, unless they have been
+ * compiled into a {@link CompiledConfig} at build time.
+ * 
+ * <p>
+ * Properties from an optional external file override the bundled properties, and system properties prefixed
+ * with {@value #SYSTEM_PROPERTY_PREFIX} override both. All of the sources are merged into a single
+ * {@link CategoryMap} so that resolving a logger does not depend on the number of sources. The file is reloaded
+ * when it has been modified, and the resulting config is published as a new snapshot so that it is never
+ * observed partially applied.
  * 
  * @author Simon Arlott
  */
 final class LoggingConfig {
 	public static final String DEFAULT_FILENAME = "config.properties";
-	private final CategoryMap map = new CategoryMap();
+	public static final String SYSTEM_PROPERTY_PREFIX = "uk.uuid.slf4j.android.config.";
+	private static final Charset CHARSET = Charset.forName("ISO-8859-1");
+	private final Logger log;
+	private final CompiledConfig compiled;
+	private final URL url;
+	private volatile CategoryMap map;
+	private File file;
+	private long fileModified;
+	private long fileLength;
 
 	LoggingConfig(final String configFileName, final Logger log) {
+		this(configFileName, DEFAULT_FILENAME.equals(configFileName) ? CompiledConfig.CLASS_NAME : null, log);
+	}
+
+	/**
+	 * Load the config from a compiled class if it exists, otherwise from a properties file.
+	 */
+	LoggingConfig(final String configFileName, final String compiledClassName, final Logger log) {
 		final long start = log.isTraceEnabled() ? System.nanoTime() : 0;
-		final Properties props = new Properties();
-		URL url = getClass().getResource(configFileName);
+		final CompiledConfig compiled = compiledClassName != null ? findCompiled(compiledClassName, log) : null;
+		URL url = null;
+
+		if (compiled != null) {
+			log.debug("Loading compiled config from {}", compiledClassName);
+		} else {
+			url = getClass().getResource(configFileName);
+
+			if (url == null) {
+				/* Try old package name */
+				url = getClass().getResource("/eu/lp0/slf4j/android/" + configFileName);
+			}
+
+			if (url != null) {
+				log.debug("Loading properties file from {}", url);
+			} else {
+				log.debug("No config file");
+			}
+		}
+
+		this.log = log;
+		this.compiled = compiled;
+		this.url = url;
+		map = load(null);
+
+		if (log.isTraceEnabled()) {
+			final long stop = System.nanoTime();
+			log.trace("Config processing completed in {}µs", TimeUnit.NANOSECONDS.toMicros(stop - start));
+		}
+	}
 
-		if (url == null) {
-			/* Try old package name */
-			url = getClass().getResource("/eu/lp0/slf4j/android/" + configFileName);
+	private static final CompiledConfig findCompiled(final String className, final Logger log) {
+		try {
+			return (CompiledConfig)Class.forName(className).newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (InstantiationException e) {
+			log.error("Error loading compiled config from {}", className, e);
+		} catch (IllegalAccessException e) {
+			log.error("Error loading compiled config from {}", className, e);
+		} catch (ClassCastException e) {
+			log.error("Error loading compiled config from {}", className, e);
 		}
+		return null;
+	}
 
-		if (url != null) {
-			log.debug("Loading properties file from {}", url);
+	/**
+	 * Load each source in order of increasing precedence: the bundled config, the external file (if there is one)
+	 * and then system properties. Returns {@code null} if the file could not be read.
+	 */
+	private final CategoryMap load(final File file) {
+		Builder builder = new Builder(log);
 
+		if (compiled != null) {
+			compiled.load(builder.map, builder.markers);
+		} else if (url != null) {
 			try {
-				props.load(url.openStream());
+				read(new InputStreamReader(url.openStream(), CHARSET), builder);
 			} catch (IOException e) {
 				log.error("Error loading properties file from {}", url, e);
-				props.clear();
+				builder = new Builder(log);
+			}
+		}
+
+		if (file != null) {
+			try {
+				read(new InputStreamReader(new FileInputStream(file), CHARSET), builder);
+			} catch (IOException e) {
+				log.error("Error loading properties file from {}", file, e);
+				return null;
+			}
+		}
+
+		loadSystemProperties(builder);
+		return builder.build();
+	}
+
+	/**
+	 * Apply system properties with the {@value #SYSTEM_PROPERTY_PREFIX} prefix, in name order.
+	 */
+	private final void loadSystemProperties(final Builder builder) {
+		final Properties properties;
+		try {
+			properties = System.getProperties();
+		} catch (SecurityException e) {
+			log.debug("Unable to read system properties", e);
+			return;
+		}
+
+		SortedMap<String, String> matching = null;
+		for (final Enumeration<?> names = properties.propertyNames(); names.hasMoreElements();) {
+			final Object name = names.nextElement();
+
+			if (name instanceof String && ((String)name).startsWith(SYSTEM_PROPERTY_PREFIX)) {
+				final String value = properties.getProperty((String)name);
+
+				if (value != null) {
+					if (matching == null) {
+						matching = new TreeMap<String, String>();
+					}
+					matching.put(((String)name).substring(SYSTEM_PROPERTY_PREFIX.length()), value);
+				}
+			}
+		}
+
+		if (matching != null) {
+			log.debug("Loading {} system properties", matching.size());
+
+			for (final Map.Entry<String, String> property : matching.entrySet()) {
+				builder.property(property.getKey(), property.getValue());
 			}
+		}
+	}
+
+	static final void read(final Reader reader, final Builder builder) throws IOException {
+		final Reader bufferedReader = new BufferedReader(reader);
+		try {
+			PropertiesParser.parse(bufferedReader, builder);
+		} finally {
+			bufferedReader.close();
+		}
+	}
+
+	/**
+	 * Set the external file to load properties from, or {@code null} to only use the bundled properties.
+	 * 
+	 * @return {@code true} if the config has been replaced
+	 */
+	final synchronized boolean setFile(final File file) {
+		this.file = file;
+		fileModified = -1;
+		fileLength = -1;
+
+		if (file == null) {
+			map = load(null);
+			return true;
+		}
+		return reload();
+	}
+
+	/**
+	 * Reload the external file if it has been modified since it was last loaded.
+	 * 
+	 * @return {@code true} if the config has been replaced
+	 */
+	final synchronized boolean reload() {
+		if (file == null) {
+			return false;
+		}
+
+		final long modified = file.lastModified();
+		final long length = file.length();
+		if (modified == fileModified && length == fileLength) {
+			return false;
+		}
+
+		final boolean exists = file.isFile();
+		if (exists) {
+			log.debug("Loading properties file from {}", file);
 		} else {
-			log.debug("No config file");
+			log.debug("No properties file at {}", file);
 		}
 
-		for (final Entry<Object, Object> entry : props.entrySet()) {
-			String key = (String)entry.getKey();
-			final String value = (String)entry.getValue();
+		final CategoryMap map = load(exists ? file : null);
+		if (map == null) {
+			/* Try again next time */
+			return false;
+		}
 
-			if (key.startsWith("tag")) {
-				if (key.length() == 3) {
-					key = "";
-				} else if (key.charAt(3) == '.') {
-					key = key.substring(4);
-				} else {
-					continue;
+		fileModified = modified;
+		fileLength = length;
+		this.map = map;
+		return true;
+	}
+
+	final LoggerConfig get(String name) {
+		return map.get(name);
+	}
+
+	/**
+	 * Applies each property to the config of its category as it is read.
+	 */
+	static final class Builder implements PropertiesParser.Handler {
+		private final Logger log;
+		final CategoryMap map = new CategoryMap();
+		final MarkerMap markers = new MarkerMap();
+
+		Builder(final Logger log) {
+			this.log = log;
+		}
+
+		@Override
+		public void property(final String key, final String value) {
+			int length = key.indexOf('.');
+			if (length == -1) {
+				length = key.length();
+			}
+
+			/* Each setting has a name of a different length */
+			switch (length) {
+			case 3:
+				if (key.startsWith("tag")) {
+					tag(category(key, length), value);
 				}
+				break;
 
-				if (value.length() > LoggerFactory.MAX_TAG_LEN) {
-					if (key.length() == 0) {
-						log.warn("Ignoring invalid default tag {}", value);
-					} else {
-						log.warn("Ignoring invalid tag {} for {}", value, key);
-					}
+			case 5:
+				if (key.startsWith("level")) {
+					level(category(key, length), value);
+				}
+				break;
+
+			case 7:
+				if (key.startsWith("showMdc")) {
+					showMdc(category(key, length), value);
+				}
+				break;
+
+			case 8:
+				if (key.startsWith("showName")) {
+					showName(category(key, length), value);
+				}
+				break;
+
+			case 9:
+				if (key.startsWith("rateLimit")) {
+					rateLimit(category(key, length), value);
+				}
+				break;
+
+			case 10:
+				if (key.startsWith("showThread")) {
+					map.config(category(key, length)).showThread = Boolean.valueOf(value);
+				}
+				break;
+
+			default:
+				break;
+			}
+		}
+
+		private static final String category(final String key, final int length) {
+			return key.length() == length ? "" : key.substring(length + 1);
+		}
+
+		private final void tag(final String category, final String value) {
+			if (value.length() > LoggerFactory.MAX_TAG_LEN) {
+				if (category.length() == 0) {
+					log.warn("Ignoring invalid default tag {}", value);
 				} else {
-					map.put(key, new LoggerConfig(value));
+					log.warn("Ignoring invalid tag {} for {}", value, category);
 				}
-			} else if (key.startsWith("level")) {
-				if (key.length() == 5) {
-					key = "";
-				} else if (key.charAt(5) == '.') {
-					key = key.substring(6);
+			} else if (category.length() > 0 && category.charAt(0) == '@') {
+				if (category.length() == 1) {
+					log.warn("Ignoring tag {} for empty marker name", value);
+				} else if (value.length() == 0) {
+					log.warn("Ignoring empty tag for {}", category);
 				} else {
-					continue;
+					markers.route(category.substring(1), value);
 				}
+			} else {
+				map.config(category).tag = value;
+			}
+		}
 
-				try {
-					map.put(key, new LoggerConfig(LogLevel.valueOf(value.toUpperCase(Locale.ENGLISH))));
-				} catch (IllegalArgumentException e) {
-					if (key.length() == 0) {
-						log.warn("Ignoring invalid default log level {}", value);
+		private final void level(final String category, final String value) {
+			try {
+				final LogLevel level = LogLevel.valueOf(value.toUpperCase(Locale.ENGLISH));
+
+				if (category.length() > 0 && category.charAt(0) == '@') {
+					if (category.length() == 1) {
+						log.warn("Ignoring log level {} for empty marker name", value);
 					} else {
-						log.warn("Ignoring invalid log level {} for {}", value, key);
+						markers.put(category.substring(1), level);
 					}
+				} else {
+					map.config(category).level = level;
 				}
-			} else if (key.startsWith("showName")) {
-				if (key.length() == 8) {
-					key = "";
-				} else if (key.charAt(8) == '.') {
-					key = key.substring(9);
+			} catch (IllegalArgumentException e) {
+				if (category.length() == 0) {
+					log.warn("Ignoring invalid default log level {}", value);
 				} else {
-					continue;
+					log.warn("Ignoring invalid log level {} for {}", value, category);
 				}
+			}
+		}
 
-				try {
-					map.put(key, new LoggerConfig(LoggerConfig.ShowName.valueOf(value.toUpperCase(Locale.ENGLISH))));
-				} catch (IllegalArgumentException e) {
-					if (key.length() == 0) {
-						log.warn("Ignoring invalid default show name setting {}", value);
-					} else {
-						log.warn("Ignoring invalid show name setting {} for {}", value, key);
-					}
-				}
-			} else if (key.startsWith("showThread")) {
-				if (key.length() == 10) {
-					key = "";
-				} else if (key.charAt(10) == '.') {
-					key = key.substring(11);
+		private final void showName(final String category, final String value) {
+			try {
+				map.config(category).showName = LoggerConfig.ShowName.valueOf(value.toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException e) {
+				if (category.length() == 0) {
+					log.warn("Ignoring invalid default show name setting {}", value);
 				} else {
-					continue;
+					log.warn("Ignoring invalid show name setting {} for {}", value, category);
 				}
+			}
+		}
 
-				LoggerConfig config = new LoggerConfig();
-				config.showThread = Boolean.valueOf(value);
-				map.put(key, config);
+		/**
+		 * Set the MDC keys to show, ignoring whitespace and empty keys.
+		 */
+		private final void showMdc(final String category, final String value) {
+			final StringBuilder keys = new StringBuilder(value.length());
+			for (final String key : value.split(",")) {
+				final String trimmed = key.trim();
+				if (trimmed.length() != 0) {
+					if (keys.length() != 0) {
+						keys.append(',');
+					}
+					keys.append(trimmed);
+				}
 			}
+			map.config(category).showMdc = keys.toString();
 		}
 
-		if (log.isTraceEnabled()) {
-			final long stop = System.nanoTime();
-			log.trace("Config processing completed in {}µs", TimeUnit.NANOSECONDS.toMicros(stop - start));
+		private final void rateLimit(final String category, final String value) {
+			try {
+				final int rateLimit = Integer.parseInt(value);
+				if (rateLimit < 0) {
+					throw new NumberFormatException(value);
+				}
+
+				map.config(category).rateLimit = rateLimit;
+			} catch (NumberFormatException e) {
+				if (category.length() == 0) {
+					log.warn("Ignoring invalid default rate limit {}", value);
+				} else {
+					log.warn("Ignoring invalid rate limit {} for {}", value, category);
+				}
+			}
 		}
-	}
 
-	final LoggerConfig get(String name) {
-		return map.get(name);
+		final CategoryMap build() {
+			if (!markers.isEmpty()) {
+				/* Marker config applies to all loggers */
+				map.config("").markers = markers;
+			}
+
+			map.compile();
+			return map;
+		}
 	}
 }
@@ -0,0 +1,224 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Propagates the MDC to tasks that run on other threads.
+ *
+ * <p>
+ * Wrapping a task takes a snapshot of the current thread's MDC, which is only a reference to its current values (they are
+ * copied if the current thread modifies them later). The snapshot is installed while the task runs, and the MDC of the
+ * thread running the task is restored afterwards. Changes made to the MDC by the task are not visible to other tasks.
+ *
+ * @author Simon Arlott
+ */
+public final class MDCExecutors {
+	private MDCExecutors() {
+	}
+
+	/**
+	 * Returns a task that runs with the current thread's MDC.
+	 */
+	public static final Runnable wrap(final Runnable task) {
+		return new ContextRunnable(CopyOnWriteMDCAdapter.snapshot(), task);
+	}
+
+	/**
+	 * Returns a task that runs with the current thread's MDC.
+	 */
+	public static final <T> Callable<T> wrap(final Callable<T> task) {
+		return new ContextCallable<T>(CopyOnWriteMDCAdapter.snapshot(), task);
+	}
+
+	/**
+	 * Returns an executor that runs each task with the MDC of the thread that submitted it.
+	 */
+	public static final Executor wrap(final Executor executor) {
+		return new ContextExecutor(executor);
+	}
+
+	/**
+	 * Returns an executor service that runs each task with the MDC of the thread that submitted it.
+	 */
+	public static final ExecutorService wrap(final ExecutorService executor) {
+		return new ContextExecutorService(executor);
+	}
+
+	private static final <T> List<Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+		final CopyOnWriteMDCAdapter.Values context = CopyOnWriteMDCAdapter.snapshot();
+		final List<Callable<T>> wrapped = new ArrayList<Callable<T>>(tasks.size());
+		for (final Callable<T> task : tasks) {
+			wrapped.add(new ContextCallable<T>(context, task));
+		}
+		return wrapped;
+	}
+
+	private static final class ContextRunnable implements Runnable {
+		private final CopyOnWriteMDCAdapter.Values context;
+		private final Runnable task;
+
+		ContextRunnable(final CopyOnWriteMDCAdapter.Values context, final Runnable task) {
+			this.context = context;
+			this.task = task;
+		}
+
+		@Override
+		public final void run() {
+			final CopyOnWriteMDCAdapter.Values previous = CopyOnWriteMDCAdapter.install(context);
+			try {
+				task.run();
+			} finally {
+				CopyOnWriteMDCAdapter.install(previous);
+			}
+		}
+
+		@Override
+		public final String toString() {
+			return task.toString();
+		}
+	}
+
+	private static final class ContextCallable<T> implements Callable<T> {
+		private final CopyOnWriteMDCAdapter.Values context;
+		private final Callable<T> task;
+
+		ContextCallable(final CopyOnWriteMDCAdapter.Values context, final Callable<T> task) {
+			this.context = context;
+			this.task = task;
+		}
+
+		@Override
+		public final T call() throws Exception {
+			final CopyOnWriteMDCAdapter.Values previous = CopyOnWriteMDCAdapter.install(context);
+			try {
+				return task.call();
+			} finally {
+				CopyOnWriteMDCAdapter.install(previous);
+			}
+		}
+
+		@Override
+		public final String toString() {
+			return task.toString();
+		}
+	}
+
+	private static final class ContextExecutor implements Executor {
+		private final Executor executor;
+
+		ContextExecutor(final Executor executor) {
+			this.executor = executor;
+		}
+
+		@Override
+		public final void execute(final Runnable command) {
+			executor.execute(wrap(command));
+		}
+	}
+
+	private static final class ContextExecutorService implements ExecutorService {
+		private final ExecutorService executor;
+
+		ContextExecutorService(final ExecutorService executor) {
+			this.executor = executor;
+		}
+
+		@Override
+		public final void execute(final Runnable command) {
+			executor.execute(wrap(command));
+		}
+
+		@Override
+		public final Future<?> submit(final Runnable task) {
+			return executor.submit(wrap(task));
+		}
+
+		@Override
+		public final <T> Future<T> submit(final Runnable task, final T result) {
+			return executor.submit(wrap(task), result);
+		}
+
+		@Override
+		public final <T> Future<T> submit(final Callable<T> task) {
+			return executor.submit(wrap(task));
+		}
+
+		@Override
+		public final <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks) throws InterruptedException {
+			return executor.invokeAll(wrap(tasks));
+		}
+
+		@Override
+		public final <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit)
+				throws InterruptedException {
+			return executor.invokeAll(wrap(tasks), timeout, unit);
+		}
+
+		@Override
+		public final <T> T invokeAny(final Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+			return executor.invokeAny(wrap(tasks));
+		}
+
+		@Override
+		public final <T> T invokeAny(final Collection<? extends Callable<T>> tasks, final long timeout, final TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+			return executor.invokeAny(wrap(tasks), timeout, unit);
+		}
+
+		@Override
+		public final void shutdown() {
+			executor.shutdown();
+		}
+
+		@Override
+		public final List<Runnable> shutdownNow() {
+			return executor.shutdownNow();
+		}
+
+		@Override
+		public final boolean isShutdown() {
+			return executor.isShutdown();
+		}
+
+		@Override
+		public final boolean isTerminated() {
+			return executor.isTerminated();
+		}
+
+		@Override
+		public final boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+			return executor.awaitTermination(timeout, unit);
+		}
+	}
+}
@@ -0,0 +1,358 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Marker;
+
+/**
+ * Compiles a map of marker names to be used to match markers.
+ *
+ * <p>
+ * Each configured marker name is assigned an index so that loggers can precompute their flags and tag per marker.
+ * A marker matches its own name if that is configured, otherwise it matches the marker name that was configured first out of
+ * all the markers it references (directly or indirectly).
+ *
+ * <p>
+ * Markers from {@link BitSetMarkerFactory} already have the ids of every marker name they contain, so they're matched
+ * without walking their references. Markers that don't contain any configured marker name are rejected with a single bitset
+ * test. Otherwise the index of their own name is looked up by id, then the configured marker names are checked in order
+ * until one of them is contained by the marker.
+ *
+ * <p>
+ * Markers from another factory (or that reference one) are matched by walking their references the first time they're
+ * used, and the result is cached for that marker object until it is reclaimed. Markers are equal if they have the same
+ * name, even if they have different references, so the cache is by identity. The result for a marker from
+ * {@link BitSetMarkerFactory} is replaced when its references (or theirs) change. Changes to the references of markers
+ * from another factory can't be detected, so they're only observed by markers that haven't been used yet.
+ *
+ * @author Simon Arlott
+ */
+final class MarkerMap {
+	/** Index returned for markers that do not match any configured marker name. */
+	static final int NONE = -1;
+
+	private final Map<String, Integer> names = new HashMap<String, Integer>();
+	private final List<LogLevel> levels = new ArrayList<LogLevel>();
+	/* Tag that messages with each marker are routed to, or null to use the tag of the logger */
+	private final List<String> tags = new ArrayList<String>();
+	/* Marker name ids of the configured markers */
+	private final BitSet ids = new BitSet();
+	/* Index of each configured marker name by id, or NONE */
+	private int[] indexById = new int[0];
+	/* Marker name id of each configured marker by index */
+	private int[] idByIndex = new int[0];
+	/* Matches of markers that can't be matched from their ids, by identity */
+	private final ConcurrentMap<Object, Match> matches = new ConcurrentHashMap<Object, Match>();
+	private final ReferenceQueue<Marker> queue = new ReferenceQueue<Marker>();
+
+	/**
+	 * Cached index of a marker, which is only used for the same marker object. Its version is the closure of a marker from
+	 * {@link BitSetMarkerFactory}, which is replaced when its references change, or {@code null} for other markers.
+	 */
+	private static final class Match extends WeakReference<Marker> {
+		final int hash;
+		final Object version;
+		final int index;
+
+		Match(final Marker marker, final Object version, final int index, final ReferenceQueue<Marker> queue) {
+			super(marker, queue);
+			this.hash = System.identityHashCode(marker);
+			this.version = version;
+			this.index = index;
+		}
+
+		@Override
+		public final boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj instanceof Lookup) {
+				return ((Lookup)obj).marker == get();
+			} else if (obj instanceof Match) {
+				final Marker marker = get();
+				return marker != null && marker == ((Match)obj).get();
+			}
+			return false;
+		}
+
+		@Override
+		public final int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * Key to look up the cached index of a marker without creating a reference to it.
+	 */
+	private static final class Lookup {
+		final Marker marker;
+
+		Lookup(final Marker marker) {
+			this.marker = marker;
+		}
+
+		@Override
+		public final boolean equals(final Object obj) {
+			return obj instanceof Match && ((Match)obj).get() == marker;
+		}
+
+		@Override
+		public final int hashCode() {
+			return System.identityHashCode(marker);
+		}
+	}
+
+	MarkerMap() {
+	}
+
+	final boolean isEmpty() {
+		return levels.isEmpty();
+	}
+
+	final int size() {
+		return levels.size();
+	}
+
+	/**
+	 * Returns the configured level of the marker at the given index.
+	 */
+	final LogLevel level(final int index) {
+		return levels.get(index);
+	}
+
+	/**
+	 * Returns the tag that messages with the marker at the given index are routed to, or {@code null} if they use the tag
+	 * of the logger.
+	 */
+	final String tag(final int index) {
+		return tags.get(index);
+	}
+
+	/**
+	 * Returns the configured level of every marker name, in the order that they were added.
+	 */
+	final Map<String, LogLevel> levels() {
+		final String[] ordered = ordered();
+		final Map<String, LogLevel> levels = new LinkedHashMap<String, LogLevel>();
+		for (int i = 0; i < ordered.length; i++) {
+			levels.put(ordered[i], this.levels.get(i));
+		}
+		return levels;
+	}
+
+	/**
+	 * Returns the tag of every routed marker name, in the order that they were added.
+	 */
+	final Map<String, String> tags() {
+		final String[] ordered = ordered();
+		final Map<String, String> tags = new LinkedHashMap<String, String>();
+		for (int i = 0; i < ordered.length; i++) {
+			if (this.tags.get(i) != null) {
+				tags.put(ordered[i], this.tags.get(i));
+			}
+		}
+		return tags;
+	}
+
+	private final String[] ordered() {
+		final String[] ordered = new String[levels.size()];
+		for (final Map.Entry<String, Integer> entry : names.entrySet()) {
+			ordered[entry.getValue()] = entry.getKey();
+		}
+		return ordered;
+	}
+
+	/**
+	 * Returns the index of the configured marker matching the given marker, or {@link #NONE} if there is no match.
+	 */
+	final int indexOf(final Marker marker) {
+		final Object version;
+		if (marker instanceof BitSetMarker) {
+			final BitSetMarker bitSetMarker = (BitSetMarker)marker;
+			final BitSet contained = bitSetMarker.ids();
+			if (contained != null) {
+				return indexOf(bitSetMarker.id(), contained);
+			}
+
+			/* Read before the references are walked, so that a change while they're walked replaces the result */
+			version = bitSetMarker.version();
+		} else {
+			version = null;
+		}
+
+		final int index = configured(marker.getName());
+		if (index != NONE || !marker.hasReferences()) {
+			return index;
+		}
+
+		final Match match = matches.get(new Lookup(marker));
+		if (match != null && match.version == version) {
+			return match.index;
+		}
+
+		final Map<Marker, Boolean> visited = new IdentityHashMap<Marker, Boolean>();
+		visited.put(marker, Boolean.TRUE);
+		final int found = find(marker, visited, NONE);
+
+		expunge();
+		final Match newMatch = new Match(marker, version, found, queue);
+		matches.put(newMatch, newMatch);
+		return found;
+	}
+
+	/**
+	 * Remove the cached index of markers that have been reclaimed.
+	 */
+	private final void expunge() {
+		Reference<? extends Marker> reference;
+		while ((reference = queue.poll()) != null) {
+			matches.remove(reference);
+		}
+	}
+
+	/**
+	 * Find the index of a marker with the given id that contains the given marker name ids. Its own name is used if that is
+	 * configured, otherwise the configured marker name with the lowest index that it contains.
+	 */
+	private final int indexOf(final int id, final BitSet contained) {
+		if (!contained.intersects(ids)) {
+			return NONE;
+		}
+
+		if (id != BitSetMarkerFactory.NO_ID && id < indexById.length && indexById[id] != NONE) {
+			return indexById[id];
+		}
+
+		for (int i = 0; i < idByIndex.length; i++) {
+			if (contained.get(idByIndex[i])) {
+				return i;
+			}
+		}
+		return NONE;
+	}
+
+	private final int configured(final String name) {
+		final Integer index = name != null ? names.get(name) : null;
+		return index != null ? index : NONE;
+	}
+
+	/**
+	 * Search the references of a marker for the configured marker name with the lowest index.
+	 */
+	private final int find(final Marker marker, final Map<Marker, Boolean> visited, int best) {
+		final Iterator<Marker> it = marker.iterator();
+		while (it != null && it.hasNext()) {
+			final Marker reference = it.next();
+			if (reference != null && visited.put(reference, Boolean.TRUE) == null) {
+				final int index = configured(reference.getName());
+				if (index != NONE && (best == NONE || index < best)) {
+					best = index;
+				}
+
+				if (reference.hasReferences()) {
+					best = find(reference, visited, best);
+				}
+
+				if (best == 0) {
+					break;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Add a marker to the config map.
+	 */
+	final void put(final String name, final LogLevel level) {
+		levels.set(index(name), level);
+	}
+
+	/**
+	 * Route messages with a marker to another tag. Unless a level is also configured for the marker,
+	 * the level is the native level of that tag.
+	 */
+	final void route(final String name, final String tag) {
+		tags.set(index(name), tag);
+	}
+
+	private final int index(final String name) {
+		final Integer index = names.get(name);
+		if (index != null) {
+			return index;
+		}
+
+		final int id = BitSetMarkerFactory.id(name);
+		final int newIndex = levels.size();
+		matches.clear();
+		names.put(name, newIndex);
+		levels.add(LogLevel.NATIVE);
+		tags.add(null);
+		ids.set(id);
+
+		if (id >= indexById.length) {
+			final int[] byId = new int[Math.max(id + 1, indexById.length * 2)];
+			System.arraycopy(indexById, 0, byId, 0, indexById.length);
+			Arrays.fill(byId, indexById.length, byId.length, NONE);
+			indexById = byId;
+		}
+		indexById[id] = newIndex;
+
+		final int[] byIndex = new int[newIndex + 1];
+		System.arraycopy(idByIndex, 0, byIndex, 0, newIndex);
+		byIndex[newIndex] = id;
+		idByIndex = byIndex;
+		return newIndex;
+	}
+
+	@Override
+	public final boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (!(obj instanceof MarkerMap)) {
+			return false;
+		}
+
+		final MarkerMap other = (MarkerMap)obj;
+		return names.equals(other.names) && levels.equals(other.levels) && tags.equals(other.tags);
+	}
+
+	@Override
+	public final int hashCode() {
+		return (31 * names.hashCode() + levels.hashCode()) * 31 + tags.hashCode();
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+/**
+ * Adds the MDC, thread name and logger name (or caller) to messages.
+ *
+ * <p>
+ * The variant of rewriting needed for the settings is chosen once when the rewriter is created, so that each message
+ * only does the work for those settings. There is only one class, so that the call from the logging methods stays
+ * monomorphic and can be inlined however many different configurations are in use. A subclass for each variant was
+ * measured with {@code ShowNameBenchmark} and was no faster for any setting.
+ *
+ * @author Simon Arlott
+ */
+final class MessageRewriter {
+	/* Context and message */
+	private static final int PLAIN = 0;
+	/* Logger name, context and message */
+	private static final int PREFIX = 1;
+	/* MDC, context and message */
+	private static final int MDC = 2;
+	/* MDC, logger name, context and message */
+	private static final int MDC_PREFIX = 3;
+	/* MDC (if any), thread name, logger name (if any), context and message */
+	private static final int THREAD = 4;
+	/* MDC (if any), caller, context and message */
+	private static final int CALLER = 5;
+	/* MDC (if any), thread name, caller, context and message */
+	private static final int THREAD_CALLER = 6;
+
+	/* Space for the thread name or caller */
+	private static final int EXTRA_CAPACITY = 64;
+
+	private static final MessageRewriter PLAIN_REWRITER = new MessageRewriter(PLAIN, "", null);
+
+	private final int variant;
+	/* Logger name prefix, or "" if it is not shown */
+	private final String prefixName;
+	private final CopyOnWriteMDCAdapter.Format mdcFormat;
+
+	private MessageRewriter(final int variant, final String prefixName, final CopyOnWriteMDCAdapter.Format mdcFormat) {
+		this.variant = variant;
+		this.prefixName = prefixName;
+		this.mdcFormat = mdcFormat;
+	}
+
+	/**
+	 * Returns the rewriter for the given settings.
+	 *
+	 * @param prefixName logger name prefix, or {@code null} if the logger name is not shown
+	 * @param showThread show the name of the current thread
+	 * @param showCaller show the caller instead of the logger name
+	 * @param mdcFormat MDC keys to show, or {@code null} if the MDC is not shown
+	 */
+	static final MessageRewriter create(final String prefixName, final boolean showThread, final boolean showCaller,
+			final CopyOnWriteMDCAdapter.Format mdcFormat) {
+		final int variant;
+
+		if (showCaller) {
+			variant = showThread ? THREAD_CALLER : CALLER;
+		} else if (showThread) {
+			variant = THREAD;
+		} else if (mdcFormat != null) {
+			variant = prefixName != null ? MDC_PREFIX : MDC;
+		} else if (prefixName != null) {
+			variant = PREFIX;
+		} else {
+			return PLAIN_REWRITER;
+		}
+
+		return new MessageRewriter(variant, showCaller || prefixName == null ? "" : prefixName, mdcFormat);
+	}
+
+	/**
+	 * Rewrite a message, which must be called directly from the logging method so that the caller can be found.
+	 *
+	 * @param context context of a child logger to add before the message, or {@code ""}
+	 * @param msg the message
+	 * @param frames number of stack frames between this method and the caller
+	 */
+	final String rewrite(final String context, String msg, final int frames) {
+		if (msg == null) {
+			msg = "null";
+		}
+
+		switch (variant) {
+		case PLAIN:
+			return context.length() == 0 ? msg : context.concat(msg);
+
+		case PREFIX:
+			return join(prefixName, context, msg);
+
+		case MDC:
+			/* Cached for each thread until its MDC is modified */
+			return join(CopyOnWriteMDCAdapter.render(mdcFormat), context, msg);
+
+		case MDC_PREFIX:
+			return join(CopyOnWriteMDCAdapter.render(mdcFormat), prefixName, context, msg);
+
+		case THREAD:
+			return thread(mdc(), context, msg).append(prefixName).append(context).append(msg).toString();
+
+		case CALLER:
+			return builder(mdc(), context, msg).append(new CallerStackTrace(frames).toString()).append(": ")
+					.append(context).append(msg).toString();
+
+		default: /* THREAD_CALLER */
+			return thread(mdc(), context, msg).append(new CallerStackTrace(frames).toString()).append(": ")
+					.append(context).append(msg).toString();
+		}
+	}
+
+	private final String mdc() {
+		return mdcFormat != null ? CopyOnWriteMDCAdapter.render(mdcFormat) : "";
+	}
+
+	private final StringBuilder builder(final String mdc, final String context, final String msg) {
+		return new StringBuilder(mdc.length() + prefixName.length() + context.length() + msg.length() + EXTRA_CAPACITY)
+				.append(mdc);
+	}
+
+	private final StringBuilder thread(final String mdc, final String context, final String msg) {
+		return builder(mdc, context, msg).append('[').append(Thread.currentThread().getName()).append("] ");
+	}
+
+	private static final String join(final String head, final String context, final String msg) {
+		if (context.length() == 0) {
+			return head.length() == 0 ? msg : head.concat(msg);
+		} else if (head.length() == 0) {
+			return context.concat(msg);
+		}
+		return new StringBuilder(head.length() + context.length() + msg.length()).append(head).append(context)
+				.append(msg).toString();
+	}
+
+	private static final String join(final String mdc, final String prefixName, final String context,
+			final String msg) {
+		if (mdc.length() == 0) {
+			return join(prefixName, context, msg);
+		}
+		return new StringBuilder(mdc.length() + prefixName.length() + context.length() + msg.length()).append(mdc)
+				.append(prefixName).append(context).append(msg).toString();
+	}
+}
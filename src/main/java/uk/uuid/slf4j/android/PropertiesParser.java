@@ -0,0 +1,222 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads properties in the format of {@link java.util.Properties#load(Reader)} in a single pass, passing each property to a
+ * {@link Handler} as it is read instead of storing them.
+ *
+ * <p>
+ * Properties are passed to the handler in the order that they occur, including any duplicates.
+ *
+ * @author Simon Arlott
+ */
+final class PropertiesParser {
+	/** Receives each property as it is read. */
+	interface Handler {
+		void property(String key, String value);
+	}
+
+	private static final int BUFFER_SIZE = 1024;
+	private static final int EOF = -1;
+
+	/* Position within a logical line */
+	private static final int KEY = 0;
+	private static final int SEPARATOR = 1;
+	private static final int VALUE_START = 2;
+	private static final int VALUE = 3;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int limit;
+	private final StringBuilder key = new StringBuilder();
+	private final StringBuilder value = new StringBuilder();
+
+	private PropertiesParser(final Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Read all properties from the reader. The reader is not closed.
+	 */
+	static final void parse(final Reader reader, final Handler handler) throws IOException {
+		new PropertiesParser(reader).parse(handler);
+	}
+
+	private final void parse(final Handler handler) throws IOException {
+		int c = read();
+
+		while (c != EOF) {
+			if (isWhitespace(c) || c == '\r' || c == '\n') {
+				c = read();
+			} else if (c == '#' || c == '!') {
+				c = skipLine();
+			} else {
+				c = property(c, handler);
+			}
+		}
+	}
+
+	/**
+	 * Read the rest of a logical line as a property, starting with the given character.
+	 */
+	private final int property(int c, final Handler handler) throws IOException {
+		int state = KEY;
+
+		key.setLength(0);
+		value.setLength(0);
+
+		while (c != EOF && c != '\r' && c != '\n') {
+			boolean escaped = false;
+
+			if (c == '\\') {
+				c = read();
+				if (c == EOF) {
+					break;
+				} else if (c == '\r' || c == '\n') {
+					c = continueLine(c);
+					continue;
+				}
+
+				c = unescape(c);
+				escaped = true;
+			}
+
+			switch (state) {
+			case KEY:
+				if (!escaped && (c == '=' || c == ':')) {
+					state = VALUE_START;
+				} else if (!escaped && isWhitespace(c)) {
+					state = SEPARATOR;
+				} else {
+					key.append((char)c);
+				}
+				break;
+
+			case SEPARATOR:
+				if (!escaped && (c == '=' || c == ':')) {
+					state = VALUE_START;
+				} else if (escaped || !isWhitespace(c)) {
+					state = VALUE;
+					value.append((char)c);
+				}
+				break;
+
+			case VALUE_START:
+				if (escaped || !isWhitespace(c)) {
+					state = VALUE;
+					value.append((char)c);
+				}
+				break;
+
+			default:
+				value.append((char)c);
+				break;
+			}
+
+			c = read();
+		}
+
+		handler.property(key.toString(), value.toString());
+		return c;
+	}
+
+	/**
+	 * Skip the line terminator that was escaped and any leading whitespace on the next line.
+	 */
+	private final int continueLine(int c) throws IOException {
+		if (c == '\r') {
+			c = read();
+			if (c == '\n') {
+				c = read();
+			}
+		} else {
+			c = read();
+		}
+
+		while (isWhitespace(c)) {
+			c = read();
+		}
+		return c;
+	}
+
+	private final int skipLine() throws IOException {
+		int c;
+		do {
+			c = read();
+		} while (c != EOF && c != '\r' && c != '\n');
+		return c;
+	}
+
+	private final int unescape(final int c) throws IOException {
+		switch (c) {
+		case 't':
+			return '\t';
+
+		case 'n':
+			return '\n';
+
+		case 'r':
+			return '\r';
+
+		case 'f':
+			return '\f';
+
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				final int digit = Character.digit(read(), 16);
+				if (digit == -1) {
+					throw new IOException("Malformed \\uxxxx encoding");
+				}
+				value = (value << 4) | digit;
+			}
+			return value;
+
+		default:
+			return c;
+		}
+	}
+
+	private final int read() throws IOException {
+		if (position == limit) {
+			limit = reader.read(buffer, 0, buffer.length);
+			position = 0;
+
+			if (limit <= 0) {
+				limit = 0;
+				return EOF;
+			}
+		}
+
+		return buffer[position++];
+	}
+
+	private static final boolean isWhitespace(final int c) {
+		return c == ' ' || c == '\t' || c == '\f';
+	}
+}
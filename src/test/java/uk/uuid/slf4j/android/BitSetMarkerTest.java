@@ -0,0 +1,422 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class BitSetMarkerTest {
+	private final IMarkerFactory factory = new BitSetMarkerFactory();
+
+	@Test
+	public void interned() {
+		Assert.assertFalse(factory.exists("test.Interned"));
+		Marker marker = factory.getMarker("test.Interned");
+		Assert.assertTrue(factory.exists("test.Interned"));
+		Assert.assertSame(marker, factory.getMarker("test.Interned"));
+		Assert.assertEquals("test.Interned", marker.getName());
+
+		Marker detached = factory.getDetachedMarker("test.Interned");
+		Assert.assertNotSame(marker, detached);
+		Assert.assertEquals(marker, detached);
+		Assert.assertEquals(marker.hashCode(), detached.hashCode());
+		Assert.assertEquals(marker, new BasicMarkerFactory().getDetachedMarker("test.Interned"));
+
+		Assert.assertTrue(factory.detachMarker("test.Interned"));
+		Assert.assertFalse(factory.detachMarker("test.Interned"));
+		Assert.assertFalse(factory.exists("test.Interned"));
+		Assert.assertNotSame(marker, factory.getMarker("test.Interned"));
+
+		Assert.assertFalse(factory.exists(null));
+		Assert.assertFalse(factory.detachMarker(null));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullName() {
+		factory.getMarker(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullReference() {
+		factory.getDetachedMarker("test.NullReference").add(null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullContains() {
+		factory.getDetachedMarker("test.NullContains").contains((Marker)null);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullContainsName() {
+		factory.getDetachedMarker("test.NullContains").contains((String)null);
+	}
+
+	@Test
+	public void references() {
+		Marker a = factory.getDetachedMarker("test.A");
+		Marker b = factory.getDetachedMarker("test.B");
+		Marker c = factory.getDetachedMarker("test.C");
+
+		Assert.assertFalse(a.hasReferences());
+		Assert.assertTrue(a.contains(a));
+		Assert.assertTrue(a.contains("test.A"));
+		Assert.assertFalse(a.contains(b));
+		Assert.assertFalse(a.contains("test.Unknown"));
+
+		a.add(b);
+		b.add(c);
+		Assert.assertTrue(a.hasReferences());
+		Assert.assertTrue(a.contains(b));
+		Assert.assertTrue(a.contains(c));
+		Assert.assertTrue(a.contains("test.C"));
+		Assert.assertTrue(a.contains(factory.getDetachedMarker("test.C")));
+		Assert.assertTrue(a.contains(new BasicMarkerFactory().getDetachedMarker("test.C")));
+		Assert.assertFalse(c.contains(a));
+
+		Assert.assertTrue(b.remove(c));
+		Assert.assertFalse(b.remove(c));
+		Assert.assertTrue(a.contains(b));
+		Assert.assertFalse(a.contains(c));
+		Assert.assertFalse(b.contains(c));
+	}
+
+	@Test
+	public void duplicate() {
+		Marker a = factory.getDetachedMarker("test.A");
+		Marker b = factory.getDetachedMarker("test.B");
+
+		a.add(b);
+		a.add(b);
+		a.add(factory.getDetachedMarker("test.B"));
+		a.add(a);
+
+		Iterator<Marker> it = a.iterator();
+		Assert.assertSame(b, it.next());
+		Assert.assertFalse(it.hasNext());
+		Assert.assertEquals("test.A [ test.B ]", a.toString());
+		Assert.assertEquals("test.B", b.toString());
+	}
+
+	@Test
+	public void cycle() {
+		Marker a = factory.getDetachedMarker("test.A");
+		Marker b = factory.getDetachedMarker("test.B");
+		Marker c = factory.getDetachedMarker("test.C");
+
+		a.add(b);
+		b.add(c);
+		c.add(a);
+
+		Assert.assertFalse(c.hasReferences());
+		Assert.assertFalse(c.contains(a));
+	}
+
+	@Test
+	public void diamond() {
+		Marker top = factory.getDetachedMarker("test.Top");
+		Marker left = factory.getDetachedMarker("test.Left");
+		Marker right = factory.getDetachedMarker("test.Right");
+		Marker bottom = factory.getDetachedMarker("test.Bottom");
+		Marker leaf = factory.getDetachedMarker("test.Leaf");
+
+		top.add(left);
+		top.add(right);
+		left.add(bottom);
+		right.add(bottom);
+		top.add(bottom);
+		bottom.add(leaf);
+
+		Assert.assertTrue(top.contains(leaf));
+		Assert.assertTrue(left.contains(leaf));
+		Assert.assertTrue(right.contains(leaf));
+
+		Assert.assertTrue(left.remove(bottom));
+		Assert.assertFalse(left.contains(leaf));
+		Assert.assertTrue(top.contains(leaf));
+
+		Assert.assertTrue(bottom.remove(leaf));
+		Assert.assertFalse(top.contains(leaf));
+		Assert.assertFalse(right.contains(leaf));
+	}
+
+	@Test
+	public void otherFactory() {
+		Marker a = factory.getDetachedMarker("test.A");
+		Marker b = new BasicMarkerFactory().getDetachedMarker("test.B");
+		Marker c = factory.getDetachedMarker("test.C");
+		Marker d = new BasicMarkerFactory().getDetachedMarker("test.OtherFactory.D");
+
+		a.add(b);
+		Assert.assertTrue(a.contains(b));
+		Assert.assertFalse(a.contains(c));
+
+		// Changes to markers from another factory are observed
+		b.add(c);
+		b.add(d);
+		Assert.assertTrue(a.contains(c));
+		Assert.assertTrue(a.contains(d));
+		Assert.assertTrue(a.contains("test.OtherFactory.D"));
+
+		a.remove(b);
+		Assert.assertFalse(a.contains(c));
+		Assert.assertFalse(a.contains(d));
+	}
+
+	@Test
+	public void ids() {
+		BitSetMarker a = (BitSetMarker)factory.getDetachedMarker("test.A");
+		Marker b = factory.getDetachedMarker("test.B");
+		int idA = BitSetMarkerFactory.id("test.A");
+		int idB = BitSetMarkerFactory.id("test.B");
+
+		Assert.assertEquals(idA, a.id());
+		Assert.assertTrue(a.ids().get(idA));
+		Assert.assertFalse(a.ids().get(idB));
+		a.add(b);
+		Assert.assertTrue(a.ids().get(idB));
+		a.remove(b);
+		Assert.assertFalse(a.ids().get(idB));
+
+		a.add(new BasicMarkerFactory().getDetachedMarker("test.Other"));
+		Assert.assertNull(a.ids());
+	}
+
+	/**
+	 * Markers from this factory are matched using their ids, which must give the same result as walking the references of
+	 * the same markers from another factory.
+	 */
+	@Test
+	public void indexOf() {
+		MarkerMap map = new MarkerMap();
+		map.put("test.Index.C", LogLevel.DEBUG);
+		map.put("test.Index.A", LogLevel.INFO);
+		map.route("test.Index.E", "Other");
+		map.put("test.Index.B", LogLevel.WARN);
+
+		IMarkerFactory basicFactory = new BasicMarkerFactory();
+		String[] names = { "test.Index.A", "test.Index.B", "test.Index.C", "test.Index.D", "test.Index.E", "test.Index.F" };
+		int[][] graphs = {
+			{},
+			{ 0, 1 },
+			{ 1, 2 },
+			{ 3, 4, 4, 5 },
+			{ 3, 5 },
+			{ 3, 1, 3, 2 },
+			{ 5, 2, 3, 1 },
+			{ 0, 5, 5, 4, 4, 1 },
+			{ 3, 5, 5, 2, 2, 0 },
+		};
+
+		for (int[] graph : graphs) {
+			for (int i = 0; i < names.length; i++) {
+				Marker[] bitSetMarkers = markers(factory, names);
+				Marker[] basicMarkers = markers(basicFactory, names);
+				for (int j = 0; j < graph.length; j += 2) {
+					bitSetMarkers[graph[j]].add(bitSetMarkers[graph[j + 1]]);
+					basicMarkers[graph[j]].add(basicMarkers[graph[j + 1]]);
+				}
+
+				Assert.assertNotNull(((BitSetMarker)bitSetMarkers[i]).ids());
+				Assert.assertEquals(names[i], map.indexOf(basicMarkers[i]), map.indexOf(bitSetMarkers[i]));
+			}
+		}
+
+		Marker d = factory.getDetachedMarker("test.Index.D");
+		Assert.assertEquals(MarkerMap.NONE, map.indexOf(d));
+		d.add(factory.getDetachedMarker("test.Index.B"));
+		Assert.assertEquals(3, map.indexOf(d));
+		d.add(factory.getDetachedMarker("test.Index.A"));
+		Assert.assertEquals(1, map.indexOf(d));
+		d.add(basicFactory.getDetachedMarker("test.Index.C"));
+		Assert.assertEquals(0, map.indexOf(d));
+	}
+
+	/**
+	 * Returns a marker that counts the number of times that its references are walked.
+	 */
+	private static Marker counting(final Marker marker, final AtomicInteger walks) {
+		return (Marker)Proxy.newProxyInstance(Marker.class.getClassLoader(), new Class<?>[] { Marker.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getName().equals("iterator")) {
+					walks.incrementAndGet();
+				}
+				try {
+					return method.invoke(marker, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+		});
+	}
+
+	@Test
+	public void indexOfCached() {
+		MarkerMap map = new MarkerMap();
+		map.put("test.Cached.Perf", LogLevel.VERBOSE);
+		IMarkerFactory basicFactory = new BasicMarkerFactory();
+		AtomicInteger walks = new AtomicInteger();
+
+		// Markers from another factory are only walked the first time
+		Marker request = counting(basicFactory.getDetachedMarker("test.Cached.Request"), walks);
+		request.add(basicFactory.getDetachedMarker("test.Cached.Perf"));
+		Marker unmatched = counting(basicFactory.getDetachedMarker("test.Cached.Unmatched"), walks);
+		unmatched.add(basicFactory.getDetachedMarker("test.Cached.Other"));
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(0, map.indexOf(request));
+			Assert.assertEquals(MarkerMap.NONE, map.indexOf(unmatched));
+		}
+		Assert.assertEquals(2, walks.get());
+
+		// Markers from this factory that reference them are walked again when their references change
+		Marker parent = factory.getDetachedMarker("test.Cached.Parent");
+		parent.add(unmatched);
+		walks.set(0);
+		Assert.assertEquals(MarkerMap.NONE, map.indexOf(parent));
+		Assert.assertEquals(MarkerMap.NONE, map.indexOf(parent));
+		Assert.assertEquals(1, walks.get());
+
+		parent.add(factory.getMarker("test.Cached.Perf"));
+		Assert.assertEquals(0, map.indexOf(parent));
+		Assert.assertEquals(0, map.indexOf(parent));
+		Assert.assertEquals(2, walks.get());
+	}
+
+	@Test
+	public void detachedNotAssigned() {
+		MarkerMap map = new MarkerMap();
+		map.put("test.Detached.Perf", LogLevel.VERBOSE);
+		Marker perf = factory.getMarker("test.Detached.Perf");
+
+		// Detached markers with transient names don't get an id
+		for (int i = 0; i < 100000; i++) {
+			Marker marker = factory.getDetachedMarker("test.Detached.Request" + i);
+			Assert.assertTrue(marker.contains("test.Detached.Request" + i));
+			Assert.assertEquals(MarkerMap.NONE, map.indexOf(marker));
+
+			marker.add(perf);
+			Assert.assertTrue(marker.contains(perf));
+			Assert.assertEquals(0, map.indexOf(marker));
+		}
+		for (int i = 0; i < 100000; i++) {
+			Assert.assertEquals(BitSetMarkerFactory.NO_ID, BitSetMarkerFactory.findId("test.Detached.Request" + i));
+		}
+	}
+
+	@Test
+	public void detachedConfiguredLater() {
+		Marker a = factory.getDetachedMarker("test.Later.A");
+		Marker b = factory.getDetachedMarker("test.Later.B");
+		Marker c = factory.getDetachedMarker("test.Later.C");
+		a.add(b);
+		b.add(c);
+		Assert.assertTrue(a.contains("test.Later.C"));
+		Assert.assertTrue(a.contains(factory.getDetachedMarker("test.Later.C")));
+		Assert.assertFalse(c.contains("test.Later.A"));
+
+		// The markers find the ids of names that are configured after they were created
+		MarkerMap map = new MarkerMap();
+		map.put("test.Later.C", LogLevel.DEBUG);
+		map.put("test.Later.B", LogLevel.INFO);
+		Assert.assertEquals(0, map.indexOf(a));
+		Assert.assertEquals(1, map.indexOf(b));
+		Assert.assertTrue(a.contains(factory.getMarker("test.Later.C")));
+		Assert.assertTrue(((BitSetMarker)a).ids().get(BitSetMarkerFactory.findId("test.Later.C")));
+
+		Assert.assertTrue(b.remove(c));
+		Assert.assertEquals(1, map.indexOf(a));
+		Assert.assertFalse(a.contains("test.Later.C"));
+	}
+
+	private static Marker[] markers(IMarkerFactory markerFactory, String[] names) {
+		Marker[] markers = new Marker[names.length];
+		for (int i = 0; i < names.length; i++) {
+			markers[i] = markerFactory.getDetachedMarker(names[i]);
+		}
+		return markers;
+	}
+
+	@Test
+	public void serialize() throws Exception {
+		Marker a = factory.getDetachedMarker("test.A");
+		Marker b = factory.getDetachedMarker("test.B");
+		Marker c = factory.getDetachedMarker("test.C");
+		a.add(b);
+		b.add(c);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(a);
+		out.close();
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		Marker copy = (Marker)in.readObject();
+		in.close();
+
+		Assert.assertNotSame(a, copy);
+		Assert.assertEquals(a, copy);
+		Assert.assertEquals("test.A [ test.B ]", copy.toString());
+		Assert.assertTrue(copy.contains(c));
+		Assert.assertTrue(copy.contains("test.C"));
+	}
+
+	private static WeakReference<Marker> match(MarkerMap map, IMarkerFactory markerFactory) {
+		Marker marker = markerFactory.getDetachedMarker("test.Request");
+		marker.add(markerFactory.getMarker("test.Perf"));
+		Assert.assertEquals(0, map.indexOf(marker));
+		return new WeakReference<Marker>(marker);
+	}
+
+	@Test
+	@SuppressFBWarnings("DM_GC")
+	public void notRetained() throws Exception {
+		MarkerMap map = new MarkerMap();
+		map.put("test.Perf", LogLevel.VERBOSE);
+		WeakReference<Marker> bitSetMarker = match(map, factory);
+		WeakReference<Marker> otherMarker = match(map, new BasicMarkerFactory());
+
+		for (int i = 0; i < 100 && (bitSetMarker.get() != null || otherMarker.get() != null); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assert.assertNull(bitSetMarker.get());
+		Assert.assertNull(otherMarker.get());
+	}
+}
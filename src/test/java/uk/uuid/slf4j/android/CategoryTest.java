@@ -61,4 +61,210 @@ public class CategoryTest {
 		Assert.assertEquals("name", matcher.get("java.lang.String").tag);
 		Assert.assertEquals("name", matcher.get("java.lang.ref.PhantomReference").tag);
 	}
+
+	@Test
+	public void nested() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java.lang", new LoggerConfig("lang"));
+		matcher.put("java.lang.ref", new LoggerConfig(LogLevel.DEBUG));
+		matcher.put("java", new LoggerConfig(LoggerConfig.ShowName.LONG));
+
+		Assert.assertEquals("", matcher.get("java").tag);
+		Assert.assertEquals(LoggerConfig.ShowName.LONG, matcher.get("java").showName);
+		Assert.assertEquals(LogLevel.NATIVE, matcher.get("java").level);
+		Assert.assertEquals("lang", matcher.get("java.lang.ref.PhantomReference").tag);
+		Assert.assertEquals(LogLevel.DEBUG, matcher.get("java.lang.ref.PhantomReference").level);
+		Assert.assertEquals(LoggerConfig.ShowName.LONG, matcher.get("java.lang.ref.PhantomReference").showName);
+		Assert.assertEquals(LogLevel.NATIVE, matcher.get("java.lang.reflect.Field").level);
+		Assert.assertEquals("", matcher.get("java.language").tag);
+		Assert.assertEquals("", matcher.get("javax.lang").tag);
+		Assert.assertEquals(LoggerConfig.ShowName.FALSE, matcher.get("javax.lang").showName);
+	}
+
+	@Test
+	public void dots() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("a.", new LoggerConfig("a."));
+		matcher.put(".b", new LoggerConfig(".b"));
+		matcher.put("c..d", new LoggerConfig("c..d"));
+
+		Assert.assertEquals("", matcher.get("a").tag);
+		Assert.assertEquals("a.", matcher.get("a.").tag);
+		Assert.assertEquals("a.", matcher.get("a..x").tag);
+		Assert.assertEquals("", matcher.get("a.x").tag);
+		Assert.assertEquals(".b", matcher.get(".b").tag);
+		Assert.assertEquals(".b", matcher.get(".b.x").tag);
+		Assert.assertEquals("", matcher.get(".").tag);
+		Assert.assertEquals("", matcher.get("b").tag);
+		Assert.assertEquals("c..d", matcher.get("c..d.e").tag);
+		Assert.assertEquals("", matcher.get("c.d").tag);
+	}
+
+	@Test
+	public void putAfterGet() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java", new LoggerConfig("java"));
+
+		Assert.assertEquals("java", matcher.get("java.lang.Void").tag);
+
+		matcher.put("java.lang", new LoggerConfig("lang"));
+
+		Assert.assertEquals("lang", matcher.get("java.lang.Void").tag);
+	}
+
+	@Test
+	public void putTwice() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java", new LoggerConfig("first"));
+		matcher.put("java", new LoggerConfig("second"));
+		matcher.put("java", new LoggerConfig(LogLevel.WARN));
+
+		Assert.assertEquals("first", matcher.get("java").tag);
+		Assert.assertEquals(LogLevel.WARN, matcher.get("java").level);
+	}
+
+	@Test
+	public void many() {
+		CategoryMap matcher = new CategoryMap();
+		for (int i = 0; i < 1000; i++) {
+			matcher.put("com.example.package" + i, new LoggerConfig("tag" + i));
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals("tag" + i, matcher.get("com.example.package" + i + ".Class").tag);
+		}
+		Assert.assertEquals("", matcher.get("com.example.package1000.Class").tag);
+		Assert.assertEquals("", matcher.get("com.example").tag);
+	}
+
+	@Test
+	public void shared() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java", new LoggerConfig("java"));
+
+		Assert.assertSame(matcher.get("java.lang.Void"), matcher.get("java.util.List"));
+		Assert.assertSame(matcher.get(""), matcher.get("javax.swing.JFrame"));
+	}
+
+	@Test
+	public void one() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("*.internal", new LoggerConfig("internal"));
+
+		Assert.assertEquals("internal", matcher.get("a.internal").tag);
+		Assert.assertEquals("internal", matcher.get("b.internal.Class").tag);
+		Assert.assertEquals("", matcher.get("internal").tag);
+		Assert.assertEquals("", matcher.get("a.b.internal").tag);
+		Assert.assertEquals("", matcher.get("a.internals").tag);
+		Assert.assertEquals("", matcher.get("a").tag);
+	}
+
+	@Test
+	public void any() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("com.example.**.cache", new LoggerConfig("cache"));
+
+		Assert.assertEquals("cache", matcher.get("com.example.cache").tag);
+		Assert.assertEquals("cache", matcher.get("com.example.a.cache").tag);
+		Assert.assertEquals("cache", matcher.get("com.example.a.b.c.cache.Class").tag);
+		Assert.assertEquals("cache", matcher.get("com.example.cache.a.cache").tag);
+		Assert.assertEquals("", matcher.get("com.example.a.b").tag);
+		Assert.assertEquals("", matcher.get("com.cache").tag);
+		Assert.assertEquals("", matcher.get("org.example.a.cache").tag);
+	}
+
+	@Test
+	public void anyFirst() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("**.R", new LoggerConfig("R"));
+
+		Assert.assertEquals("R", matcher.get("R").tag);
+		Assert.assertEquals("R", matcher.get("com.example.R").tag);
+		Assert.assertEquals("R", matcher.get("com.example.R.string").tag);
+		Assert.assertEquals("", matcher.get("com.example.Rx").tag);
+	}
+
+	@Test
+	public void anyLast() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java.**", new LoggerConfig(LogLevel.WARN));
+		matcher.put("java.lang", new LoggerConfig(LogLevel.DEBUG));
+
+		Assert.assertEquals(LogLevel.WARN, matcher.get("java").level);
+		Assert.assertEquals(LogLevel.WARN, matcher.get("java.util.List").level);
+		Assert.assertEquals(LogLevel.DEBUG, matcher.get("java.lang.ref.PhantomReference").level);
+	}
+
+	@Test
+	public void deepestPattern() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java.lang", new LoggerConfig("lang"));
+		matcher.put("java.lang", new LoggerConfig(LogLevel.DEBUG));
+		matcher.put("*.*.ref", new LoggerConfig(LogLevel.WARN));
+		matcher.put("*", new LoggerConfig(LoggerConfig.ShowName.LONG));
+
+		Assert.assertEquals(LogLevel.DEBUG, matcher.get("java.lang.Void").level);
+		Assert.assertEquals(LogLevel.WARN, matcher.get("java.lang.ref.PhantomReference").level);
+		Assert.assertEquals("lang", matcher.get("java.lang.ref.PhantomReference").tag);
+		Assert.assertEquals(LoggerConfig.ShowName.LONG, matcher.get("java.lang.ref.PhantomReference").showName);
+		Assert.assertEquals(LoggerConfig.ShowName.LONG, matcher.get("javax").showName);
+		Assert.assertEquals(LoggerConfig.ShowName.FALSE, matcher.get("").showName);
+	}
+
+	@Test
+	public void exactBeforePattern() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("*.lang", new LoggerConfig("pattern"));
+		matcher.put("*.lang", new LoggerConfig(LogLevel.WARN));
+		matcher.put("java.lang", new LoggerConfig("exact"));
+
+		Assert.assertEquals("exact", matcher.get("java.lang.Void").tag);
+		Assert.assertEquals(LogLevel.WARN, matcher.get("java.lang.Void").level);
+		Assert.assertEquals("pattern", matcher.get("kotlin.lang.Void").tag);
+	}
+
+	@Test
+	public void patternOrder() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("*.b", new LoggerConfig("first"));
+		matcher.put("a.*", new LoggerConfig("second"));
+		matcher.put("a.*", new LoggerConfig(LogLevel.ERROR));
+
+		Assert.assertEquals("first", matcher.get("a.b").tag);
+		Assert.assertEquals(LogLevel.ERROR, matcher.get("a.b").level);
+		Assert.assertEquals("second", matcher.get("a.c").tag);
+		Assert.assertEquals("first", matcher.get("c.b").tag);
+		Assert.assertEquals(LogLevel.NATIVE, matcher.get("c.b").level);
+	}
+
+	@Test
+	public void literalStar() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("a*.b", new LoggerConfig("literal"));
+
+		Assert.assertEquals("literal", matcher.get("a*.b").tag);
+		Assert.assertEquals("", matcher.get("ab.b").tag);
+	}
+
+	@Test
+	public void manyPatterns() {
+		CategoryMap matcher = new CategoryMap();
+		for (int i = 0; i < 100; i++) {
+			matcher.put("**.package" + i + ".*.internal", new LoggerConfig("tag" + i));
+		}
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("tag" + i, matcher.get("com.example.package" + i + ".a.internal.Class").tag);
+			Assert.assertEquals("", matcher.get("com.example.package" + i + ".internal").tag);
+		}
+	}
+
+	@Test
+	public void categories() {
+		CategoryMap matcher = new CategoryMap();
+		matcher.put("java.**", new LoggerConfig("java"));
+		matcher.put("*.lang", new LoggerConfig("lang"));
+
+		Assert.assertEquals("[*.lang, java.**]", matcher.categories().keySet().toString());
+	}
 }
@@ -31,10 +31,8 @@ import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static uk.uuid.slf4j.android.MockUtil.mockConfigDefault;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.Reader;
-import java.util.Properties;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -52,7 +50,7 @@ import android.util.Log;
 @PrepareForTest(value = { ConfigTest.class, LoggingConfig.class }, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
 public class ConfigTest {
 	@Mock()
-	private Properties ioErrorProperties;
+	private BufferedReader ioErrorReader;
 
 	@Before
 	public void mockLog() {
@@ -485,9 +483,8 @@ public class ConfigTest {
 
 	@Test
 	public void ioErrorPropertiesFileDefaults_NoLogging() throws Exception {
-		PowerMockito.whenNew(Properties.class).withAnyArguments().thenReturn(ioErrorProperties);
-		Mockito.doThrow(IOException.class).when(ioErrorProperties).load(Mockito.any(InputStream.class));
-		Mockito.doThrow(IOException.class).when(ioErrorProperties).load(Mockito.any(Reader.class));
+		PowerMockito.whenNew(BufferedReader.class).withAnyArguments().thenReturn(ioErrorReader);
+		Mockito.when(ioErrorReader.read(Mockito.any(char[].class), Mockito.anyInt(), Mockito.anyInt())).thenThrow(IOException.class);
 
 		MockUtil.mockLogLevelRestricted(LogLevel.SUPPRESS);
 		LoggingConfig config = new LoggingConfig("configTest1.properties", new LogAdapter("N/A", mockConfigDefault()));
@@ -496,13 +493,14 @@ public class ConfigTest {
 		Assert.assertEquals(LogLevel.NATIVE, config.get(null).level);
 		Assert.assertEquals(LoggerConfig.ShowName.FALSE, config.get(null).showName);
 		Assert.assertEquals(false, config.get(null).showThread);
+
+		Mockito.verify(ioErrorReader).close();
 	}
 
 	@Test
 	public void ioErrorPropertiesFileDefaults_WithLogging() throws Exception {
-		PowerMockito.whenNew(Properties.class).withAnyArguments().thenReturn(ioErrorProperties);
-		Mockito.doThrow(IOException.class).when(ioErrorProperties).load(Mockito.any(InputStream.class));
-		Mockito.doThrow(IOException.class).when(ioErrorProperties).load(Mockito.any(Reader.class));
+		PowerMockito.whenNew(BufferedReader.class).withAnyArguments().thenReturn(ioErrorReader);
+		Mockito.when(ioErrorReader.read(Mockito.any(char[].class), Mockito.anyInt(), Mockito.anyInt())).thenThrow(IOException.class);
 
 		MockUtil.mockLogLevel(LogLevel.VERBOSE);
 		LoggingConfig config = new LoggingConfig("configTest1.properties", new LogAdapter("N/A", mockConfigDefault()));
@@ -622,4 +620,86 @@ public class ConfigTest {
 		verifyStatic(Log.class, never());
 		Log.v(anyString(), anyString(), any(Throwable.class));
 	}
+
+	static final class Compiled implements CompiledConfig {
+		@Override
+		public void load(final CategoryMap map, final MarkerMap markers) {
+			LoggerConfig config;
+
+			config = map.config("");
+			config.tag = "Compiled";
+
+			config = map.config("java.lang");
+			config.level = LogLevel.DEBUG;
+
+			markers.put("PERF", LogLevel.VERBOSE);
+		}
+	}
+
+	@Test
+	/**
+	 * Compiled config is used instead of the properties file.
+	 */
+	public void compiledConfig() {
+		MockUtil.mockLogLevel(LogLevel.VERBOSE);
+		LoggingConfig config = new LoggingConfig("configTest1.properties", Compiled.class.getName(), new LogAdapter("N/A", mockConfigDefault()));
+
+		Assert.assertEquals("Compiled", config.get(null).tag);
+		Assert.assertEquals("Compiled", config.get("java.lang.Void").tag);
+		Assert.assertEquals(LogLevel.DEBUG, config.get("java.lang.Void").level);
+		Assert.assertEquals(LogLevel.NATIVE, config.get("java.util.List").level);
+		Assert.assertEquals(LogLevel.VERBOSE, config.get("java.util.List").markers.level(0));
+
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), anyString(), any(Throwable.class));
+	}
+
+	@Test
+	/**
+	 * Properties file is used when there is no compiled config.
+	 */
+	public void missingCompiledConfig() {
+		MockUtil.mockLogLevel(LogLevel.VERBOSE);
+		LoggingConfig config = new LoggingConfig("configTest1.properties", Compiled.class.getName() + "Missing", new LogAdapter("N/A", mockConfigDefault()));
+
+		Assert.assertEquals("JavaApp", config.get(null).tag);
+
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), anyString(), any(Throwable.class));
+	}
+
+	@Test
+	/**
+	 * Properties file is used when the compiled config is not a {@link CompiledConfig}.
+	 */
+	public void invalidCompiledConfig() {
+		MockUtil.mockLogLevel(LogLevel.VERBOSE);
+		LoggingConfig config = new LoggingConfig("configTest1.properties", ConfigTest.class.getName(), new LogAdapter("N/A", mockConfigDefault()));
+
+		Assert.assertEquals("JavaApp", config.get(null).tag);
+
+		verifyStatic(Log.class);
+		Log.e(anyString(), anyString(), any(Throwable.class));
+	}
+
+	@Test
+	/**
+	 * Categories with wildcard segments.
+	 */
+	public void patterns() {
+		MockUtil.mockLogLevel(LogLevel.VERBOSE);
+		LoggingConfig config = new LoggingConfig("patternTest.properties", new LogAdapter("N/A", mockConfigDefault()));
+
+		Assert.assertEquals(LogLevel.INFO, config.get("com.example").level);
+		Assert.assertEquals(LogLevel.WARN, config.get("a.internal.Test").level);
+		Assert.assertEquals(LogLevel.INFO, config.get("a.b.internal.Test").level);
+		Assert.assertEquals(LogLevel.DEBUG, config.get("com.example.cache.Test").level);
+		Assert.assertEquals(LogLevel.DEBUG, config.get("com.example.a.b.cache.Test").level);
+		Assert.assertEquals(LogLevel.ERROR, config.get("com.example.app.cache.Test").level);
+		Assert.assertEquals("Resources", config.get("com.example.R").tag);
+		Assert.assertEquals("PatternTest", config.get("com.example.Rx").tag);
+
+		verifyStatic(Log.class, never());
+		Log.w(anyString(), anyString());
+	}
 }
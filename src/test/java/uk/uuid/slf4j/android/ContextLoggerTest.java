@@ -0,0 +1,199 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import android.util.Log;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = ContextLoggerTest.class, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
+public class ContextLoggerTest {
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+	}
+
+	private static ContextLogger createLogger(boolean showThread, LoggerConfig.ShowName showName) {
+		LoggerConfig config = new LoggerConfig("ContextLoggerTest");
+		config.level = LogLevel.INFO;
+		config.showThread = showThread;
+		config.showName = showName;
+		config.merge(LoggerConfig.DEFAULT);
+		return new LogAdapter("test.context.Logger", config);
+	}
+
+	@Test
+	public void withContext() {
+		ContextLogger parent = createLogger(false, LoggerConfig.ShowName.FALSE);
+		ContextLogger log = parent.withContext("conn", 42);
+		Assert.assertEquals("test.context.Logger", log.getName());
+
+		log.info("Connected");
+		log.info("Received {} bytes", 100);
+		log.warn("Received {} of {} bytes", 50, 100);
+		log.error("Closed {} {} {}", "by", "remote", "peer");
+		log.error(null);
+		parent.info("Parent");
+
+		Exception e = new Exception();
+		log.warn("Failed", e);
+		log.error("Failed {}", "again", e);
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{conn=42} Connected");
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{conn=42} Received 100 bytes");
+		verifyStatic(Log.class, times(1));
+		Log.w("ContextLoggerTest", "{conn=42} Received 50 of 100 bytes");
+		verifyStatic(Log.class, times(1));
+		Log.e("ContextLoggerTest", "{conn=42} Closed by remote peer");
+		verifyStatic(Log.class, times(1));
+		Log.e("ContextLoggerTest", "{conn=42} null");
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "Parent");
+		verifyStatic(Log.class, times(1));
+		Log.w("ContextLoggerTest", "{conn=42} Failed", e);
+		verifyStatic(Log.class, times(1));
+		Log.e("ContextLoggerTest", "{conn=42} Failed again", e);
+	}
+
+	@Test
+	public void nested() {
+		ContextLogger log = createLogger(false, LoggerConfig.ShowName.FALSE).withContext("conn", 42);
+		Logger session = log.withContext("session", "abc").withContext("user", null);
+
+		session.info("Message");
+		log.info("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{conn=42, session=abc, user=null} Message");
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{conn=42} Message");
+	}
+
+	@Test
+	public void shortName() {
+		ContextLogger log = createLogger(false, LoggerConfig.ShowName.SHORT).withContext("conn", 42);
+
+		log.info("Message");
+		log.info("Message {}", 1);
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "Logger: {conn=42} Message");
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "Logger: {conn=42} Message 1");
+	}
+
+	@Test
+	public void threadName() {
+		ContextLogger log = createLogger(true, LoggerConfig.ShowName.SHORT).withContext("conn", 42);
+
+		log.info("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "[" + Thread.currentThread().getName() + "] Logger: {conn=42} Message");
+	}
+
+	@Test
+	public void caller() {
+		ContextLogger log = createLogger(false, LoggerConfig.ShowName.CALLER).withContext("conn", 42);
+
+		log.info("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.i(eq("ContextLoggerTest"), matches("^" + Pattern.quote(ContextLoggerTest.class.getName() + ".caller(ContextLoggerTest.java:")
+				+ "[0-9]+\\): \\{conn=42\\} Message$"));
+	}
+
+	@Test
+	public void mdc() {
+		LoggerConfig config = new LoggerConfig("ContextLoggerTest");
+		config.level = LogLevel.INFO;
+		config.showMdc = "requestId";
+		config.merge(LoggerConfig.DEFAULT);
+		ContextLogger log = new LogAdapter("test.context.Logger", config).withContext("conn", 42);
+
+		log.info("No MDC");
+		MDC.put("requestId", "r1");
+		try {
+			log.info("Message");
+		} finally {
+			MDC.clear();
+		}
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{conn=42} No MDC");
+		verifyStatic(Log.class, times(1));
+		Log.i("ContextLoggerTest", "{requestId=r1} {conn=42} Message");
+	}
+
+	@Test
+	public void level() {
+		mockLogLevel("slf4j-android", LogLevel.SUPPRESS);
+		mockLogLevel("test.context.Level", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		ContextLogger log = ((ContextLogger)factory.getLogger("test.context.Level")).withContext("conn", 42);
+
+		// The child logger uses the level of its parent, including escalation
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+		log.debug("Before");
+
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertTrue(log.isDebugEnabled());
+			log.debug("During");
+		} finally {
+			scope.close();
+		}
+
+		verifyStatic(Log.class, never());
+		Log.d(anyString(), eq("{conn=42} Before"));
+		verifyStatic(Log.class, times(1));
+		Log.d("test.context.Level", "{conn=42} During");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nullKey() {
+		createLogger(false, LoggerConfig.ShowName.FALSE).withContext(null, 42);
+	}
+}
@@ -24,9 +24,17 @@ package uk.uuid.slf4j.android;
 
 import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
 import static uk.uuid.slf4j.android.MockUtil.mockLogLevelRestricted;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 
+import java.util.Arrays;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.FutureTask;
 
 import org.junit.Assert;
@@ -143,7 +151,7 @@ public class FactoryNoLoggingTest {
 
 		// Trap the instantiation of LogAdapter objects
 		CyclicBarrierNewInstanceAnswer<LogAdapter> barrier = new CyclicBarrierNewInstanceAnswer<LogAdapter>(3, LogAdapter.class, String.class,
-				LoggerConfig.class);
+				LoggerConfig.class, LogAdapter.StateTable.class);
 		try {
 			PowerMockito.whenNew(LogAdapter.class).withAnyArguments().thenAnswer(barrier);
 
@@ -180,4 +188,182 @@ public class FactoryNoLoggingTest {
 			barrier.reset();
 		}
 	}
+
+	@Test
+	public void lazyConfig() {
+		uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory();
+
+		// Nothing is loaded until the first logger is requested
+		Assert.assertFalse(factory.isConfigLoaded());
+		verifyStatic(Log.class, never());
+		Log.isLoggable(anyString(), anyInt());
+
+		Logger log = factory.getLogger("java.logger.name.here.lazy");
+		Assert.assertTrue(factory.isConfigLoaded());
+		Assert.assertEquals("java.logger.name.here.lazy", log.getName());
+	}
+
+	@Test
+	public void prewarm() throws InterruptedException {
+		uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory();
+		Assert.assertFalse(factory.isConfigLoaded());
+
+		factory.prewarm();
+		for (int i = 0; i < 1000 && !factory.isConfigLoaded(); i++) {
+			Thread.sleep(10);
+		}
+		Assert.assertTrue(factory.isConfigLoaded());
+
+		// Calling it again has no effect
+		factory.prewarm();
+		Assert.assertTrue(factory.isConfigLoaded());
+	}
+
+	@Test
+	public void prewarmNames() throws InterruptedException {
+		mockLogLevel("prewarm.test.One", LogLevel.DEBUG);
+		mockLogLevel("prewarm.test.Two", LogLevel.WARN);
+
+		uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory();
+		factory.prewarm(Arrays.asList("prewarm.test.One", "prewarm.test.Two", "prewarm.test.One"));
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("slf4j-android prewarm")) {
+				thread.join();
+			}
+		}
+
+		// The loggers have been created and their native levels resolved
+		Assert.assertTrue(factory.isConfigLoaded());
+		Assert.assertEquals(2, factory.getLoggerCount());
+		verifyStatic(Log.class, times(3));
+		Log.isLoggable(eq("prewarm.test.One"), anyInt());
+		verifyStatic(Log.class, times(2));
+		Log.isLoggable(eq("prewarm.test.Two"), anyInt());
+
+		Logger log1 = factory.getLogger("prewarm.test.One");
+		Assert.assertTrue(log1.isDebugEnabled());
+		Assert.assertFalse(log1.isTraceEnabled());
+
+		Logger log2 = factory.getLogger("prewarm.test.Two");
+		Assert.assertTrue(log2.isWarnEnabled());
+		Assert.assertFalse(log2.isInfoEnabled());
+
+		// Using them does not check the native levels again
+		Assert.assertEquals(2, factory.getLoggerCount());
+		verifyStatic(Log.class, times(3));
+		Log.isLoggable(eq("prewarm.test.One"), anyInt());
+		verifyStatic(Log.class, times(2));
+		Log.isLoggable(eq("prewarm.test.Two"), anyInt());
+	}
+
+	@Test
+	public void provisional() throws Exception {
+		mockLogLevel("TagTest", LogLevel.ERROR);
+
+		// Trap the instantiation of the LoggingConfig
+		CyclicBarrierNewInstanceAnswer<LoggingConfig> barrier = new CyclicBarrierNewInstanceAnswer<LoggingConfig>(2, LoggingConfig.class,
+				String.class, Logger.class);
+		try {
+			PowerMockito.whenNew(LoggingConfig.class).withAnyArguments().thenAnswer(barrier);
+
+			uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory();
+			factory.prewarm();
+
+			// The config is still loading so the logger has the default config
+			Logger log = factory.getLogger("java.logger.name.here.test2");
+			Assert.assertFalse(factory.isConfigLoaded());
+			Assert.assertFalse(log.isErrorEnabled());
+
+			// Allow the config to load
+			barrier.await();
+			for (int i = 0; i < 1000 && !log.isErrorEnabled(); i++) {
+				Thread.sleep(10);
+			}
+
+			Assert.assertTrue(log.isErrorEnabled());
+			Assert.assertFalse(log.isWarnEnabled());
+			Assert.assertSame(log, factory.getLogger("java.logger.name.here.test2"));
+			Assert.assertEquals("TagTest", ((LogAdapter)log).getConfig().tag);
+		} finally {
+			barrier.reset();
+		}
+	}
+
+	private static final class GetLoggers implements Runnable {
+		private final uk.uuid.slf4j.android.LoggerFactory factory;
+		private final CyclicBarrier start;
+		private final int offset;
+		private final int count;
+
+		GetLoggers(final uk.uuid.slf4j.android.LoggerFactory factory, final CyclicBarrier start, final int offset, final int count) {
+			this.factory = factory;
+			this.start = start;
+			this.offset = offset;
+			this.count = count;
+		}
+
+		@Override
+		public void run() {
+			try {
+				start.await();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+
+			for (int i = 0; i < count; i++) {
+				factory.getLogger("java.logger.name.here.test2.handover" + ((offset + i) % count));
+			}
+		}
+	}
+
+	@Test
+	public void provisionalHandover() throws Exception {
+		final int threads = 4;
+		final int loggers = 500;
+
+		// Trap the instantiation of the LoggingConfig
+		CyclicBarrierNewInstanceAnswer<LoggingConfig> barrier = new CyclicBarrierNewInstanceAnswer<LoggingConfig>(2, LoggingConfig.class,
+				String.class, Logger.class);
+		try {
+			PowerMockito.whenNew(LoggingConfig.class).withAnyArguments().thenAnswer(barrier);
+
+			uk.uuid.slf4j.android.LoggerFactory factory = new uk.uuid.slf4j.android.LoggerFactory();
+			factory.prewarm();
+
+			// Create loggers on several threads while the config is published
+			CyclicBarrier start = new CyclicBarrier(threads + 1);
+			Thread[] getLoggers = new Thread[threads];
+			for (int i = 0; i < threads; i++) {
+				getLoggers[i] = new Thread(new GetLoggers(factory, start, i * loggers / threads, loggers));
+				getLoggers[i].start();
+			}
+
+			start.await();
+			barrier.await();
+
+			for (Thread thread : getLoggers) {
+				thread.join();
+			}
+
+			// Every logger is eventually upgraded to the loaded config
+			int provisional = loggers;
+			for (int i = 0; i < 1000 && provisional > 0; i++) {
+				provisional = 0;
+				for (int j = 0; j < loggers; j++) {
+					LogAdapter log = (LogAdapter)factory.getLogger("java.logger.name.here.test2.handover" + j);
+					if (!"TagTest".equals(log.getConfig().tag)) {
+						provisional++;
+					}
+				}
+
+				if (provisional > 0) {
+					Thread.sleep(10);
+				}
+			}
+
+			Assert.assertEquals(0, provisional);
+		} finally {
+			barrier.reset();
+		}
+	}
 }
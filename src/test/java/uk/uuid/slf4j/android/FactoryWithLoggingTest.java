@@ -181,7 +181,7 @@ public class FactoryWithLoggingTest {
 
 		// Trap the instantiation of LogAdapter objects
 		CyclicBarrierNewInstanceAnswer<LogAdapter> barrier = new CyclicBarrierNewInstanceAnswer<LogAdapter>(3, LogAdapter.class, String.class,
-				LoggerConfig.class);
+				LoggerConfig.class, LogAdapter.StateTable.class);
 		try {
 			PowerMockito.whenNew(LogAdapter.class).withAnyArguments().thenAnswer(barrier);
 
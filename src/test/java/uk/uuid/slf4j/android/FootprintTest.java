@@ -0,0 +1,263 @@
+/**
+ * Copyright 2013  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+import android.util.Log;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = FootprintTest.class, fullyQualifiedNames = { "android.util.Log" })
+public class FootprintTest {
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+	}
+
+	private static List<Logger> createLoggers(LogAdapter.StateTable table, LoggerConfig config, int count) {
+		List<Logger> loggers = new ArrayList<Logger>(count);
+		for (int i = 0; i < count; i++) {
+			loggers.add(new LogAdapter("footprint.logger" + i + ".Name" + (i % 10), config, table));
+		}
+		return loggers;
+	}
+
+	private static void share(int count) {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig("FootprintTest");
+		config.level = LogLevel.DEBUG;
+		config.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, count);
+
+		// Every logger has the same settings
+		Assert.assertEquals(1, table.size());
+		for (Logger log : loggers) {
+			Assert.assertTrue(log.isDebugEnabled());
+			Assert.assertFalse(log.isTraceEnabled());
+		}
+	}
+
+	@Test
+	public void share10k() {
+		share(10000);
+	}
+
+	@Test
+	public void share100k() {
+		share(100000);
+	}
+
+	@Test
+	public void sharePrefix() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig("FootprintTest");
+		config.showName = LoggerConfig.ShowName.SHORT;
+		config.merge(LoggerConfig.DEFAULT);
+
+		createLoggers(table, config, 10000);
+
+		// Loggers with the same short name have the same settings
+		Assert.assertEquals(10, table.size());
+	}
+
+	@Test
+	@SuppressFBWarnings("ES_COMPARING_STRINGS_WITH_EQ")
+	public void shareTag() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+
+		// Loggers with the same generated tag share one instance of it
+		String tag = table.tag("org.example.project.subproject.MyClass");
+		Assert.assertEquals("o.e.p.s.MyClass", tag);
+		Assert.assertSame(tag, table.tag("org.example.project.subproject2.MyClass"));
+		Assert.assertSame(tag, table.tag("org.example.project.subproject.MyClass"));
+	}
+
+	@Test
+	public void shareSuppressed() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig(LogLevel.SUPPRESS);
+		config.showName = LoggerConfig.ShowName.LONG;
+		config.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, 10000);
+
+		// Suppressed loggers share settings even though their tags and prefixes would be different
+		Assert.assertEquals(1, table.size());
+		for (int i = 0; i < loggers.size(); i++) {
+			Assert.assertEquals("footprint.logger" + i + ".Name" + (i % 10), loggers.get(i).getName());
+			Assert.assertFalse(loggers.get(i).isErrorEnabled());
+		}
+
+		verifyStatic(Log.class, times(0));
+		Log.isLoggable(anyString(), anyInt());
+	}
+
+	@Test
+	public void shareSuppressedMarker() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig(LogLevel.SUPPRESS);
+		config.showName = LoggerConfig.ShowName.LONG;
+		config.markers = new MarkerMap();
+		config.markers.put("FOOTPRINT_AUDIT", LogLevel.INFO);
+		config.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, 10000);
+		BitSetMarkerFactory markerFactory = new BitSetMarkerFactory();
+		Marker audit = markerFactory.getMarker("FOOTPRINT_AUDIT");
+		Marker other = markerFactory.getMarker("FOOTPRINT_OTHER");
+
+		// Suppressed loggers share settings even though a marker is configured
+		Assert.assertEquals(1, table.size());
+		for (int i = 0; i < loggers.size(); i++) {
+			Assert.assertFalse(loggers.get(i).isErrorEnabled());
+			Assert.assertFalse(loggers.get(i).isErrorEnabled(other));
+		}
+		Assert.assertEquals(1, table.size());
+
+		// Until a message has the configured marker
+		Assert.assertTrue(loggers.get(0).isInfoEnabled(audit));
+		Assert.assertFalse(loggers.get(0).isDebugEnabled(audit));
+		Assert.assertFalse(loggers.get(0).isErrorEnabled());
+		Assert.assertFalse(loggers.get(0).isErrorEnabled(other));
+		Assert.assertEquals(2, table.size());
+
+		verifyStatic(Log.class, times(0));
+		Log.isLoggable(anyString(), anyInt());
+	}
+
+	@Test
+	public void shareSuppressedEscalated() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig(LogLevel.SUPPRESS);
+		config.showName = LoggerConfig.ShowName.LONG;
+		config.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, 10000);
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			// Escalating only raises the level flags, so suppressed loggers still share settings
+			for (Logger log : loggers) {
+				LogScope.apply((LogAdapter)log);
+			}
+			Assert.assertEquals(1, table.size());
+
+			// Until they're used by the escalated thread
+			Assert.assertTrue(loggers.get(0).isDebugEnabled());
+			Assert.assertFalse(loggers.get(0).isTraceEnabled());
+			Assert.assertEquals(2, table.size());
+		} finally {
+			scope.close();
+		}
+
+		LogScope.apply((LogAdapter)loggers.get(0));
+		Assert.assertFalse(loggers.get(0).isErrorEnabled());
+	}
+
+	@Test
+	public void reconfigureSuppressed() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig(LogLevel.SUPPRESS);
+		config.showName = LoggerConfig.ShowName.LONG;
+		config.merge(LoggerConfig.DEFAULT);
+		LoggerConfig reloaded = new LoggerConfig(LogLevel.SUPPRESS);
+		reloaded.showName = LoggerConfig.ShowName.SHORT;
+		reloaded.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, 100);
+		Assert.assertEquals(1, table.size());
+
+		// Settings are only deferred when a logger is created, so reconfigured loggers have their own tag and prefix
+		// (the first 10 logger names are short enough to be their tag, the others are compacted to 10 tags)
+		for (Logger log : loggers) {
+			LogScope.reconfigure((LogAdapter)log, reloaded);
+			Assert.assertFalse(log.isErrorEnabled());
+		}
+		Assert.assertTrue(table.size() >= 20);
+	}
+
+	@Test
+	public void rateLimitNotShared() {
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig("FootprintTest");
+		config.rateLimit = 100;
+		config.merge(LoggerConfig.DEFAULT);
+
+		createLoggers(table, config, 100);
+
+		// Each logger has its own rate limit
+		Assert.assertEquals(0, table.size());
+	}
+
+	@Test
+	public void shareNativeLevel() {
+		mockLogLevel("FootprintTest", LogLevel.WARN);
+
+		LogAdapter.StateTable table = new LogAdapter.StateTable(LogRateLimiter.SYSTEM_TICKER, true);
+		LoggerConfig config = new LoggerConfig("FootprintTest");
+		config.merge(LoggerConfig.DEFAULT);
+
+		List<Logger> loggers = createLoggers(table, config, 1000);
+		for (Logger log : loggers) {
+			Assert.assertTrue(log.isWarnEnabled());
+			Assert.assertFalse(log.isInfoEnabled());
+			Assert.assertFalse(log.isDebugEnabled());
+		}
+
+		// The native level is resolved once for all the loggers
+		verifyStatic(Log.class, times(2));
+		Log.isLoggable(anyString(), anyInt());
+	}
+
+	@Test
+	public void fields() {
+		// A logger is only its name, a pointer to its settings and its level flags
+		int count = 0;
+		for (Field field : LogAdapter.class.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				count++;
+			}
+		}
+		Assert.assertEquals(3, count);
+	}
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import android.util.Log;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = LogScopeTest.class, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
+public class LogScopeTest {
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+		mockLogLevel("slf4j-android", LogLevel.SUPPRESS);
+	}
+
+	private static boolean isDebugEnabledOnOtherThread(final Logger log) throws Exception {
+		FutureTask<Boolean> task = new FutureTask<Boolean>(new Callable<Boolean>() {
+			@Override
+			public Boolean call() {
+				log.debug("Other thread");
+				return log.isDebugEnabled();
+			}
+		});
+		new Thread(task).start();
+		return task.get();
+	}
+
+	private static boolean isDebugEnabledOnOtherThread(final Logger log, final Marker marker) throws Exception {
+		FutureTask<Boolean> task = new FutureTask<Boolean>(new Callable<Boolean>() {
+			@Override
+			public Boolean call() {
+				log.debug(marker, "Other thread");
+				return log.isDebugEnabled(marker);
+			}
+		});
+		new Thread(task).start();
+		return task.get();
+	}
+
+	@Test
+	public void escalate() throws Exception {
+		mockLogLevel("test.scope.Escalate", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.Escalate");
+
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+		log.debug("Before");
+
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertEquals(LogLevel.DEBUG, scope.getLevel());
+			Assert.assertTrue(log.isInfoEnabled());
+			Assert.assertTrue(log.isDebugEnabled());
+			Assert.assertFalse(log.isTraceEnabled());
+			log.debug("During");
+			log.trace("During");
+
+			Assert.assertFalse(isDebugEnabledOnOtherThread(log));
+		} finally {
+			scope.close();
+		}
+
+		Assert.assertFalse(log.isDebugEnabled());
+		log.debug("After");
+
+		verifyStatic(Log.class, times(1));
+		Log.d("test.scope.Escalate", "During");
+		verifyStatic(Log.class, never());
+		Log.d("test.scope.Escalate", "Before");
+		verifyStatic(Log.class, never());
+		Log.d("test.scope.Escalate", "After");
+		verifyStatic(Log.class, never());
+		Log.d("test.scope.Escalate", "Other thread");
+		verifyStatic(Log.class, never());
+		Log.v(anyString(), anyString());
+	}
+
+	@Test
+	public void markerOtherThread() throws Exception {
+		mockLogLevel("test.scope.Marker", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.Marker");
+		Marker marker = new BasicMarkerFactory().getDetachedMarker("OTHER");
+
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertTrue(log.isDebugEnabled(marker));
+			log.debug(marker, "During");
+
+			Assert.assertFalse(isDebugEnabledOnOtherThread(log, marker));
+		} finally {
+			scope.close();
+		}
+
+		verifyStatic(Log.class, times(1));
+		Log.d("test.scope.Marker", "During");
+		verifyStatic(Log.class, never());
+		Log.d("test.scope.Marker", "Other thread");
+	}
+
+	@Test
+	public void nested() {
+		mockLogLevel("test.scope.Nested", LogLevel.WARN);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.Nested");
+
+		LogScope outer = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertTrue(log.isDebugEnabled());
+			Assert.assertFalse(log.isTraceEnabled());
+
+			LogScope inner = LoggerFactory.escalate(LogLevel.VERBOSE);
+			try {
+				Assert.assertTrue(log.isTraceEnabled());
+			} finally {
+				inner.close();
+			}
+
+			Assert.assertTrue(log.isDebugEnabled());
+			Assert.assertFalse(log.isTraceEnabled());
+
+			LogScope lower = LoggerFactory.escalate(LogLevel.INFO);
+			try {
+				Assert.assertEquals(LogLevel.DEBUG, lower.getLevel());
+				Assert.assertTrue(log.isDebugEnabled());
+			} finally {
+				lower.close();
+			}
+		} finally {
+			outer.close();
+		}
+
+		Assert.assertFalse(log.isInfoEnabled());
+	}
+
+	@Test
+	public void closeTwice() {
+		mockLogLevel("test.scope.CloseTwice", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.CloseTwice");
+
+		LogScope outer = LoggerFactory.escalate(LogLevel.DEBUG);
+		LogScope inner = LoggerFactory.escalate(LogLevel.VERBOSE);
+		inner.close();
+		inner.close();
+
+		Assert.assertTrue(log.isDebugEnabled());
+		Assert.assertFalse(log.isTraceEnabled());
+
+		outer.close();
+		Assert.assertFalse(log.isDebugEnabled());
+	}
+
+	@Test
+	public void closeOutOfOrder() {
+		mockLogLevel("test.scope.OutOfOrder", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.OutOfOrder");
+
+		LogScope outer = LoggerFactory.escalate(LogLevel.DEBUG);
+		LogScope inner = LoggerFactory.escalate(LogLevel.VERBOSE);
+		outer.close();
+		inner.close();
+
+		Assert.assertFalse(log.isDebugEnabled());
+	}
+
+	@Test
+	public void closedByOtherThread() throws Exception {
+		mockLogLevel("test.scope.ClosedByOtherThread", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.scope.ClosedByOtherThread");
+
+		final LogScope scope = LoggerFactory.escalate(LogLevel.VERBOSE);
+		FutureTask<LogScope> task = new FutureTask<LogScope>(new Callable<LogScope>() {
+			@Override
+			public LogScope call() {
+				/* Keeps the level flags raised */
+				LogScope other = LoggerFactory.escalate(LogLevel.VERBOSE);
+				scope.close();
+				return other;
+			}
+		});
+		new Thread(task).start();
+		LogScope other = task.get();
+		try {
+			Assert.assertFalse(log.isTraceEnabled());
+			Assert.assertFalse(log.isDebugEnabled());
+			Assert.assertTrue(log.isInfoEnabled());
+		} finally {
+			other.close();
+		}
+	}
+
+	@Test
+	public void newLogger() {
+		mockLogLevel("test.scope.NewLogger", LogLevel.INFO);
+		LoggerFactory factory = new LoggerFactory();
+
+		LogScope scope = LoggerFactory.escalate(LogLevel.VERBOSE);
+		try {
+			Logger log = factory.getLogger("test.scope.NewLogger");
+			Assert.assertTrue(log.isTraceEnabled());
+			log.trace("Message");
+		} finally {
+			scope.close();
+		}
+
+		Logger log = factory.getLogger("test.scope.NewLogger");
+		Assert.assertFalse(log.isDebugEnabled());
+
+		verifyStatic(Log.class, times(1));
+		Log.v("test.scope.NewLogger", "Message");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidNative() {
+		LoggerFactory.escalate(LogLevel.NATIVE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidSuppress() {
+		LoggerFactory.escalate(LogLevel.SUPPRESS);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidNull() {
+		LoggerFactory.escalate(null);
+	}
+}
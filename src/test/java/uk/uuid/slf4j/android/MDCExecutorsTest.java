@@ -0,0 +1,190 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class MDCExecutorsTest {
+	private ExecutorService pool;
+
+	@Before
+	@SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
+	public void createPool() throws Exception {
+		pool = Executors.newSingleThreadExecutor();
+
+		// The pool thread has its own context
+		pool.submit(new Runnable() {
+			@Override
+			public void run() {
+				MDC.put("test.pool", "pool");
+			}
+		}).get();
+	}
+
+	@After
+	public void shutdownPool() {
+		pool.shutdown();
+		MDC.clear();
+	}
+
+	private static final class Get implements Callable<String> {
+		private final String key;
+
+		Get(final String key) {
+			this.key = key;
+		}
+
+		@Override
+		public String call() {
+			return MDC.get(key);
+		}
+	}
+
+	private static final class Put implements Callable<String> {
+		private final String key;
+		private final String value;
+
+		Put(final String key, final String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String call() {
+			String previous = MDC.get(key);
+			MDC.put(key, value);
+			return previous;
+		}
+	}
+
+	@Test
+	public void callable() throws Exception {
+		MDC.put("test.a", "1");
+		Callable<String> task = MDCExecutors.wrap(new Get("test.a"));
+
+		// The task has the context from when it was wrapped
+		MDC.put("test.a", "2");
+		Assert.assertEquals("1", pool.submit(task).get());
+		Assert.assertEquals("2", MDC.get("test.a"));
+
+		// The context of the pool thread is restored
+		Assert.assertNull(pool.submit(new Get("test.a")).get());
+		Assert.assertEquals("pool", pool.submit(new Get("test.pool")).get());
+
+		// The task can be run again
+		Assert.assertEquals("1", pool.submit(task).get());
+	}
+
+	@Test
+	@SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
+	public void runnable() throws Exception {
+		final AtomicReference<String> value = new AtomicReference<String>();
+		MDC.put("test.a", "1");
+		Runnable task = MDCExecutors.wrap(new Runnable() {
+			@Override
+			public void run() {
+				value.set(MDC.get("test.a"));
+			}
+		});
+		MDC.clear();
+
+		pool.submit(task).get();
+		Assert.assertEquals("1", value.get());
+		Assert.assertEquals("pool", pool.submit(new Get("test.pool")).get());
+
+		// Run on the current thread
+		task.run();
+		Assert.assertNull(MDC.get("test.a"));
+	}
+
+	@Test
+	public void taskChanges() throws Exception {
+		MDC.put("test.a", "1");
+		Callable<String> task = MDCExecutors.wrap(new Put("test.a", "changed"));
+
+		// Changes made by the task are not visible to the submitting thread or other tasks
+		Assert.assertEquals("1", pool.submit(task).get());
+		Assert.assertEquals("1", pool.submit(task).get());
+		Assert.assertEquals("1", MDC.get("test.a"));
+		Assert.assertEquals("pool", pool.submit(new Get("test.pool")).get());
+	}
+
+	@Test
+	@SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
+	public void executor() throws Exception {
+		final CountDownLatch done = new CountDownLatch(1);
+		final AtomicReference<String> value = new AtomicReference<String>();
+		Executor executor = MDCExecutors.wrap((Executor)pool);
+
+		MDC.put("test.a", "1");
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				value.set(MDC.get("test.a"));
+				done.countDown();
+			}
+		});
+		MDC.put("test.a", "2");
+
+		Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+		Assert.assertEquals("1", value.get());
+	}
+
+	@Test
+	public void executorService() throws Exception {
+		ExecutorService executor = MDCExecutors.wrap(pool);
+
+		MDC.put("test.a", "1");
+		Future<String> future = executor.submit(new Get("test.a"));
+		MDC.put("test.a", "2");
+		Assert.assertEquals("1", future.get());
+
+		List<Future<String>> futures = executor.invokeAll(Arrays.asList(new Get("test.a"), new Get("test.pool")));
+		Assert.assertEquals("2", futures.get(0).get());
+		Assert.assertNull(futures.get(1).get());
+
+		Assert.assertEquals("2", executor.invokeAny(Arrays.asList(new Get("test.a"))));
+		Assert.assertEquals("pool", pool.submit(new Get("test.pool")).get());
+
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertTrue(pool.isTerminated());
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import android.util.Log;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = MDCLoggerTest.class, fullyQualifiedNames = { "android.util.Log" })
+public class MDCLoggerTest {
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+	}
+
+	@After
+	public void clear() {
+		MDC.clear();
+	}
+
+	private static Logger createLogger(String showMdc, boolean showThread, LoggerConfig.ShowName showName) {
+		LoggerConfig config = new LoggerConfig("MDCLoggerTest");
+		config.level = LogLevel.VERBOSE;
+		config.showMdc = showMdc;
+		config.showThread = showThread;
+		config.showName = showName;
+		config.merge(LoggerConfig.DEFAULT);
+		return new LogAdapter("test.mdc.Logger", config);
+	}
+
+	@Test
+	public void showMdc() {
+		Logger log = createLogger("requestId,userId", false, LoggerConfig.ShowName.FALSE);
+
+		log.info("No context");
+		MDC.put("requestId", "r1");
+		log.info("Request");
+		MDC.put("userId", "u1");
+		MDC.put("other", "o1");
+		log.info("Request {}", "user");
+		MDC.remove("requestId");
+		log.info("User");
+
+		verifyStatic(Log.class, times(1));
+		Log.i("MDCLoggerTest", "No context");
+		verifyStatic(Log.class, times(1));
+		Log.i("MDCLoggerTest", "{requestId=r1} Request");
+		verifyStatic(Log.class, times(1));
+		Log.i("MDCLoggerTest", "{requestId=r1, userId=u1} Request user");
+		verifyStatic(Log.class, times(1));
+		Log.i("MDCLoggerTest", "{userId=u1} User");
+	}
+
+	@Test
+	public void showMdcThreadName() {
+		Logger log = createLogger("requestId", true, LoggerConfig.ShowName.SHORT);
+
+		MDC.put("requestId", "r1");
+		log.warn("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.w("MDCLoggerTest", "{requestId=r1} [" + Thread.currentThread().getName() + "] Logger: Message");
+	}
+
+	@Test
+	public void showMdcThreadCaller() {
+		Logger log = createLogger("requestId", true, LoggerConfig.ShowName.CALLER);
+
+		log.error("No context");
+		MDC.put("requestId", "r1");
+		log.error("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.e(eq("MDCLoggerTest"), matches("^" + Pattern.quote("[" + Thread.currentThread().getName() + "] "
+				+ MDCLoggerTest.class.getName() + ".showMdcThreadCaller(MDCLoggerTest.java:") + "[0-9]+\\): No context$"));
+		verifyStatic(Log.class, times(1));
+		Log.e(eq("MDCLoggerTest"), matches("^" + Pattern.quote("{requestId=r1} [" + Thread.currentThread().getName() + "] "
+				+ MDCLoggerTest.class.getName() + ".showMdcThreadCaller(MDCLoggerTest.java:") + "[0-9]+\\): Message$"));
+	}
+
+	@Test
+	public void showMdcName() {
+		Logger log = createLogger("requestId", false, LoggerConfig.ShowName.SHORT);
+
+		log.warn("No context");
+		MDC.put("requestId", "r1");
+		log.warn("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.w("MDCLoggerTest", "Logger: No context");
+		verifyStatic(Log.class, times(1));
+		Log.w("MDCLoggerTest", "{requestId=r1} Logger: Message");
+	}
+
+	@Test
+	public void showMdcSlot() {
+		CopyOnWriteMDCAdapter.Key key = CopyOnWriteMDCAdapter.key("test.mdc.slot");
+		Logger log = createLogger("test.mdc.slot", false, LoggerConfig.ShowName.FALSE);
+
+		key.put("s1");
+		log.debug("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.d("MDCLoggerTest", "{test.mdc.slot=s1} Message");
+	}
+
+	@Test
+	public void showMdcCaller() {
+		Logger log = createLogger("requestId", false, LoggerConfig.ShowName.CALLER);
+
+		MDC.put("requestId", "r1");
+		log.error("Message");
+
+		// The caller is still found through the extra stack frame
+		verifyStatic(Log.class, times(1));
+		Log.e(eq("MDCLoggerTest"), matches("^\\{requestId=r1\\} " + Pattern.quote(MDCLoggerTest.class.getName() + ".showMdcCaller(MDCLoggerTest.java:")
+				+ "[0-9]+\\): Message$"));
+	}
+
+	@Test
+	@SuppressFBWarnings("ES_COMPARING_STRINGS_WITH_EQ")
+	public void cached() {
+		CopyOnWriteMDCAdapter.Format format = CopyOnWriteMDCAdapter.Format.get("requestId,userId");
+		Assert.assertSame(format, CopyOnWriteMDCAdapter.Format.get("requestId,userId"));
+		Assert.assertEquals("", CopyOnWriteMDCAdapter.render(format));
+
+		MDC.put("requestId", "r1");
+		String rendered = CopyOnWriteMDCAdapter.render(format);
+		Assert.assertEquals("{requestId=r1} ", rendered);
+
+		// The rendered context is reused until the context is modified
+		Assert.assertSame(rendered, CopyOnWriteMDCAdapter.render(format));
+		MDC.get("requestId");
+		MDC.remove("userId");
+		Assert.assertSame(rendered, CopyOnWriteMDCAdapter.render(format));
+
+		MDC.put("requestId", "r2");
+		Assert.assertEquals("{requestId=r2} ", CopyOnWriteMDCAdapter.render(format));
+
+		// Including a different format with the same context
+		Assert.assertEquals("", CopyOnWriteMDCAdapter.render(CopyOnWriteMDCAdapter.Format.get("userId")));
+		Assert.assertEquals("{requestId=r2} ", CopyOnWriteMDCAdapter.render(format));
+	}
+
+	@Test
+	public void config() {
+		LoggingConfig.Builder builder = new LoggingConfig.Builder(null);
+		builder.property("showMdc", "requestId");
+		builder.property("showMdc.test.mdc", " requestId, ,userId ");
+		builder.property("showMdc.test.mdc.none", "");
+
+		Assert.assertEquals("requestId", builder.map.config("").showMdc);
+		Assert.assertEquals("requestId,userId", builder.map.config("test.mdc").showMdc);
+		Assert.assertEquals("", builder.map.config("test.mdc.none").showMdc);
+	}
+}
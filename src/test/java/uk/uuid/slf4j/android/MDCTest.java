@@ -0,0 +1,319 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.slf4j.impl.StaticMDCBinder;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+public class MDCTest {
+	@After
+	public void clear() {
+		MDC.clear();
+	}
+
+	@Test
+	public void singleton() {
+		Assert.assertSame(CopyOnWriteMDCAdapter.getInstance(), MDC.getMDCAdapter());
+		Assert.assertSame(StaticMDCBinder.getSingleton().getMDCA(), StaticMDCBinder.getSingleton().getMDCA());
+		Assert.assertEquals(CopyOnWriteMDCAdapter.class.getName(), StaticMDCBinder.getSingleton().getMDCAdapterClassStr());
+	}
+
+	@Test
+	public void putGetRemove() {
+		Assert.assertNull(MDC.get("test.a"));
+
+		MDC.put("test.a", "1");
+		MDC.put("test.b", "2");
+		Assert.assertEquals("1", MDC.get("test.a"));
+		Assert.assertEquals("2", MDC.get("test.b"));
+
+		MDC.put("test.a", "3");
+		Assert.assertEquals("3", MDC.get("test.a"));
+
+		MDC.remove("test.a");
+		MDC.remove("test.c");
+		Assert.assertNull(MDC.get("test.a"));
+		Assert.assertEquals("2", MDC.get("test.b"));
+
+		MDC.clear();
+		Assert.assertNull(MDC.get("test.b"));
+		Assert.assertTrue(MDC.getCopyOfContextMap().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void putNullKey() {
+		MDC.put(null, "1");
+	}
+
+	@Test
+	public void copyOfContextMap() {
+		MDC.put("test.a", "1");
+
+		Map<String, String> copy = MDC.getCopyOfContextMap();
+		Assert.assertEquals(Collections.singletonMap("test.a", "1"), copy);
+
+		// The copy is independent of the context
+		copy.put("test.b", "2");
+		MDC.put("test.a", "3");
+		Assert.assertNull(MDC.get("test.b"));
+		Assert.assertEquals("1", copy.get("test.a"));
+	}
+
+	@Test
+	public void setContextMap() {
+		MDC.put("test.a", "1");
+
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("test.b", "2");
+		map.put("test.c", "3");
+		MDC.setContextMap(map);
+		Assert.assertNull(MDC.get("test.a"));
+		Assert.assertEquals("2", MDC.get("test.b"));
+		Assert.assertEquals(map, MDC.getCopyOfContextMap());
+
+		// The map is copied
+		map.put("test.b", "4");
+		Assert.assertEquals("2", MDC.get("test.b"));
+
+		MDC.setContextMap(Collections.<String, String>emptyMap());
+		Assert.assertTrue(MDC.getCopyOfContextMap().isEmpty());
+	}
+
+	@Test
+	public void snapshot() {
+		Assert.assertTrue(CopyOnWriteMDCAdapter.snapshot().isEmpty());
+
+		MDC.put("test.a", "1");
+		CopyOnWriteMDCAdapter.Values snapshot = CopyOnWriteMDCAdapter.snapshot();
+		Assert.assertEquals("1", snapshot.get("test.a"));
+
+		// Taking another snapshot without modifying the context does not copy it
+		Assert.assertSame(snapshot, CopyOnWriteMDCAdapter.snapshot());
+
+		// Modifying the context does not change the snapshot
+		MDC.put("test.a", "2");
+		MDC.put("test.b", "3");
+		Assert.assertEquals("1", snapshot.get("test.a"));
+		Assert.assertNull(snapshot.get("test.b"));
+
+		CopyOnWriteMDCAdapter.Values next = CopyOnWriteMDCAdapter.snapshot();
+		Assert.assertNotSame(snapshot, next);
+		Assert.assertEquals("2", next.get("test.a"));
+		Assert.assertEquals("3", next.get("test.b"));
+
+		MDC.remove("test.a");
+		MDC.clear();
+		Assert.assertEquals("2", next.get("test.a"));
+		Assert.assertTrue(CopyOnWriteMDCAdapter.snapshot().isEmpty());
+	}
+
+	@Test
+	public void slot() {
+		CopyOnWriteMDCAdapter.Key key = CopyOnWriteMDCAdapter.key("test.slot");
+		Assert.assertSame(key, CopyOnWriteMDCAdapter.key("test.slot"));
+		Assert.assertEquals("test.slot", key.getName());
+		Assert.assertNull(key.get());
+
+		// Values put through the key are visible through the MDC and the other way round
+		key.put("1");
+		Assert.assertEquals("1", MDC.get("test.slot"));
+		MDC.put("test.slot", "2");
+		Assert.assertEquals("2", key.get());
+		Assert.assertEquals(Collections.singletonMap("test.slot", "2"), MDC.getCopyOfContextMap());
+
+		CopyOnWriteMDCAdapter.Values snapshot = CopyOnWriteMDCAdapter.snapshot();
+		key.put("3");
+		Assert.assertEquals("2", snapshot.get("test.slot"));
+		Assert.assertEquals("3", key.get());
+
+		key.remove();
+		Assert.assertNull(MDC.get("test.slot"));
+		Assert.assertEquals("2", snapshot.get("test.slot"));
+	}
+
+	@Test(timeout = 60000)
+	public void slotAssignedLate() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// The value is put in the map because the key doesn't have a slot yet
+			Assert.assertEquals("1", executor.submit(new Callable<String>() {
+				@Override
+				public String call() {
+					MDC.put("test.late", "1");
+					return MDC.get("test.late");
+				}
+			}).get());
+
+			// Another thread assigns a slot to the key (or the slots have all been assigned by other tests)
+			final CopyOnWriteMDCAdapter.Key key = CopyOnWriteMDCAdapter.key("test.late");
+
+			Future<List<Object>> values = executor.submit(new Callable<List<Object>>() {
+				@Override
+				public List<Object> call() {
+					List<Object> values = new ArrayList<Object>();
+					values.add(MDC.get("test.late"));
+					values.add(key.get());
+					values.add(MDC.getCopyOfContextMap());
+
+					key.put("2");
+					values.add(MDC.get("test.late"));
+					values.add(MDC.getCopyOfContextMap());
+
+					MDC.remove("test.late");
+					values.add(MDC.get("test.late"));
+					values.add(key.get());
+
+					MDC.clear();
+					return values;
+				}
+			});
+
+			Assert.assertEquals(Arrays.<Object>asList("1", "1", Collections.singletonMap("test.late", "1"),
+					"2", Collections.singletonMap("test.late", "2"), null, null), values.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void slotsExhausted() {
+		List<CopyOnWriteMDCAdapter.Key> keys = new ArrayList<CopyOnWriteMDCAdapter.Key>();
+		for (int i = 0; i <= CopyOnWriteMDCAdapter.MAX_SLOTS; i++) {
+			keys.add(CopyOnWriteMDCAdapter.key("test.exhausted" + i));
+		}
+
+		// Keys without a slot still work
+		for (int i = 0; i < keys.size(); i++) {
+			keys.get(i).put(String.valueOf(i));
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(String.valueOf(i), keys.get(i).get());
+			Assert.assertEquals(String.valueOf(i), MDC.get("test.exhausted" + i));
+		}
+		Assert.assertEquals(keys.size(), MDC.getCopyOfContextMap().size());
+	}
+
+	@Test(timeout = 60000)
+	@SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
+	public void threads() throws Exception {
+		final int threads = 4;
+		final CopyOnWriteMDCAdapter.Key key = CopyOnWriteMDCAdapter.key("test.thread.slot");
+		final CyclicBarrier barrier = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int i = 0; i < threads; i++) {
+				final String id = String.valueOf(i);
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						barrier.await();
+						for (int j = 0; j < 10000; j++) {
+							String value = id + ":" + j;
+							MDC.put("test.thread", value);
+							key.put(value);
+							if (!value.equals(MDC.get("test.thread")) || !value.equals(key.get())) {
+								return false;
+							}
+							if ((j & 15) == 0) {
+								CopyOnWriteMDCAdapter.snapshot();
+							}
+						}
+						MDC.clear();
+						return MDC.get("test.thread") == null;
+					}
+				}));
+			}
+
+			for (Future<Boolean> result : results) {
+				Assert.assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(timeout = 60000)
+	@SuppressFBWarnings("SIC_INNER_SHOULD_BE_STATIC_ANON")
+	public void snapshotOtherThread() throws Exception {
+		final BlockingQueue<CopyOnWriteMDCAdapter.Values> queue = new ArrayBlockingQueue<CopyOnWriteMDCAdapter.Values>(16);
+		final BlockingQueue<String> expected = new ArrayBlockingQueue<String>(16);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> reader = executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					while (true) {
+						CopyOnWriteMDCAdapter.Values snapshot = queue.take();
+						String value = expected.take();
+						if (value.length() == 0) {
+							return true;
+						}
+
+						// The snapshot doesn't change after it has been handed over
+						Thread.yield();
+						if (!value.equals(snapshot.get("test.snapshot")) || !value.equals(snapshot.get("test.snapshot.copy"))) {
+							return false;
+						}
+					}
+				}
+			});
+
+			for (int i = 0; i < 10000; i++) {
+				String value = String.valueOf(i);
+				MDC.put("test.snapshot", value);
+				MDC.put("test.snapshot.copy", value);
+				expected.put(value);
+				queue.put(CopyOnWriteMDCAdapter.snapshot());
+				MDC.put("test.snapshot", "changed");
+				MDC.remove("test.snapshot.copy");
+			}
+			expected.put("");
+			queue.put(CopyOnWriteMDCAdapter.snapshot());
+
+			Assert.assertTrue(reader.get(30, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,381 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static uk.uuid.slf4j.android.MockUtil.mockConfigDefault;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import android.util.Log;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = MarkerTest.class, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
+public class MarkerTest {
+	private final IMarkerFactory markerFactory = new BitSetMarkerFactory();
+
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+	}
+
+	private static LoggingConfig loadConfig() {
+		MockUtil.mockLogLevel(LogLevel.SUPPRESS);
+		return new LoggingConfig("markerTest.properties", new LogAdapter("N/A", mockConfigDefault()));
+	}
+
+	@Test
+	public void unmarked() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.Unmarked", config.get("test.Unmarked"));
+		Marker other = markerFactory.getMarker("OTHER");
+
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+		Assert.assertTrue(log.isInfoEnabled(other));
+		Assert.assertFalse(log.isDebugEnabled(other));
+		Assert.assertTrue(log.isInfoEnabled(null));
+		Assert.assertFalse(log.isDebugEnabled(null));
+	}
+
+	@Test
+	public void enabled() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.quiet.Enabled", config.get("test.quiet.Enabled"));
+		Marker perf = markerFactory.getMarker("PERF");
+
+		Assert.assertFalse(log.isErrorEnabled());
+		Assert.assertFalse(log.isTraceEnabled());
+		Assert.assertTrue(log.isErrorEnabled(perf));
+		Assert.assertTrue(log.isWarnEnabled(perf));
+		Assert.assertTrue(log.isInfoEnabled(perf));
+		Assert.assertTrue(log.isDebugEnabled(perf));
+		Assert.assertTrue(log.isTraceEnabled(perf));
+
+		log.trace(perf, "Message {}", 1);
+		log.debug(perf, "Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.v("MarkerTest", "Message 1");
+		verifyStatic(Log.class, times(1));
+		Log.d("MarkerTest", "Message");
+	}
+
+	@Test
+	public void suppressed() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.Suppressed", config.get("test.Suppressed"));
+		Marker audit = markerFactory.getMarker("AUDIT");
+
+		Assert.assertTrue(log.isErrorEnabled());
+		Assert.assertFalse(log.isErrorEnabled(audit));
+		Assert.assertFalse(log.isWarnEnabled(audit));
+		Assert.assertFalse(log.isInfoEnabled(audit));
+		Assert.assertFalse(log.isDebugEnabled(audit));
+		Assert.assertFalse(log.isTraceEnabled(audit));
+
+		log.error(audit, "Message");
+		log.info(audit, "Message {} {}", 1, 2);
+
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), anyString());
+		verifyStatic(Log.class, never());
+		Log.i(anyString(), anyString());
+	}
+
+	@Test
+	public void references() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.References", config.get("test.References"));
+		Marker perf = markerFactory.getMarker("PERF");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		Marker grandparent = markerFactory.getDetachedMarker("GRANDPARENT");
+		parent.add(perf);
+		grandparent.add(parent);
+
+		Assert.assertTrue(log.isTraceEnabled(parent));
+		Assert.assertTrue(log.isTraceEnabled(grandparent));
+	}
+
+	@Test
+	public void referencesAddedLater() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.ReferencesAddedLater", config.get("test.References"));
+		Marker perf = markerFactory.getMarker("PERF");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		Marker grandparent = markerFactory.getDetachedMarker("GRANDPARENT");
+		grandparent.add(parent);
+
+		Assert.assertFalse(log.isTraceEnabled(grandparent));
+		parent.add(perf);
+		Assert.assertTrue(log.isTraceEnabled(parent));
+		Assert.assertTrue(log.isTraceEnabled(grandparent));
+	}
+
+	@Test
+	public void referencesOtherFactory() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.References", config.get("test.References"));
+		Marker perf = new BasicMarkerFactory().getDetachedMarker("PERF");
+		Marker other = new BasicMarkerFactory().getDetachedMarker("OTHER");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		Marker grandparent = markerFactory.getDetachedMarker("GRANDPARENT");
+		grandparent.add(parent);
+		parent.add(other);
+		other.add(perf);
+
+		Assert.assertTrue(log.isTraceEnabled(perf));
+		Assert.assertTrue(log.isTraceEnabled(grandparent));
+	}
+
+	@Test
+	public void referencesPrecedence() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.ReferencesPrecedence", config.get("test.ReferencesPrecedence"));
+		Marker audit = markerFactory.getMarker("AUDIT");
+		Marker perf = markerFactory.getMarker("PERF");
+		Marker both = markerFactory.getDetachedMarker("BOTH");
+		both.add(audit);
+		both.add(perf);
+
+		// PERF is configured before AUDIT
+		Assert.assertTrue(log.isTraceEnabled(both));
+
+		// The marker's own name is used before its references
+		Marker own = markerFactory.getDetachedMarker("AUDIT");
+		own.add(perf);
+		Assert.assertFalse(log.isErrorEnabled(own));
+	}
+
+	private static void sameName(IMarkerFactory markerFactory) {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.SameName", config.get("test.SameName"));
+		Marker audit = markerFactory.getMarker("AUDIT");
+		Marker perf = markerFactory.getMarker("PERF");
+		Marker first = markerFactory.getDetachedMarker("SAME");
+		Marker second = markerFactory.getDetachedMarker("SAME");
+		first.add(audit);
+		second.add(perf);
+
+		Assert.assertFalse(log.isErrorEnabled(first));
+		Assert.assertTrue(log.isTraceEnabled(second));
+		Assert.assertFalse(log.isErrorEnabled(first));
+	}
+
+	@Test
+	public void sameName() {
+		sameName(markerFactory);
+	}
+
+	@Test
+	public void sameNameOtherFactory() {
+		sameName(new BasicMarkerFactory());
+	}
+
+	private static void referencesChanged(IMarkerFactory markerFactory) {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.ReferencesChanged", config.get("test.ReferencesChanged"));
+		Marker audit = markerFactory.getMarker("AUDIT");
+		Marker perf = markerFactory.getMarker("PERF");
+		Marker request = markerFactory.getDetachedMarker("REQUEST");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		parent.add(request);
+		request.add(audit);
+
+		Assert.assertFalse(log.isErrorEnabled(request));
+		Assert.assertFalse(log.isErrorEnabled(parent));
+
+		request.remove(audit);
+		request.add(perf);
+		Assert.assertTrue(log.isTraceEnabled(request));
+		Assert.assertTrue(log.isTraceEnabled(parent));
+
+		request.remove(perf);
+		Assert.assertTrue(log.isInfoEnabled(request));
+		Assert.assertFalse(log.isDebugEnabled(parent));
+	}
+
+	@Test
+	public void referencesChanged() {
+		referencesChanged(markerFactory);
+	}
+
+	@Test
+	public void referencesChangedOtherFactory() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.ReferencesChanged", config.get("test.ReferencesChanged"));
+		IMarkerFactory otherFactory = new BasicMarkerFactory();
+		Marker audit = otherFactory.getMarker("AUDIT");
+		Marker perf = otherFactory.getMarker("PERF");
+		Marker request = otherFactory.getDetachedMarker("REQUEST");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		parent.add(request);
+		request.add(audit);
+
+		Assert.assertFalse(log.isErrorEnabled(request));
+		Assert.assertFalse(log.isErrorEnabled(parent));
+
+		// Changes to the references of a marker from another factory aren't observed after it has been used
+		request.remove(audit);
+		request.add(perf);
+		Assert.assertFalse(log.isTraceEnabled(request));
+		Assert.assertFalse(log.isTraceEnabled(parent));
+
+		// Markers that haven't been used yet are matched with their current references
+		Marker next = otherFactory.getDetachedMarker("REQUEST");
+		next.add(perf);
+		Assert.assertTrue(log.isTraceEnabled(next));
+
+		// Changes to the references of a marker from this factory are observed
+		parent.remove(request);
+		parent.add(next);
+		Assert.assertTrue(log.isTraceEnabled(parent));
+	}
+
+	@Test
+	public void nativeLevel() {
+		LoggingConfig config = loadConfig();
+		MockUtil.mockLogLevel("NativeTag", LogLevel.WARN);
+		Logger log = new LogAdapter("test.native.NativeLevel", config.get("test.native.NativeLevel"));
+		Marker logcat = markerFactory.getMarker("LOGCAT");
+
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertTrue(log.isWarnEnabled(logcat));
+		Assert.assertFalse(log.isInfoEnabled(logcat));
+	}
+
+	@Test
+	public void routed() {
+		LoggingConfig config = loadConfig();
+		MockUtil.mockLogLevel("RoutedTag", LogLevel.DEBUG);
+		Logger log = new LogAdapter("test.Routed", config.get("test.Routed"));
+		Marker routed = markerFactory.getMarker("ROUTED");
+		Marker parent = markerFactory.getDetachedMarker("PARENT");
+		parent.add(routed);
+
+		// The level is the native level of the routed tag
+		Assert.assertFalse(log.isDebugEnabled());
+		Assert.assertTrue(log.isDebugEnabled(routed));
+		Assert.assertFalse(log.isTraceEnabled(routed));
+
+		log.debug(routed, "Message");
+		log.info(routed, "Message {}", 1);
+		log.warn(parent, "Message {} {}", 1, 2);
+		log.trace(routed, "Message");
+		log.info("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.d("RoutedTag", "Message");
+		verifyStatic(Log.class, times(1));
+		Log.i("RoutedTag", "Message 1");
+		verifyStatic(Log.class, times(1));
+		Log.w("RoutedTag", "Message 1 2");
+		verifyStatic(Log.class, never());
+		Log.v(anyString(), anyString());
+		verifyStatic(Log.class, times(1));
+		Log.i("MarkerTest", "Message");
+	}
+
+	@Test
+	public void routedLevel() {
+		LoggingConfig config = loadConfig();
+		MockUtil.mockLogLevel("AuditTag", LogLevel.VERBOSE);
+		Logger log = new LogAdapter("test.quiet.RoutedLevel", config.get("test.quiet.RoutedLevel"));
+		Marker audit = markerFactory.getMarker("ROUTED_AUDIT");
+
+		Assert.assertFalse(log.isErrorEnabled());
+		Assert.assertTrue(log.isWarnEnabled(audit));
+		Assert.assertFalse(log.isInfoEnabled(audit));
+
+		Exception e = new Exception();
+		log.error(audit, "Message", e);
+		log.info(audit, "Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.e("AuditTag", "Message", e);
+		verifyStatic(Log.class, never());
+		Log.i(anyString(), anyString());
+	}
+
+	@Test
+	public void routedChild() {
+		LoggingConfig config = loadConfig();
+		MockUtil.mockLogLevel("ChildTag", LogLevel.INFO);
+		ContextLogger log = new LogAdapter("test.RoutedChild", config.get("test.RoutedChild")).withContext("conn", 42);
+		Marker routed = markerFactory.getMarker("ROUTED_CHILD");
+
+		log.info(routed, "Message");
+		log.warn(routed, "Message {}", 1);
+		log.debug(routed, "Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.i("ChildTag", "{conn=42} Message");
+		verifyStatic(Log.class, times(1));
+		Log.w("ChildTag", "{conn=42} Message 1");
+		verifyStatic(Log.class, never());
+		Log.d(anyString(), anyString());
+	}
+
+	@Test
+	public void routedInvalid() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.RoutedInvalid", config.get("test.RoutedInvalid"));
+
+		log.info(markerFactory.getMarker("LONG_ROUTE"), "Message");
+		log.info(markerFactory.getMarker(""), "Message");
+
+		verifyStatic(Log.class, times(2));
+		Log.i("MarkerTest", "Message");
+	}
+
+	@Test
+	public void invalid() {
+		LoggingConfig config = loadConfig();
+		Logger log = new LogAdapter("test.Invalid", config.get("test.Invalid"));
+
+		Assert.assertFalse(log.isDebugEnabled(markerFactory.getMarker("INVALID")));
+		Assert.assertFalse(log.isDebugEnabled(markerFactory.getMarker("@")));
+		Assert.assertFalse(log.isDebugEnabled(markerFactory.getMarker("")));
+	}
+
+	@Test
+	public void notConfigured() {
+		Logger log = new LogAdapter("test.NotConfigured", mockConfigDefault(LogLevel.INFO));
+
+		Assert.assertTrue(log.isInfoEnabled(markerFactory.getMarker("PERF")));
+		Assert.assertFalse(log.isTraceEnabled(markerFactory.getMarker("PERF")));
+	}
+}
@@ -23,7 +23,12 @@
 package uk.uuid.slf4j.android;
 
 import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -137,4 +142,47 @@ public class NativeLogLevelCacheTest {
 			Assert.assertFalse(log.isTraceEnabled());
 		}
 	}
+
+	@Test
+	public void deferred() {
+		mockLogLevel("tag5", LogLevel.WARN);
+
+		LoggerConfig config = new LoggerConfig("tag5");
+		config.merge(LoggerConfig.DEFAULT);
+
+		// The native log level is not checked until the logger is used
+		Logger log = new LogAdapter("test7", config);
+		verifyStatic(Log.class, never());
+		Log.isLoggable(anyString(), anyInt());
+
+		Assert.assertTrue(log.isErrorEnabled());
+		Assert.assertTrue(log.isWarnEnabled());
+		Assert.assertFalse(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+		Assert.assertFalse(log.isTraceEnabled());
+		log.debug("Message");
+
+		// Only resolved once
+		verifyStatic(Log.class, times(2));
+		Log.isLoggable(anyString(), anyInt());
+		verifyStatic(Log.class, never());
+		Log.d(anyString(), anyString());
+	}
+
+	@Test
+	public void unused() {
+		mockLogLevel("tag6", LogLevel.DEBUG);
+
+		LoggerConfig config = new LoggerConfig("tag6");
+		config.level = LogLevel.INFO;
+		config.merge(LoggerConfig.DEFAULT);
+
+		// The native log level is not needed
+		Logger log = new LogAdapter("test8", config);
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+
+		verifyStatic(Log.class, never());
+		Log.isLoggable(anyString(), anyInt());
+	}
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertiesParserTest {
+	private static List<String> parse(final String input) throws IOException {
+		final List<String> properties = new ArrayList<String>();
+		PropertiesParser.parse(new StringReader(input), new PropertiesParser.Handler() {
+			@Override
+			public void property(final String key, final String value) {
+				properties.add(key);
+				properties.add(value);
+			}
+		});
+		return properties;
+	}
+
+	/**
+	 * Check that the last value of each key is the same as {@link Properties}.
+	 */
+	private static void assertSameAsProperties(final String input) throws IOException {
+		final Properties expected = new Properties();
+		expected.load(new StringReader(input));
+
+		final List<String> properties = parse(input);
+		final Map<String, String> actual = new LinkedHashMap<String, String>();
+		for (int i = 0; i < properties.size(); i += 2) {
+			actual.put(properties.get(i), properties.get(i + 1));
+		}
+
+		Assert.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void empty() throws IOException {
+		Assert.assertEquals(new ArrayList<String>(), parse(""));
+		Assert.assertEquals(new ArrayList<String>(), parse("\n\r\n \t\f\n"));
+		Assert.assertEquals(new ArrayList<String>(), parse("# comment\n! comment \\\n"));
+	}
+
+	@Test
+	public void order() throws IOException {
+		Assert.assertEquals(Arrays.asList("a", "1", "b", "2", "a", "3"), parse("a=1\nb=2\na=3"));
+	}
+
+	@Test
+	public void separators() throws IOException {
+		assertSameAsProperties("a=1\nb:2\nc 3\nd = 4\ne : 5\nf\t=\t6\ng  7\nh\n=8\ni==9\nj = = 10\nk=\nl\n");
+	}
+
+	@Test
+	public void whitespace() throws IOException {
+		assertSameAsProperties("  a=1  \n\tb = 2\t\n\fc\f=\f3\f\n");
+	}
+
+	@Test
+	public void lineEndings() throws IOException {
+		assertSameAsProperties("a=1\rb=2\r\nc=3\n\rd=4");
+	}
+
+	@Test
+	public void comments() throws IOException {
+		assertSameAsProperties("#a=1\n  !b=2\nc=#3\nd=!4\n# continued \\\ne=5");
+	}
+
+	@Test
+	public void continuation() throws IOException {
+		assertSameAsProperties("a=1\\\n  2\\\r\n\t3\\\r  4\nb\\\n  c=5\nd=6\\\n\ne=7\nf=8\\");
+	}
+
+	@Test
+	public void escapes() throws IOException {
+		assertSameAsProperties("a\\=b=1\na\\:b=2\na\\ b=3\nc=\\t\\n\\r\\f\\x\\\\\nd=\\u0041\\u00e9\\u263A\ne=\\ 4\nf \\=5\n\\#g=6");
+	}
+
+	@Test(expected = IOException.class)
+	public void malformedUnicode() throws IOException {
+		parse("a=\\u00x0");
+	}
+
+	@Test(expected = IOException.class)
+	public void truncatedUnicode() throws IOException {
+		parse("a=\\u00");
+	}
+
+	@Test
+	public void longLines() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("level.com.example.package").append(i).append("=DEBUG\\\n    VERBOSE\n");
+		}
+		assertSameAsProperties(sb.toString());
+	}
+}
@@ -0,0 +1,273 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static uk.uuid.slf4j.android.MockUtil.createTag;
+import static uk.uuid.slf4j.android.MockUtil.mockConfigDefault;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Marker;
+
+import android.util.Log;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(value = RateLimitTest.class, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
+public class RateLimitTest {
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private static class MockTicker implements LogRateLimiter.Ticker {
+		private long now = 1000000 * MS;
+
+		@Override
+		public long nanoTime() {
+			return now;
+		}
+
+		void advance(final long nanos) {
+			now += nanos;
+		}
+	}
+
+	private final MockTicker ticker = new MockTicker();
+
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+	}
+
+	private static LoggerConfig mockConfigLimited(final int rateLimit) {
+		LoggerConfig config = new LoggerConfig(createTag(1));
+		config.level = LogLevel.VERBOSE;
+		config.rateLimit = rateLimit;
+		config.merge(LoggerConfig.DEFAULT);
+		return config;
+	}
+
+	@Test
+	public void config() {
+		MockUtil.mockLogLevel(LogLevel.SUPPRESS);
+		LoggingConfig config = new LoggingConfig("rateLimitTest.properties", new LogAdapter("N/A", mockConfigDefault()));
+
+		Assert.assertEquals(Integer.valueOf(0), config.get("").rateLimit);
+		Assert.assertEquals(Integer.valueOf(0), config.get("test").rateLimit);
+		Assert.assertEquals(Integer.valueOf(10), config.get("test.limited").rateLimit);
+		Assert.assertEquals(Integer.valueOf(10), config.get("test.limited.Class").rateLimit);
+		Assert.assertEquals(Integer.valueOf(0), config.get("test.limited.unlimited.Class").rateLimit);
+		Assert.assertEquals(Integer.valueOf(0), config.get("test.invalid1").rateLimit);
+		Assert.assertEquals(Integer.valueOf(0), config.get("test.invalid2").rateLimit);
+	}
+
+	@Test
+	public void belowLimit() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		for (int i = 0; i < 100; i++) {
+			log.debug("Message");
+			ticker.advance(100 * MS);
+		}
+
+		verifyStatic(Log.class, times(100));
+		Log.d(config.tag, "Message");
+		verifyStatic(Log.class, times(0));
+		Log.w(anyString(), anyString());
+	}
+
+	@Test
+	public void aboveLimit() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		for (int i = 0; i < 100; i++) {
+			log.debug("Message");
+			ticker.advance(1 * MS);
+		}
+
+		// Messages above the shedding level are still logged
+		log.error("Error");
+		log.warn("Warning");
+		log.info("Information");
+
+		verifyStatic(Log.class, times(10));
+		Log.d(config.tag, "Message");
+		verifyStatic(Log.class, times(1));
+		Log.e(config.tag, "Error");
+		verifyStatic(Log.class, times(0));
+		Log.w(config.tag, "Warning");
+		verifyStatic(Log.class, times(0));
+		Log.i(config.tag, "Information");
+
+		// There is only one notice
+		verifyStatic(Log.class, times(1));
+		Log.w(eq(config.tag), startsWith("Logging rate limit of 10/s exceeded"));
+	}
+
+	@Test
+	public void isEnabledWhileShedding() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+		Marker marker = new BitSetMarkerFactory().getDetachedMarker("test.Shedding");
+		int prepared = 0;
+
+		for (int i = 0; i < 100; i++) {
+			if (log.isDebugEnabled()) {
+				prepared++;
+				log.debug("Message");
+			}
+			ticker.advance(1 * MS);
+		}
+
+		// Messages are no longer prepared once the limit is exceeded
+		Assert.assertEquals(11, prepared);
+		Assert.assertFalse(log.isDebugEnabled());
+		Assert.assertFalse(log.isWarnEnabled());
+		Assert.assertFalse(log.isWarnEnabled(marker));
+		Assert.assertTrue(log.isErrorEnabled());
+		Assert.assertTrue(log.isErrorEnabled(marker));
+
+		// The window that exceeded the limit ends, but the limit was exceeded
+		ticker.advance(1000 * MS);
+		Assert.assertFalse(log.isDebugEnabled());
+
+		// A whole window without any messages
+		ticker.advance(1000 * MS);
+		Assert.assertTrue(log.isDebugEnabled());
+		Assert.assertTrue(log.isWarnEnabled(marker));
+
+		verifyStatic(Log.class, times(10));
+		Log.d(config.tag, "Message");
+	}
+
+	@Test
+	public void isEnabledGuard() {
+		LoggerConfig config = mockConfigLimited(100);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		// Checking the level first keeps exceeding the limit for ten windows
+		for (int i = 0; i < 10000; i++) {
+			if (log.isDebugEnabled()) {
+				log.debug("Message");
+			}
+			ticker.advance(1 * MS);
+		}
+
+		verifyStatic(Log.class, times(100));
+		Log.d(config.tag, "Message");
+		verifyStatic(Log.class, times(1));
+		Log.w(eq(config.tag), startsWith("Logging rate limit of 100/s exceeded"));
+	}
+
+	@Test
+	public void restore() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		// Exceed the limit for three windows
+		for (int i = 0; i < 300; i++) {
+			log.debug("Message");
+			ticker.advance(10 * MS);
+		}
+
+		// Fall below the limit for one window
+		for (int i = 0; i < 5; i++) {
+			log.debug("Message");
+			ticker.advance(200 * MS);
+		}
+
+		// Messages are logged again
+		for (int i = 0; i < 5; i++) {
+			log.debug("Message");
+			ticker.advance(200 * MS);
+		}
+
+		verifyStatic(Log.class, times(10 + 5));
+		Log.d(config.tag, "Message");
+		verifyStatic(Log.class, times(1));
+		Log.w(eq(config.tag), startsWith("Logging rate limit of 10/s exceeded"));
+	}
+
+	@Test
+	public void restoreIdle() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		for (int i = 0; i < 100; i++) {
+			log.debug("Message");
+		}
+
+		// Nothing is logged for more than a window
+		ticker.advance(5000 * MS);
+
+		log.debug("Message");
+
+		verifyStatic(Log.class, times(10 + 1));
+		Log.d(config.tag, "Message");
+	}
+
+	@Test
+	public void exceedAgain() {
+		LoggerConfig config = mockConfigLimited(10);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		for (int i = 0; i < 20; i++) {
+			log.trace("Message");
+		}
+
+		ticker.advance(5000 * MS);
+
+		for (int i = 0; i < 20; i++) {
+			log.trace("Message");
+		}
+
+		verifyStatic(Log.class, times(10 + 10));
+		Log.v(config.tag, "Message");
+		verifyStatic(Log.class, times(2));
+		Log.w(eq(config.tag), startsWith("Logging rate limit of 10/s exceeded"));
+	}
+
+	@Test
+	public void disabled() {
+		LoggerConfig config = mockConfigLimited(0);
+		LogAdapter log = new LogAdapter("test", config, new LogAdapter.StateTable(ticker, false));
+
+		for (int i = 0; i < 1000; i++) {
+			log.info("Message");
+		}
+
+		verifyStatic(Log.class, times(1000));
+		Log.i(config.tag, "Message");
+	}
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+
+import android.util.Log;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(fullyQualifiedNames = { "android.util.Log" })
+public class RegistryTest {
+	/* Scaled down from RegistrySoakTest so that it runs with the unit tests */
+	private static final int SOAK_LOGGERS = 50000;
+
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+		mockLogLevel(LogLevel.SUPPRESS);
+	}
+
+	/**
+	 * Wait for unreferenced loggers to be reclaimed.
+	 */
+	@SuppressFBWarnings("DM_GC")
+	private static void reclaim(LoggerFactory factory) throws InterruptedException {
+		for (int i = 0; i < 100 && factory.getEvictedLoggerCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Create a logger that is only weakly referenced, so that it is added to the queue when it is reclaimed.
+	 */
+	private static Reference<Logger> weakLogger(LoggerFactory factory, String name, ReferenceQueue<Logger> queue) {
+		return new WeakReference<Logger>(factory.getLogger(name), queue);
+	}
+
+	/**
+	 * Wait for a specific logger to be reclaimed and for the factory to expunge it.
+	 * 
+	 * <p>
+	 * The reference is never dereferenced while waiting, because that can leave the logger in a local variable slot.
+	 */
+	@SuppressFBWarnings("DM_GC")
+	private static void reclaim(LoggerFactory factory, ReferenceQueue<Logger> queue, Reference<Logger> reference, long evictions)
+			throws InterruptedException {
+		boolean reclaimed = false;
+		for (int i = 0; i < 1000 && (!reclaimed || factory.getEvictedLoggerCount() < evictions); i++) {
+			System.gc();
+			reclaimed |= queue.remove(10) == reference;
+		}
+		Assert.assertTrue(reclaimed);
+	}
+
+	@Test
+	@SuppressFBWarnings("DM_GC")
+	public void strong() {
+		LoggerFactory factory = new LoggerFactory();
+
+		for (int i = 0; i < 1000; i++) {
+			factory.getLogger("registry.strong.Logger" + i);
+		}
+		System.gc();
+
+		// Unreferenced loggers are kept
+		Assert.assertEquals(1000, factory.getLoggerCount());
+		Assert.assertEquals(0, factory.getEvictedLoggerCount());
+	}
+
+	@Test
+	public void weakEvict() throws InterruptedException {
+		LoggerFactory factory = new LoggerFactory(true);
+		ReferenceQueue<Logger> queue = new ReferenceQueue<Logger>();
+		Logger held = factory.getLogger("registry.evict.Held");
+		Reference<Logger> evicted = weakLogger(factory, "registry.evict.Logger", queue);
+		reclaim(factory, queue, evicted, 1);
+
+		// Only the unreferenced logger is reclaimed
+		Assert.assertEquals(1, factory.getEvictedLoggerCount());
+		Assert.assertEquals(1, factory.getLoggerCount());
+		Assert.assertSame(held, factory.getLogger("registry.evict.Held"));
+
+		// The reclaimed logger is created again
+		Assert.assertEquals("registry.evict.Logger", factory.getLogger("registry.evict.Logger").getName());
+		Assert.assertEquals(2, factory.getLoggerCount());
+		Assert.assertEquals(1, factory.getEvictedLoggerCount());
+	}
+
+	@Test
+	public void weakRecreate() throws InterruptedException {
+		LoggerFactory factory = new LoggerFactory(true);
+		ReferenceQueue<Logger> queue = new ReferenceQueue<Logger>();
+		Reference<Logger> evicted = weakLogger(factory, "registry.recreate.Logger0", queue);
+
+		for (int i = 1; i < 1000; i++) {
+			factory.getLogger("registry.recreate.Logger" + i);
+		}
+
+		// The specific logger is reclaimed
+		reclaim(factory, queue, evicted, 1);
+
+		// Reclaimed loggers are created again
+		Logger log = factory.getLogger("registry.recreate.Logger0");
+		Assert.assertEquals("registry.recreate.Logger0", log.getName());
+		Assert.assertSame(log, factory.getLogger("registry.recreate.Logger0"));
+	}
+
+	@Test(timeout = 60000)
+	public void weakSoak() throws InterruptedException {
+		LoggerFactory factory = new LoggerFactory(true);
+		Logger held = factory.getLogger("registry.soak.Held");
+
+		for (int i = 0; i < SOAK_LOGGERS; i++) {
+			factory.getLogger("registry.soak.Logger" + i);
+		}
+		reclaim(factory);
+
+		// Unreferenced loggers are reclaimed
+		Assert.assertTrue(factory.getEvictedLoggerCount() > 0);
+		Assert.assertTrue(factory.getLoggerCount() < SOAK_LOGGERS);
+		Assert.assertEquals(SOAK_LOGGERS + 1, factory.getLoggerCount() + factory.getEvictedLoggerCount());
+
+		// Referenced loggers keep their identity
+		Assert.assertSame(held, factory.getLogger("registry.soak.Held"));
+	}
+
+	@Test
+	public void weakEscalate() throws InterruptedException {
+		mockLogLevel("r.e.Held", LogLevel.INFO);
+
+		LoggerFactory factory = new LoggerFactory(true);
+		Logger held = factory.getLogger("registry.escalate.Held");
+		for (int i = 0; i < 1000; i++) {
+			factory.getLogger("registry.escalate.Logger" + i);
+		}
+		reclaim(factory);
+		Assert.assertFalse(held.isDebugEnabled());
+
+		// Loggers that are still referenced are escalated
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertTrue(held.isDebugEnabled());
+		} finally {
+			scope.close();
+		}
+		Assert.assertFalse(held.isDebugEnabled());
+	}
+}
@@ -0,0 +1,399 @@
+/**
+ * Copyright 2026  Simon Arlott
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package uk.uuid.slf4j.android;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.withSettings;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+import static uk.uuid.slf4j.android.MockUtil.mockLogLevel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+import android.util.Log;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore("org.junit.rules.*")
+@PrepareForTest(value = ReloadTest.class, fullyQualifiedNames = { "android.util.Log", "uk.uuid.slf4j.android.LoggerFactory" })
+public class ReloadTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Before
+	public void mockLog() {
+		mockStatic(Log.class);
+		mockLogLevel(LogLevel.SUPPRESS);
+	}
+
+	private static void write(final File file, final long modified, final String content) throws IOException {
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "ISO-8859-1");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+		Assert.assertTrue(file.setLastModified(modified));
+	}
+
+	@Test
+	public void reload() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level.test.reload.a=DEBUG\nlevel.test.reload.b=INFO\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger a = factory.getLogger("test.reload.a.Class");
+		Logger b = factory.getLogger("test.reload.b.Class");
+		LoggerConfig configB = ((LogAdapter)b).getConfig();
+
+		Assert.assertTrue(a.isDebugEnabled());
+		Assert.assertFalse(a.isTraceEnabled());
+		Assert.assertTrue(b.isInfoEnabled());
+		Assert.assertFalse(b.isDebugEnabled());
+
+		Assert.assertFalse(factory.reloadConfig());
+
+		write(file, 2000000L, "level.test.reload.a=WARN\nlevel.test.reload.b=INFO\ntag.test.reload.c=Reloaded\nlevel.test.reload.c=ERROR\n");
+		Assert.assertTrue(factory.reloadConfig());
+
+		Assert.assertTrue(a.isWarnEnabled());
+		Assert.assertFalse(a.isInfoEnabled());
+		Assert.assertTrue(b.isInfoEnabled());
+		Assert.assertFalse(b.isDebugEnabled());
+		/* Unchanged loggers are not rebuilt */
+		Assert.assertSame(configB, ((LogAdapter)b).getConfig());
+
+		Logger c = factory.getLogger("test.reload.c.Class");
+		c.error("Message");
+
+		verifyStatic(Log.class, times(1));
+		Log.e("Reloaded", "Message");
+	}
+
+	@Test
+	public void addAndRemove() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger log = factory.getLogger("test.reload.AddRemove");
+
+		Assert.assertFalse(log.isErrorEnabled());
+
+		write(file, 1000000L, "level=VERBOSE\n");
+		Assert.assertTrue(factory.reloadConfig());
+		Assert.assertTrue(log.isTraceEnabled());
+
+		Assert.assertTrue(file.delete());
+		Assert.assertTrue(factory.reloadConfig());
+		Assert.assertFalse(log.isErrorEnabled());
+		Assert.assertFalse(factory.reloadConfig());
+	}
+
+	@Test
+	public void stopWatching() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level=DEBUG\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		Logger log = factory.getLogger("test.reload.Stop");
+		Assert.assertFalse(log.isErrorEnabled());
+
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Assert.assertTrue(log.isDebugEnabled());
+
+		factory.watchConfig(null, 0, TimeUnit.SECONDS);
+		Assert.assertFalse(log.isErrorEnabled());
+		Assert.assertFalse(factory.reloadConfig());
+	}
+
+	@Test
+	public void escalated() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level=ERROR\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger log = factory.getLogger("test.reload.Escalated");
+
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			write(file, 2000000L, "level=WARN\n");
+			Assert.assertTrue(factory.reloadConfig());
+
+			Assert.assertTrue(log.isDebugEnabled());
+			log.debug("During");
+		} finally {
+			scope.close();
+		}
+
+		Assert.assertTrue(log.isWarnEnabled());
+		Assert.assertFalse(log.isInfoEnabled());
+
+		verifyStatic(Log.class, times(1));
+		Log.d("test.reload.Escalated", "During");
+	}
+
+	@Test
+	public void suppressed() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level.test.reload.s=SUPPRESS\nshowName.test.reload.s=short\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger log = factory.getLogger("test.reload.s.Class");
+		Assert.assertEquals("test.reload.s.Class", log.getName());
+		Assert.assertFalse(log.isErrorEnabled());
+		log.error("Before");
+
+		/* Suppressed loggers can still be escalated */
+		LogScope scope = LoggerFactory.escalate(LogLevel.DEBUG);
+		try {
+			Assert.assertTrue(log.isDebugEnabled());
+			log.debug("During");
+		} finally {
+			scope.close();
+		}
+		Assert.assertFalse(log.isErrorEnabled());
+
+		/* and reconfigured */
+		write(file, 2000000L, "level.test.reload.s=INFO\nshowName.test.reload.s=short\n");
+		Assert.assertTrue(factory.reloadConfig());
+		Assert.assertTrue(log.isInfoEnabled());
+		log.info("After");
+
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), eq("Before"));
+		verifyStatic(Log.class, times(1));
+		Log.d("test.reload.s.Class", "Class: During");
+		verifyStatic(Log.class, times(1));
+		Log.i("test.reload.s.Class", "Class: After");
+	}
+
+	@Test
+	public void suppressedMarker() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level.test.reload.sm=SUPPRESS\nshowName.test.reload.sm=short\nlevel.@RELOAD_AUDIT=INFO\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger log = factory.getLogger("test.reload.sm.Class");
+		BitSetMarkerFactory markerFactory = new BitSetMarkerFactory();
+		Marker audit = markerFactory.getMarker("RELOAD_AUDIT");
+		Marker other = markerFactory.getMarker("RELOAD_OTHER");
+		Assert.assertFalse(log.isErrorEnabled());
+		log.error("Before");
+		log.error(other, "Other");
+
+		/* Suppressed loggers still log messages with a configured marker */
+		Assert.assertTrue(log.isInfoEnabled(audit));
+		Assert.assertFalse(log.isDebugEnabled(audit));
+		log.info(audit, "Audit");
+		log.debug(audit, "Debug");
+		log.error("After");
+
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), anyString());
+		verifyStatic(Log.class, never());
+		Log.d(anyString(), anyString());
+		verifyStatic(Log.class, times(1));
+		Log.i("test.reload.sm.Class", "Class: Audit");
+	}
+
+	private static LogRateLimiter.Ticker reconfigureTicker(final AtomicReference<LogAdapter> logger, final LoggerConfig config) {
+		return new LogRateLimiter.Ticker() {
+			@Override
+			public long nanoTime() {
+				final LogAdapter log = logger.get();
+				if (log != null) {
+					LogScope.reconfigure(log, config);
+				}
+				return 0;
+			}
+		};
+	}
+
+	private static FutureTask<Long> logUntil(final LogAdapter log, final AtomicBoolean done) {
+		final ContextLogger child = log.withContext("key", "value");
+		final Marker marker = new BitSetMarkerFactory().getMarker("RELOAD_CONCURRENT");
+		return new FutureTask<Long>(new Callable<Long>() {
+			@Override
+			public Long call() {
+				long count = 0;
+				while (!done.get()) {
+					log.debug("Message");
+					log.debug("Message {}", count);
+					log.debug(marker, "Message");
+					log.isDebugEnabled();
+					child.debug("Message");
+					child.debug(marker, "Message {} {}", count, count);
+					count++;
+				}
+				return count;
+			}
+		});
+	}
+
+	@Test
+	public void reconfigureDuringMessage() {
+		final LoggerConfig suppress = new LoggerConfig(LogLevel.SUPPRESS);
+		suppress.merge(LoggerConfig.DEFAULT);
+		LoggerConfig config = new LoggerConfig(LogLevel.DEBUG);
+		config.showName = LoggerConfig.ShowName.SHORT;
+		config.rateLimit = 10;
+		config.merge(LoggerConfig.DEFAULT);
+
+		/* Reconfigure the logger after its level has been checked, while the rate limiter is counting the message */
+		AtomicReference<LogAdapter> logger = new AtomicReference<LogAdapter>();
+		LogRateLimiter.Ticker ticker = reconfigureTicker(logger, suppress);
+		LogAdapter log = new LogAdapter("test.reload.During", config, new LogAdapter.StateTable(ticker, true));
+		logger.set(log);
+
+		log.debug("Message");
+		Assert.assertSame(suppress, log.getConfig());
+		Assert.assertFalse(log.isErrorEnabled());
+		log.error("After");
+
+		/* The message is logged with the settings that it was checked with */
+		verifyStatic(Log.class, times(1));
+		Log.d("test.reload.During", "During: Message");
+		verifyStatic(Log.class, never());
+		Log.e(anyString(), anyString());
+	}
+
+	@Test
+	public void reconfigureWhileLogging() throws Exception {
+		/* Don't record millions of calls */
+		mockStatic(Log.class, withSettings().stubOnly());
+
+		LoggerFactory factory = new LoggerFactory();
+		LogAdapter log = (LogAdapter)factory.getLogger("test.reload.Concurrent");
+		AtomicBoolean done = new AtomicBoolean();
+		LoggerConfig suppress = new LoggerConfig(LogLevel.SUPPRESS);
+		suppress.merge(LoggerConfig.DEFAULT);
+		LoggerConfig debug = new LoggerConfig(LogLevel.DEBUG);
+		debug.merge(LoggerConfig.DEFAULT);
+		LoggerConfig showName = new LoggerConfig(LogLevel.DEBUG);
+		showName.showName = LoggerConfig.ShowName.SHORT;
+		showName.showThread = true;
+		showName.merge(LoggerConfig.DEFAULT);
+
+		FutureTask<Long> task = logUntil(log, done);
+		new Thread(task).start();
+
+		try {
+			/* Messages must not be logged with a mix of deferred and full settings */
+			for (int i = 0; i < 100000; i++) {
+				LogScope.reconfigure(log, suppress);
+				LogScope.reconfigure(log, i % 2 == 0 ? debug : showName);
+			}
+		} finally {
+			done.set(true);
+		}
+		Assert.assertTrue(task.get() > 0);
+	}
+
+	@Test
+	public void invalidFile() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level=INFO\n");
+
+		LoggerFactory factory = new LoggerFactory();
+		factory.watchConfig(file, 0, TimeUnit.SECONDS);
+		Logger log = factory.getLogger("test.reload.Invalid");
+		Assert.assertTrue(log.isInfoEnabled());
+
+		/* The previous config is kept */
+		write(file, 2000000L, "level=VERBOSE\ntag=\\u00x0\n");
+		Assert.assertFalse(factory.reloadConfig());
+		Assert.assertTrue(log.isInfoEnabled());
+		Assert.assertFalse(log.isDebugEnabled());
+
+		verifyStatic(Log.class, never());
+		Log.v("test.reload.Invalid", "Message");
+	}
+
+	@Test
+	public void systemProperties() throws IOException {
+		final File file = new File(folder.getRoot(), "config.properties");
+		write(file, 1000000L, "level.test.layers.a=DEBUG\nlevel.test.layers.b=DEBUG\nlevel.test.layers.d=DEBUG\n");
+
+		System.setProperty(LoggingConfig.SYSTEM_PROPERTY_PREFIX + "level.test.layers.b", "WARN");
+		System.setProperty(LoggingConfig.SYSTEM_PROPERTY_PREFIX + "level.test.layers.c", "ERROR");
+		/* Not in the config namespace */
+		System.setProperty("uk.uuid.slf4j.android.level.test.layers.d", "ERROR");
+		try {
+			LoggerFactory factory = new LoggerFactory();
+			factory.watchConfig(file, 0, TimeUnit.SECONDS);
+			Logger a = factory.getLogger("test.layers.a.Class");
+			Logger b = factory.getLogger("test.layers.b.Class");
+			Logger c = factory.getLogger("test.layers.c.Class");
+			Logger d = factory.getLogger("test.layers.d.Class");
+
+			Assert.assertTrue(a.isDebugEnabled());
+			Assert.assertFalse(a.isTraceEnabled());
+			Assert.assertTrue(b.isWarnEnabled());
+			Assert.assertFalse(b.isInfoEnabled());
+			Assert.assertTrue(c.isErrorEnabled());
+			Assert.assertFalse(c.isWarnEnabled());
+			Assert.assertTrue(d.isDebugEnabled());
+
+			/* System properties still override the file after it is reloaded */
+			write(file, 2000000L, "level.test.layers.a=INFO\nlevel.test.layers.b=VERBOSE\n");
+			Assert.assertTrue(factory.reloadConfig());
+
+			Assert.assertTrue(a.isInfoEnabled());
+			Assert.assertFalse(a.isDebugEnabled());
+			Assert.assertTrue(b.isWarnEnabled());
+			Assert.assertFalse(b.isInfoEnabled());
+		} finally {
+			System.clearProperty(LoggingConfig.SYSTEM_PROPERTY_PREFIX + "level.test.layers.b");
+			System.clearProperty(LoggingConfig.SYSTEM_PROPERTY_PREFIX + "level.test.layers.c");
+			System.clearProperty("uk.uuid.slf4j.android.level.test.layers.d");
+		}
+	}
+}